@@ -0,0 +1,119 @@
+package benchmark;
+
+import java.awt.Point;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import control.Game;
+import entity.actor.pathfinder.IPathfinder;
+import entity.actor.pathfinder.NavigationMap;
+import entity.actor.pathfinder.PathfinderType;
+import entity.actor.pathfinder.flowfield.FlowField;
+
+/**
+ * Measures how long each pathfinder takes to walk an actor from one grid space to another,
+ * 	over a fixed set of reachable start and target pairs in a seeded room.
+ * Nothing else is on the map, so this is the cost of planning and following a path, not of dodging actors.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfindingBenchmark {
+	
+	/** The number of start and target pairs to cycle through **/
+	private static final int numberOfPairs = 64;
+	
+	/** The width and height of the room, in grid spaces **/
+	@Param({ "50", "100", "200" })
+	public int size;
+	
+	/** The fraction of the room covered by columns **/
+	@Param({ "0.1", "0.25" })
+	public double obstacleDensity;
+	
+	/** The pathfinder to measure, by its name in data files **/
+	@Param({ "astar", "jps", "hpa", "flowfield" })
+	public String pathfinder;
+	
+	/** The seed for the room and the pairs **/
+	@Param({ "1" })
+	public long seed;
+	
+	private Game game;
+	private PathfinderType type;
+	private Point[] starts = new Point[numberOfPairs],
+					targets = new Point[numberOfPairs];
+	private int pair = 0;
+	
+	/**
+	 * Builds the room and picks the pairs.
+	 */
+	@Setup
+	public void setUp() {
+		game = new SeededRoom(size, size, obstacleDensity, 0, PathfinderType.A_STAR, seed).newGame();
+		type = PathfinderType.fromName(pathfinder);
+		
+		NavigationMap map = game.getMapLayout().getNavigationMap();
+		Random random = new Random(seed);
+		for (int pair = 0; pair < numberOfPairs; pair++) {
+			Point start, target;
+			do {
+				start = freeSpace(random, map);
+				target = freeSpace(random, map);
+			} while (start.equals(target) || new FlowField(map, target.x, target.y).distanceAt(map.index(start.x, start.y)) == FlowField.UNREACHABLE);
+			starts[pair] = start;
+			targets[pair] = target;
+		}
+	}
+	
+	/**
+	 * Walks an actor from the next start to its target.
+	 * @return The number of steps taken
+	 */
+	@Benchmark
+	public int walkPath() {
+		Point start = starts[pair],
+			  target = targets[pair];
+		pair = (pair + 1) % numberOfPairs;
+		
+		IPathfinder walker = type.create(game, start);
+		walker.setTargetLocation(target);
+		Point location = start;
+		int steps = 0;
+		while (!location.equals(target) && steps < size * size) {
+			location = walker.getNextLocation();
+			steps++;
+		}
+		return steps;
+	}
+	
+	/**
+	 * @param random - The random number generator
+	 * @param map - The navigation map
+	 * @return A random walkable grid space with no actor on it
+	 */
+	private Point freeSpace(Random random, NavigationMap map) {
+		while (true) {
+			Point space = new Point(random.nextInt(map.getColumns()), random.nextInt(map.getRows()));
+			if (game.spaceIsFree(space))
+				return space;
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import level.World;
+import loader.ImageLoader;
+import control.ActorController;
+import control.Game;
+
+/**
+ * Measures building a whole dungeon game the normal way: reading the data files, generating the room,
+ * 	loading the actors and building the shared pathfinding structures.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomGeneratorBenchmark {
+	
+	/** How many times the default width and height the room is **/
+	@Param({"1", "4"})
+	public int scale;
+	
+	/** The seed for the room, so every invocation generates the same one **/
+	@Param({"1"})
+	public long seed;
+	
+	/**
+	 * Turns images off, so only the generation itself is measured.
+	 */
+	@Setup
+	public void setUp() {
+		ImageLoader.disableImages();
+	}
+	
+	/**
+	 * Builds the seeded dungeon game.
+	 * @return The game
+	 */
+	@Benchmark
+	public Game newDungeon() {
+		return new Game(Game.dungeon(World.DEFAULT_COLUMNS*scale, World.DEFAULT_ROWS*scale, seed), ActorController.DEFAULT_RATE, false);
+	}
+}
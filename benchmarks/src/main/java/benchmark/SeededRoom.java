@@ -0,0 +1,155 @@
+package benchmark;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import level.World;
+import loader.IRoomLoader;
+import loader.IRoomLoaderFactory;
+import loader.ImageLoader;
+import loader.RoomData;
+import control.ActorController;
+import control.Game;
+import data.Images;
+import entity.actor.Monster;
+import entity.actor.Player;
+import entity.actor.pathfinder.PathfinderType;
+import entity.actor.power.Power;
+
+/**
+ * Builds rooms of any size for benchmarking: a wall around the edge and randomly placed columns inside,
+ * 	with the player and monsters on random free grid spaces.
+ * The same seed always builds the same room.
+ * The player can't realistically die, so games can be ticked for as long as a benchmark runs.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class SeededRoom implements IRoomLoaderFactory {
+	
+	/** The player's health **/
+	private static final int playerHealth = Integer.MAX_VALUE / 2;
+	
+	/** The monsters' health and speed, as in monsters.data **/
+	private static final int	monsterHealth = 20,
+								monsterSpeed = 4;
+	
+	/** The player's speed, as in player.data **/
+	private static final int playerSpeed = 2;
+	
+	/** The feature type of the obstacles. They're never drawn, so they have no image. **/
+	private static final String obstacleType = "obstacle";
+	
+	/** The dimensions of the room, in grid spaces **/
+	private final int columns, rows;
+	
+	/** The fraction of the inside of the room covered by columns **/
+	private final double obstacleDensity;
+	
+	/** The number of monsters to place **/
+	private final int numberOfMonsters;
+	
+	/** The pathfinder the monsters use **/
+	private final PathfinderType pathfinderType;
+	
+	/** The seed for the room's layout **/
+	private final long seed;
+	
+	/**
+	 * Describes a room.
+	 * @param columns - The width of the room, in grid spaces
+	 * @param rows - The height of the room, in grid spaces
+	 * @param obstacleDensity - The fraction of the inside of the room covered by columns
+	 * @param numberOfMonsters - The number of monsters to place
+	 * @param pathfinderType - The pathfinder the monsters use
+	 * @param seed - The seed for the room's layout
+	 */
+	public SeededRoom(int columns, int rows, double obstacleDensity, int numberOfMonsters, PathfinderType pathfinderType, long seed) {
+		this.columns = columns;
+		this.rows = rows;
+		this.obstacleDensity = obstacleDensity;
+		this.numberOfMonsters = numberOfMonsters;
+		this.pathfinderType = pathfinderType;
+		this.seed = seed;
+	}
+	
+	/**
+	 * Builds a game in the room that only ticks when told to. Images are never loaded.
+	 * @return The game
+	 */
+	public Game newGame() {
+		ImageLoader.disableImages();
+		return new Game(this, ActorController.DEFAULT_RATE, false);
+	}
+	
+	/**
+	 * Makes a loader for the room.
+	 * @param game - The game the room is for
+	 * @return The loader
+	 */
+	public IRoomLoader create(final Game game) {
+		return new IRoomLoader() {
+			public RoomData loadRoom() throws IOException {
+				return build(game);
+			}
+		};
+	}
+	
+	/**
+	 * Lays the room out.
+	 * @param game - The game the room is for
+	 * @return The room's contents
+	 */
+	private RoomData build(Game game) {
+		Random random = new Random(seed);
+		World world = new World(columns, rows);
+		int obstacle = world.getFeatureType(obstacleType);
+		
+		for (int column = 0; column < columns; column++)
+			for (int row = 0; row < rows; row++)
+				if (column == 0 || row == 0 || column == columns - 1 || row == rows - 1 || random.nextDouble() < obstacleDensity)
+					world.setFeature(column, row, obstacle, World.NO_IMAGE);
+		
+		boolean[][] taken = new boolean[columns][rows];
+		for (int column = 0; column < columns; column++)
+			for (int row = 0; row < rows; row++)
+				taken[column][row] = !world.isWalkable(column, row);
+		
+		List<Power> powers = powers();
+		Player player = new Player(freeSpace(random, taken), playerHealth, playerSpeed, powers, Images.DEFAULT_PLAYER, Images.DEFAULT_PLAYER_DEAD, game);
+		List<Monster> monsters = new ArrayList<Monster>();
+		for (int monster = 0; monster < numberOfMonsters; monster++)
+			monsters.add(new Monster(freeSpace(random, taken), monsterHealth, monsterSpeed, powers, pathfinderType, Images.DEFAULT_MONSTER, Images.DEFAULT_MONSTER_DEAD, game));
+		
+		return new RoomData(world, player, monsters, seed);
+	}
+	
+	/**
+	 * Picks a random grid space with nothing on it and marks it as taken.
+	 * @param random - The room's random number generator
+	 * @param taken - The grid spaces that already have something on them
+	 * @return The grid space
+	 */
+	private Point freeSpace(Random random, boolean[][] taken) {
+		for (int attempt = 0; attempt < columns * rows * 4; attempt++) {
+			int column = random.nextInt(columns),
+				row = random.nextInt(rows);
+			if (!taken[column][row]) {
+				taken[column][row] = true;
+				return new Point(column, row);
+			}
+		}
+		throw new RuntimeException("No free space left in a " + columns + "x" + rows + " room");
+	}
+	
+	/**
+	 * @return A melee power, as in powers.data, for every actor in the room to share
+	 */
+	private static List<Power> powers() {
+		return Collections.unmodifiableList(Arrays.asList(new Power(Power.DEFAULT_MELEE_NAME, Images.DEFAULT_POWER_MELEE, 1, 0, 10, true)));
+	}
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import control.Game;
+import entity.actor.pathfinder.PathfinderType;
+
+/**
+ * Measures a whole simulation tick: monsters chasing and attacking the player in a seeded room.
+ * A fresh game is built for every iteration so the monsters start spread out each time.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+	
+	/** The width and height of the room, in grid spaces **/
+	@Param({ "50", "100" })
+	public int size;
+	
+	/** The number of monsters in the room **/
+	@Param({ "8", "64", "256" })
+	public int monsters;
+	
+	/** The fraction of the room covered by columns **/
+	@Param({ "0.1", "0.25" })
+	public double obstacleDensity;
+	
+	/** The pathfinder the monsters use, by its name in data files **/
+	@Param({ "astar", "flowfield", "hpa" })
+	public String pathfinder;
+	
+	/** The seed for the room **/
+	@Param({ "1" })
+	public long seed;
+	
+	private Game game;
+	
+	/**
+	 * Builds a fresh game.
+	 */
+	@Setup(Level.Iteration)
+	public void setUp() {
+		game = new SeededRoom(size, size, obstacleDensity, monsters, PathfinderType.fromName(pathfinder), seed).newGame();
+	}
+	
+	/**
+	 * Runs one tick.
+	 * @return The number of ticks run so far
+	 */
+	@Benchmark
+	public long tick() {
+		game.tick();
+		return game.getTickCount();
+	}
+}
@@ -0,0 +1,100 @@
+package benchmark;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import loader.ImageLoader;
+import generator.RandomNumber;
+import generator.WallCleaner;
+
+/**
+ * Measures cleaning a seeded wall layout: finding closed loops of wall and knocking entrances into them.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WallCleanerBenchmark {
+	
+	/** The width and height of the wall layout, in grid spaces **/
+	@Param({ "50", "100", "200" })
+	public int size;
+	
+	/** The number of rectangular rooms drawn into the wall layout, per 100 grid spaces of area **/
+	@Param({ "0.5", "1" })
+	public double roomDensity;
+	
+	/** The seed for the wall layout **/
+	@Param({ "1" })
+	public long seed;
+	
+	private List<Point> walls;
+	
+	/**
+	 * Draws the wall layout: the outline of the map plus the outlines of randomly placed rectangular rooms.
+	 */
+	@Setup
+	public void setUp() {
+		ImageLoader.disableImages();
+		
+		Random random = new Random(seed);
+		boolean[][] isWall = new boolean[size][size];
+		outline(isWall, 0, 0, size - 1, size - 1);
+		for (int room = 0; room < size * size * roomDensity / 100; room++) {
+			int width = 3 + random.nextInt(size / 4),
+				height = 3 + random.nextInt(size / 4),
+				left = random.nextInt(size - width),
+				top = random.nextInt(size - height);
+			outline(isWall, left, top, left + width, top + height);
+		}
+		
+		walls = new ArrayList<Point>();
+		for (int column = 0; column < size; column++)
+			for (int row = 0; row < size; row++)
+				if (isWall[column][row])
+					walls.add(new Point(column, row));
+	}
+	
+	/**
+	 * Cleans the wall layout, making the same entrances every time.
+	 * @return The cleaned walls
+	 */
+	@Benchmark
+	public List<Point> cleanWalls() {
+		return new WallCleaner(walls, new RandomNumber(seed)).cleanWalls();
+	}
+	
+	/**
+	 * Marks the outline of a rectangle as walls.
+	 * @param isWall - The wall layout, indexed [column][row]
+	 * @param left - The x-coordinate of the left side
+	 * @param top - The y-coordinate of the top side
+	 * @param right - The x-coordinate of the right side
+	 * @param bottom - The y-coordinate of the bottom side
+	 */
+	private static void outline(boolean[][] isWall, int left, int top, int right, int bottom) {
+		for (int column = left; column <= right; column++)
+			isWall[column][top] = isWall[column][bottom] = true;
+		for (int row = top; row <= bottom; row++)
+			isWall[left][row] = isWall[right][row] = true;
+	}
+}
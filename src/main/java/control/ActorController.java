@@ -1,23 +1,38 @@
 package control;
 
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
-import javax.swing.Timer;
-
+import entity.actor.Actor;
 import entity.actor.Monster;
 import entity.actor.Player;
 
 /**
  * Controller class to trigger actor events.
+ * The simulation runs on its own thread at a fixed timestep, independent of painting.
+ * Other threads hand it work through invokeLater and read its results through getSnapshot.
+ * Each tick, the actors due to act plan in parallel and then commit one at a time in a fixed order,
+ * 	so the outcome doesn't depend on how the planning was scheduled.
  * @author Milo
  * @since 7 April 2013
  */
-public class ActorController implements ActionListener {
+public class ActorController implements Runnable {
+	
+	/** The default tick length, in milliseconds **/
+	public static final int DEFAULT_RATE = 100;
+	
+	/** The most ticks to run back to back when the simulation falls behind, before dropping the missed time **/
+	private static final int maximumCatchUpTicks = 5;
 
+	/** Below this many actors, a plan task plans them itself instead of splitting **/
+	private static final int planBatchSize = 2;
+	
 	/** The player to control **/
 	private Player player;
 	
@@ -31,28 +46,40 @@ public class ActorController implements ActionListener {
 	 * The base time unit to tick, in milliseconds.
 	 * Actor speeds are in multiples of this.
 	 **/
-	private final int rate = 100;
+	private int rate = DEFAULT_RATE;
 	
-	/** The timer to trigger actor events **/
-	private final Timer actorTimer = new Timer(rate, this);
+	/** The simulation thread, once started **/
+	private Thread simulationThread;
+	
+	/** If the simulation thread should keep running **/
+	private volatile boolean running = false;
 	
 	/** If the game is paused **/
-	public boolean paused = false;
+	public volatile boolean paused = false;
+	
+	/** Work handed over from other threads (i.e. input), run at the start of the next tick **/
+	private final Queue<Runnable> commands = new ConcurrentLinkedQueue<Runnable>();
+	
+	/** The pool actors plan on, shared by every game in the process **/
+	private static final ForkJoinPool planners = new ForkJoinPool();
+	
+	/** The actors acting this tick, in commit order **/
+	private final List<Actor> actingActors = new ArrayList<Actor>();
+	
+	/** The state of the actors at the end of the last tick **/
+	private volatile GameSnapshot snapshot = GameSnapshot.EMPTY;
 	
 	/**
-	 * Incremented every time the timer fires and triggers the correct actors.
-	 * In theory this could overflow if the game is left on for a very long time (i.e. 6 years at the current timer rate).
+	 * Incremented every time the controller ticks and triggers the correct actors.
 	 **/
-	private int tickCount = 0;
+	private long tickCount = 0;
 	
 	/**
-	 * Creates a new actor controller and starts the timer.
+	 * Creates a new actor controller. Nothing runs until it is started.
 	 * @param game - The game to interact with.
 	 */
 	public ActorController(Game game) {
 		this.game = game;
-		
-		actorTimer.start();
 	}
 	
 	/**
@@ -76,23 +103,133 @@ public class ActorController implements ActionListener {
 	}
 	
 	/**
-	 * Refreshes actor positions and checks if any actors should act.
+	 * Sets the tick length. Actor speeds are in multiples of this, so shorter ticks speed the whole game up.
+	 * @param rate - The tick length, in milliseconds
+	 * @return this instance
 	 */
-	public void actionPerformed(ActionEvent event) {
-		if (!paused) {
-			if (tickCount % player.getSpeed() == 0) {
-				player.act();
-				game.refreshActors();
+	public ActorController withRate(int rate) {
+		if (rate <= 0)
+			throw new RuntimeException("Tick rate must be positive, not " + rate);
+		this.rate = rate;
+		return this;
+	}
+	
+	/** @return The tick length, in milliseconds **/
+	public int getRate() { return rate; }
+	
+	/** @return The number of ticks run so far **/
+	public long getTickCount() { return tickCount; }
+	
+	/** @return The state of the actors at the end of the last tick. Safe to call from any thread. **/
+	public GameSnapshot getSnapshot() { return snapshot; }
+	
+	/**
+	 * Starts the simulation thread.
+	 * @return this instance
+	 */
+	public synchronized ActorController start() {
+		if (simulationThread == null) {
+			snapshot = GameSnapshot.of(tickCount, player, monsters, snapshot);
+			running = true;
+			simulationThread = new Thread(this, "Simulation");
+			simulationThread.setDaemon(true);
+			simulationThread.start();
+		}
+		return this;
+	}
+	
+	/**
+	 * Stops the simulation thread after its current tick and waits for it to finish.
+	 */
+	public synchronized void stop() {
+		if (simulationThread != null) {
+			running = false;
+			simulationThread.interrupt();
+			try {
+				simulationThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
 			}
+			simulationThread = null;
+		}
+	}
+	
+	/**
+	 * Runs the simulation: a fixed-timestep loop that ticks once for every rate milliseconds of real time,
+	 * 	however long painting or a slow tick takes, and sleeps in between.
+	 * A tick that throws is reported on the error stream and the loop carries on with the next one,
+	 * 	so one bad pathfinder or command doesn't stop the game.
+	 */
+	public void run() {
+		long tickLength = rate * 1000000L,
+			 previous = System.nanoTime(),
+			 accumulator = 0;
+		while (running) {
+			long now = System.nanoTime();
+			accumulator = Math.min(accumulator + now - previous, maximumCatchUpTicks * tickLength);
+			previous = now;
 			
-			for (Monster monster : monsters) {
-				if (monster.isActive() && tickCount % monster.getSpeed() == 0) {
-					monster.act();
-					game.refreshActors();
+			while (accumulator >= tickLength) {
+				try {
+					tick();
+				} catch (RuntimeException e) {
+					System.err.println("Tick " + tickCount + " failed, carrying on with the next one:");
+					e.printStackTrace();
 				}
+				accumulator -= tickLength;
+			}
+			
+			try {
+				Thread.sleep((tickLength - accumulator) / 1000000L);
+			} catch (InterruptedException e) {
+				// Woken up to stop, or to tick early; the loop checks which.
 			}
+		}
+	}
+	
+	/**
+	 * Hands work to the simulation thread, to run at the start of the next tick.
+	 * Anything that changes actors from outside the simulation (i.e. input) must go through here.
+	 * @param command - The work to run
+	 */
+	public void invokeLater(Runnable command) {
+		commands.add(command);
+	}
+	
+	/**
+	 * Runs one tick: any queued commands, then any actors that should act, then publishes a new snapshot.
+	 * Actors plan in parallel against the game as it was at the start of the tick, which nothing changes while they plan.
+	 * Shared pathfinding structures that the last tick's changes made stale are rebuilt first, on this thread, so planners only read them.
+	 * They then commit one at a time, the player first and then the monsters in order, so conflicts always resolve the same way.
+	 * Called by the simulation thread, but can be called directly if the thread isn't started.
+	 */
+	public void tick() {
+		Runnable command;
+		while ((command = commands.poll()) != null)
+			command.run();
+		
+		if (!paused) {
+			if (game.getClusterGraph().isBuilt())
+				game.getClusterGraph().refresh();
+			
+			actingActors.clear();
+			if (tickCount % player.getSpeed() == 0)
+				actingActors.add(player);
+			for (Monster monster : monsters)
+				if (monster.isActive() && tickCount % monster.getSpeed() == 0)
+					actingActors.add(monster);
+			
+			if (actingActors.size() < planBatchSize)
+				for (Actor actor : actingActors)
+					actor.plan();
+			else
+				planners.invoke(new PlanTask(actingActors, 0, actingActors.size()));
+			
+			for (Actor actor : actingActors)
+				actor.commit();
 			tickCount++;
 		}
+		snapshot = GameSnapshot.of(tickCount, player, monsters, snapshot);
 	}
 
 	/**
@@ -111,4 +248,44 @@ public class ActorController implements ActionListener {
 		paused = false;
 	}
 	
+	/**
+	 * Plans a range of actors, splitting it in half until it is small enough to plan directly.
+	 */
+	private static class PlanTask extends RecursiveAction {
+		
+		/** Default Serial Version ID **/
+		private static final long serialVersionUID = 1L;
+		
+		/** The actors acting this tick **/
+		private final List<Actor> actors;
+		
+		/** The range of actors to plan, from start (inclusive) to end (exclusive) **/
+		private final int start, end;
+		
+		/**
+		 * Creates a new plan task.
+		 * @param actors - The actors acting this tick
+		 * @param start - The first actor to plan
+		 * @param end - One past the last actor to plan
+		 */
+		public PlanTask(List<Actor> actors, int start, int end) {
+			this.actors = actors;
+			this.start = start;
+			this.end = end;
+		}
+		
+		/**
+		 * Plans the actors, or splits the range in two and plans both halves at once.
+		 */
+		@Override
+		protected void compute() {
+			if (end - start <= planBatchSize)
+				for (int actor = start; actor < end; actor++)
+					actors.get(actor).plan();
+			else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new PlanTask(actors, start, middle), new PlanTask(actors, middle, end));
+			}
+		}
+	}
 }
@@ -0,0 +1,94 @@
+package control;
+
+import java.awt.Image;
+
+import entity.actor.Actor;
+
+/**
+ * The state of an actor at the end of a tick, for drawing.
+ * Snapshots never change, so they can be read from any thread while the simulation carries on.
+ * Each snapshot also remembers the actor's last move, so it can be drawn sliding between grid spaces.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public final class ActorSnapshot {
+	
+	/** The grid space the actor was on **/
+	private final int column, row;
+	
+	/** The grid space the actor left on its last move **/
+	private final int fromColumn, fromRow;
+	
+	/** The tick the actor's last move was first seen at **/
+	private final long movedAt;
+	
+	/** The number of ticks between the actor's moves **/
+	private final int speed;
+	
+	/** The image to draw for the actor **/
+	private final Image image;
+	
+	/** The actor's health **/
+	private final int currentHealth, maximumHealth;
+	
+	/**
+	 * Records an actor's current state.
+	 * @param actor - The actor to record
+	 * @param previous - The same actor's snapshot from the previous tick, or null if there isn't one
+	 * @param tick - The current tick
+	 */
+	public ActorSnapshot(Actor actor, ActorSnapshot previous, long tick) {
+		this.column = actor.getLocation().x;
+		this.row = actor.getLocation().y;
+		this.speed = actor.getSpeed();
+		if (previous == null || Math.abs(previous.column - column) > 1 || Math.abs(previous.row - row) > 1) {
+			this.fromColumn = column;
+			this.fromRow = row;
+			this.movedAt = tick;
+		}
+		else if (previous.column != column || previous.row != row) {
+			this.fromColumn = previous.column;
+			this.fromRow = previous.row;
+			this.movedAt = tick;
+		}
+		else {
+			this.fromColumn = previous.fromColumn;
+			this.fromRow = previous.fromRow;
+			this.movedAt = previous.movedAt;
+		}
+		this.image = actor.getImage();
+		this.currentHealth = actor.getCurrentHealth();
+		this.maximumHealth = actor.getMaximumHealth();
+	}
+	
+	/** @return The x-coordinate of the actor's grid space **/
+	public int getColumn() { return column; }
+	
+	/** @return The y-coordinate of the actor's grid space **/
+	public int getRow() { return row; }
+	
+	/**
+	 * Finds how far through its last move the actor should be drawn.
+	 * A move is spread over the ticks until the actor's next one, so an actor walking steadily never stops.
+	 * @param tick - The time to draw at, in ticks (i.e. 10.5 is halfway between ticks 10 and 11)
+	 * @return The fraction of the move made, from 0 (still on the grid space it left) to 1 (arrived)
+	 */
+	public double getMoveProgress(double tick) {
+		return Math.max(0, Math.min(1, (tick - movedAt) / speed));
+	}
+	
+	/** @return The x-coordinate of the grid space the actor left on its last move **/
+	public int getFromColumn() { return fromColumn; }
+	
+	/** @return The y-coordinate of the grid space the actor left on its last move **/
+	public int getFromRow() { return fromRow; }
+	
+	/** @return The image to draw for the actor **/
+	public Image getImage() { return image; }
+	
+	/** @return The actor's current health **/
+	public int getCurrentHealth() { return currentHealth; }
+	
+	/** @return The actor's maximum health **/
+	public int getMaximumHealth() { return maximumHealth; }
+}
@@ -4,17 +4,27 @@ import java.awt.Point;
 import java.util.List;
 
 import level.Room;
+import level.World;
 import loader.FeatureLoader;
+import loader.IRoomLoader;
+import loader.BinaryRoomLoader;
+import loader.DefinitionRegistry;
+import loader.IRoomLoaderFactory;
 import loader.MonsterLoader;
 import loader.PlayerLoader;
 import loader.PowerLoader;
 import loader.RoomDataLoader;
+import loader.RoomLoader;
 import data.Rooms;
 import entity.actor.Actor;
 import entity.actor.Monster;
 import entity.actor.Player;
+import entity.actor.pathfinder.NavigationMap;
+import entity.actor.pathfinder.flowfield.FlowFieldCache;
+import entity.actor.pathfinder.hierarchical.ClusterGraph;
 import generator.ConstrainedWallGenerator;
 import generator.IFeatureGenerator;
+import generator.RandomNumber;
 import generator.RoomGenerator;
 import gui.GameWindow;
 
@@ -25,14 +35,17 @@ import gui.GameWindow;
  */
 public class Game {
 	
+	/** Generates a random dungeon room of the default size, as played normally **/
+	public static final IRoomLoaderFactory DUNGEON = dungeon(World.DEFAULT_COLUMNS, World.DEFAULT_ROWS);
+	
 	/** The player **/
 	private Player player;
 	
 	/** The monsters in the current game window **/
 	private List<Monster> monsters;
 	
-	/** Grid of actor positions. **/
-	private Actor[][] actors = new Actor[GameWindow.GRID_COLUMNS][GameWindow.GRID_ROWS];
+	/** Grid of actor positions, the same size as the room. **/
+	private Actor[][] actors;
 	
 	/** The controller for the actors **/
 	private ActorController actorController;
@@ -40,27 +53,129 @@ public class Game {
 	/** The current map **/
 	private Room room;
 	
+	/** The flow fields shared by every actor using a flow field pathfinder, one for each target **/
+	private FlowFieldCache flowFields;
+	
+	/** The cluster graph shared by every actor using a hierarchical pathfinder **/
+	private ClusterGraph clusterGraph;
+	
 	/**
 	 * Makes a new game and puts the player and monsters in place for testing.
 	 */
 	public Game() {
-		IFeatureGenerator wallGenerator = new ConstrainedWallGenerator();
-		RoomDataLoader dataLoader = new RoomDataLoader();
-		FeatureLoader featureLoader = new FeatureLoader(this);
-		PowerLoader powerLoader = new PowerLoader();
-		PlayerLoader playerLoader = new PlayerLoader(this, powerLoader);
-		MonsterLoader monsterLoader = new MonsterLoader(this, powerLoader);
-		this.room = new Room(new RoomGenerator(Rooms.DUNGEON, wallGenerator, dataLoader, featureLoader, playerLoader, monsterLoader), this);
+		this(ActorController.DEFAULT_RATE);
+	}
+	
+	/**
+	 * Makes a new game and puts the player and monsters in place for testing.
+	 * @param rate - The simulation tick length, in milliseconds
+	 */
+	public Game(int rate) {
+		this(rate, true);
+	}
+	
+	/**
+	 * Makes a new game and puts the player and monsters in place for testing.
+	 * @param rate - The simulation tick length, in milliseconds
+	 * @param runsInRealTime - If the simulation thread should be started.
+	 * 	If not, nothing happens until tick() is called, as fast as the caller likes.
+	 */
+	public Game(int rate, boolean runsInRealTime) {
+		this(DUNGEON, rate, runsInRealTime);
+	}
+	
+	/**
+	 * Makes a new game in a room from any loader, i.e. a fixed or seeded room for benchmarking.
+	 * If DefinitionRegistry.RELOADS_CHANGED_FILES is on, data files edited since the last game are read again first.
+	 * @param roomLoaderFactory - Makes the loader for the room
+	 * @param rate - The simulation tick length, in milliseconds
+	 * @param runsInRealTime - If the simulation thread should be started.
+	 * 	If not, nothing happens until tick() is called, as fast as the caller likes.
+	 */
+	public Game(IRoomLoaderFactory roomLoaderFactory, int rate, boolean runsInRealTime) {
+		if (DefinitionRegistry.RELOADS_CHANGED_FILES)
+			DefinitionRegistry.reloadIfChanged();
+		
+		this.room = new Room(roomLoaderFactory.create(this), this);
+		this.actors = new Actor[room.getNavigationMap().getColumns()][room.getNavigationMap().getRows()];
 		
 		this.player = room.getPlayer();
 		this.monsters = room.getMonsters();
+		this.flowFields = new FlowFieldCache(room.getNavigationMap(), FlowFieldCache.DEFAULT_CAPACITY);
+		this.clusterGraph = new ClusterGraph(room.getNavigationMap(), ClusterGraph.DEFAULT_CLUSTER_SIZE);
+		
+		for (Monster monster : monsters)
+			placeActor(monster);
+		placeActor(player);
 		
 		this.actorController = new ActorController(this)
 									.withPlayer(player)
-									.withMonsters(monsters);
+									.withMonsters(monsters)
+									.withRate(rate);
 		
 		for (Monster monster : monsters)
 			monster.begin();
+		
+		if (runsInRealTime)
+			actorController.start();
+	}
+	
+	/**
+	 * @param columns - The width of the room, in grid spaces
+	 * @param rows - The height of the room, in grid spaces
+	 * @return A factory for random dungeon rooms of the given size, each from a new seed
+	 */
+	public static IRoomLoaderFactory dungeon(final int columns, final int rows) {
+		return new IRoomLoaderFactory() {
+			public IRoomLoader create(Game game) {
+				return createDungeon(game, columns, rows, RandomNumber.newSeed());
+			}
+		};
+	}
+	
+	/**
+	 * @param columns - The width of the room, in grid spaces
+	 * @param rows - The height of the room, in grid spaces
+	 * @param seed - The seed to generate the room from, i.e. one from Room.getSeed()
+	 * @return A factory for the same dungeon room every time
+	 */
+	public static IRoomLoaderFactory dungeon(final int columns, final int rows, final long seed) {
+		return new IRoomLoaderFactory() {
+			public IRoomLoader create(Game game) {
+				return createDungeon(game, columns, rows, seed);
+			}
+		};
+	}
+	
+	/**
+	 * @param roomFile - A map file, or a binary room file ending in BinaryRoomLoader.EXTENSION
+	 * @return A factory for the room in the file
+	 */
+	public static IRoomLoaderFactory roomFile(final String roomFile) {
+		return new IRoomLoaderFactory() {
+			public IRoomLoader create(Game game) {
+				if (roomFile.endsWith(BinaryRoomLoader.EXTENSION))
+					return new BinaryRoomLoader(roomFile, game);
+				return new RoomLoader(roomFile, game);
+			}
+		};
+	}
+	
+	/**
+	 * @param game - The game the room is for
+	 * @param columns - The width of the room, in grid spaces
+	 * @param rows - The height of the room, in grid spaces
+	 * @param seed - The seed to generate the room from
+	 * @return A generator for a dungeon room
+	 */
+	private static IRoomLoader createDungeon(Game game, int columns, int rows, long seed) {
+		IFeatureGenerator wallGenerator = new ConstrainedWallGenerator(columns, rows);
+		RoomDataLoader dataLoader = new RoomDataLoader();
+		FeatureLoader featureLoader = new FeatureLoader(game);
+		PowerLoader powerLoader = new PowerLoader();
+		PlayerLoader playerLoader = new PlayerLoader(game, powerLoader);
+		MonsterLoader monsterLoader = new MonsterLoader(game, powerLoader);
+		return new RoomGenerator(Rooms.DUNGEON, columns, rows, wallGenerator, dataLoader, featureLoader, playerLoader, monsterLoader, seed);
 	}
 	
 	/** ACCESSORS **/
@@ -71,9 +186,18 @@ public class Game {
 	/** @return the player **/
 	public Player getPlayer() { return player; }
 	
+	/** @return The state of the actors at the end of the last tick, for drawing from other threads **/
+	public GameSnapshot getSnapshot() { return actorController.getSnapshot(); }
+	
 	/** @return The map for drawing **/
 	public Room getMapLayout() { return room; }
 	
+	/** @return The flow fields shared by actors using flow field pathfinders **/
+	public FlowFieldCache getFlowFields() { return flowFields; }
+	
+	/** @return The cluster graph shared by actors using hierarchical pathfinders **/
+	public ClusterGraph getClusterGraph() { return clusterGraph; }
+	
 	/**
 	 * Fetches the actor on a space.
 	 * @param location - The coordinates of the space to check
@@ -99,7 +223,7 @@ public class Game {
 	 * @return true if the space has an actor on it, false otherwise
 	 */
 	public boolean spaceHasActor(Point location) {
-		return	spaceIsValid(location) &&
+		return	room.getNavigationMap().index(location.x, location.y) != NavigationMap.NO_SPACE &&
 				actors[location.x][location.y] != null;
 	}
 	
@@ -109,8 +233,8 @@ public class Game {
 	 * @return true if the space has a feature on it, false otherwise
 	 */
 	public boolean spaceHasFeature(Point location) {
-		return	spaceIsValid(location) &&
-				room.featureAt(location.x, location.y) != null;
+		return	room.getNavigationMap().index(location.x, location.y) != NavigationMap.NO_SPACE &&
+				!room.getNavigationMap().isWalkable(location.x, location.y);
 	}
 	
 	/**
@@ -119,18 +243,7 @@ public class Game {
 	 * @return True if actors are allowed on the space, false otherwise.
 	 */
 	public boolean spaceIsWalkable(Point location) {
-		return	spaceIsValid(location) &&
-				room.featureAt(location.x, location.y) == null;
-	}
-	
-	/**
-	 * Validates a grid space.
-	 * @param location - The coordinates of the space to check
-	 * @return True if the space is within the confines of the game board, false otherwise.
-	 */
-	public static boolean spaceIsValid(Point location) {
-		return	location.x >= 0 && location.x < GameWindow.GRID_COLUMNS &&
-				location.y >= 0 && location.y < GameWindow.GRID_ROWS;
+		return room.getNavigationMap().isWalkable(location.x, location.y);
 	}
 	
 	/**
@@ -148,6 +261,20 @@ public class Game {
 				Math.abs(targetLocation.y - sourceLocation.y) <= range;
 	}
 	
+	/**
+	 * Runs one simulation tick on the calling thread.
+	 * Only for games that don't run in real time, since the simulation thread would be ticking at the same time.
+	 */
+	public void tick() {
+		actorController.tick();
+	}
+	
+	/** @return The number of simulation ticks run so far **/
+	public long getTickCount() { return actorController.getTickCount(); }
+	
+	/** @return The simulation tick length, in milliseconds **/
+	public int getRate() { return actorController.getRate(); }
+	
 	/**
 	 * Pauses the game
 	 */
@@ -165,14 +292,28 @@ public class Game {
 	/** INTERACTION **/
 	
 	/**
-	 * Handles clicking on a grid space.
+	 * Handles clicking on a grid space, on the simulation thread at the start of the next tick.
 	 * If the space is empty, move there.
 	 * If the space is occupied by the player, do nothing.
 	 * If the space is occupied by a monster, attack it or move towards it.
 	 * @param column - The x-coordinate of the space
 	 * @param row - The y-coordinate of the space
 	 */
-	public void clickGridSpace(int column, int row) {
+	public void clickGridSpace(final int column, final int row) {
+		actorController.invokeLater(new Runnable() {
+			public void run() {
+				handleClick(column, row);
+			}
+		});
+	}
+	
+	/**
+	 * Handles clicking on a grid space.
+	 * @param column - The x-coordinate of the space
+	 * @param row - The y-coordinate of the space
+	 * @see clickGridSpace(int, int)
+	 */
+	private void handleClick(int column, int row) {
 		if (actors[column][row] == null) {
 			player.moveTo(column, row);
 			player.stopTargeting();
@@ -189,122 +330,42 @@ public class Game {
 	 * @param xPixelDestination - The x-pixel to head towards.
 	 * @param yPixelDestination - The y-pixel to head towards.
 	 */
-	public void movePlayer(int column, int row) {
-		player.moveTo(column, row);
-	}
-	
-	/**
-	 * Polls all actors and updates their positions in the actor grid according to their current positions.
-	 */
-	public void refreshActors() {		
-		for (int row = 0; row < GameWindow.GRID_ROWS; row++)
-			for (int column = 0; column < GameWindow.GRID_COLUMNS; column++) {
-				Point playerLocation = player.getLocation();
-				if (row == playerLocation.y && column == playerLocation.x)
-					actors[column][row] = player;
-				else {
-					boolean isOccupiedByMonster = false;
-					for (Monster monster : monsters) {
-						Point monsterLocation = monster.getLocation();
-						
-						if (row == monsterLocation.y && column == monsterLocation.x) {
-							actors[column][row] = monster;
-							isOccupiedByMonster = true;
-						}
-					}
-					if (!isOccupiedByMonster)
-						actors[column][row] = null;
-				}
+	public void movePlayer(final int column, final int row) {
+		actorController.invokeLater(new Runnable() {
+			public void run() {
+				player.moveTo(column, row);
 			}
+		});
 	}
 	
 	/**
-	 * Converts a pixel coordinate into a grid index.
-	 * @param pixel - The pixel coordinate
-	 * @return The corresponding grid index, based on GameWindow.GRID_SPACE_SIZE
-	 */
-	public static int pixelToGridSpace(int pixel) {
-		return pixel/GameWindow.GRID_SPACE_SIZE;
-	}
-	
-	/**
-	 * Checks if a grid space is at the top of the map
-	 * @param location - the grid space
-	 * @return If the grid space is at the top of the map
-	 */
-	public static boolean isTop(Point location) {
-		return location.y == 0;
-	}
-	
-	/**
-	 * Checks if a grid space is at the right of the map
-	 * @param location - the grid space
-	 * @return If the grid space is at the right of the map
-	 */
-	public static boolean isRight(Point location) {
-		return location.x == GameWindow.GRID_COLUMNS - 1;
-	}
-	
-	/**
-	 * Checks if a grid space is at the bottom of the map
-	 * @param location - the grid space
-	 * @return If the grid space is at the bottom of the map
-	 */
-	public static boolean isBottom(Point location) {
-		return location.y == GameWindow.GRID_ROWS - 1;
-	}
-	
-	/**
-	 * Checks if a grid space is at the left of the map
-	 * @param location - the grid space
-	 * @return If the grid space is at the left of the map
-	 */
-	public static boolean isLeft(Point location) {
-		return location.x == 0;
-	}
-	
-	/**
-	 * Checks if a grid space is at the top left of the map
-	 * @param location - the grid space
-	 * @return If the grid space is at the top left of the map
+	 * Puts an actor in the actor grid at its current location.
+	 * @param actor - The actor to place
 	 */
-	public static boolean isTopLeft(Point location) {
-		return isTop(location) && isLeft(location);
+	public void placeActor(Actor actor) {
+		Point location = actor.getLocation();
+		actors[location.x][location.y] = actor;
 	}
 	
 	/**
-	 * Checks if a grid space is at the top right of the map
-	 * @param location - the grid space
-	 * @return If the grid space is at the top right of the map
+	 * Moves an actor in the actor grid, clearing its old grid space and filling its new one.
+	 * Only the two grid spaces are touched, so a tick costs as much as the number of actors that moved.
+	 * @param actor - The actor that moved
+	 * @param from - The grid space it left
+	 * @param to - The grid space it moved into
 	 */
-	public static boolean isTopRight(Point location) {
-		return isTop(location) && isRight(location);
+	public void moveActor(Actor actor, Point from, Point to) {
+		if (actors[from.x][from.y] == actor)
+			actors[from.x][from.y] = null;
+		actors[to.x][to.y] = actor;
 	}
 	
 	/**
-	 * Checks if a grid space is at the bottom right of the map
-	 * @param location - the grid space
-	 * @return If the grid space is at the bottom right of the map
-	 */
-	public static boolean isBottomRight(Point location) {
-		return isBottom(location) && isRight(location);
-	}
-	
-	/**
-	 * Checks if a grid space is at the bottom left of the map
-	 * @param location - the grid space
-	 * @return If the grid space is at the bottom left of the map
-	 */
-	public static boolean isBottomLeft(Point location) {
-		return isBottom(location) && isLeft(location);
-	}
-	
-	/**
-	 * Checks if a grid space is at any edge of the map
-	 * @param location - the grid space
-	 * @return If the grid space is at any edge of the map
+	 * Converts a pixel coordinate into a grid index.
+	 * @param pixel - The pixel coordinate
+	 * @return The corresponding grid index, based on GameWindow.GRID_SPACE_SIZE
 	 */
-	public static boolean isEdge(Point location) {
-		return isTop(location) || isRight(location) || isBottom(location) || isLeft(location);
+	public static int pixelToGridSpace(int pixel) {
+		return pixel/GameWindow.GRID_SPACE_SIZE;
 	}
 }
@@ -0,0 +1,72 @@
+package control;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import entity.actor.Actor;
+import entity.actor.Monster;
+import entity.actor.Player;
+
+/**
+ * The state of every actor at the end of a tick, published by the ActorController for the UI to draw.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public final class GameSnapshot {
+	
+	/** An empty snapshot, for before the first tick **/
+	public static final GameSnapshot EMPTY = new GameSnapshot(-1, System.nanoTime(), Collections.<ActorSnapshot>emptyList());
+	
+	/** The tick the snapshot was taken at **/
+	private final long tick;
+	
+	/** When the snapshot was taken, from System.nanoTime() **/
+	private final long time;
+	
+	/** The actors, in drawing order **/
+	private final List<ActorSnapshot> actors;
+	
+	/**
+	 * Creates a new snapshot.
+	 * @param tick - The tick the snapshot was taken at
+	 * @param time - When the snapshot was taken, from System.nanoTime()
+	 * @param actors - The actors, in drawing order
+	 */
+	private GameSnapshot(long tick, long time, List<ActorSnapshot> actors) {
+		this.tick = tick;
+		this.time = time;
+		this.actors = actors;
+	}
+	
+	/**
+	 * Records the state of the player and monsters.
+	 * Monsters come first so the player is drawn on top of any corpses.
+	 * The actors are always listed in the same order, so each one's previous snapshot is found by position.
+	 * @param tick - The current tick
+	 * @param player - The player
+	 * @param monsters - The monsters
+	 * @param previous - The snapshot from the previous tick, for tracking moves
+	 * @return The snapshot
+	 */
+	public static GameSnapshot of(long tick, Player player, List<Monster> monsters, GameSnapshot previous) {
+		List<ActorSnapshot> actors = new ArrayList<ActorSnapshot>(monsters.size() + 1);
+		List<ActorSnapshot> previousActors = previous.actors.size() == monsters.size() + 1 ? previous.actors : null;
+		for (Actor monster : monsters)
+			actors.add(new ActorSnapshot(monster, previousActors == null ? null : previousActors.get(actors.size()), tick));
+		actors.add(new ActorSnapshot(player, previousActors == null ? null : previousActors.get(actors.size()), tick));
+		return new GameSnapshot(tick, System.nanoTime(), Collections.unmodifiableList(actors));
+	}
+	
+	/** @return The tick the snapshot was taken at **/
+	public long getTick() { return tick; }
+	
+	/** @return When the snapshot was taken, from System.nanoTime() **/
+	public long getTime() { return time; }
+	
+	/** @return The actors, in drawing order **/
+	public List<ActorSnapshot> getActors() { return actors; }
+	
+	/** @return The player, which is always drawn last, or null before the first tick **/
+	public ActorSnapshot getPlayer() { return actors.isEmpty() ? null : actors.get(actors.size() - 1); }
+}
@@ -0,0 +1,96 @@
+package control;
+
+import loader.ImageLoader;
+
+/**
+ * Runs games without a display, as fast as the CPU allows, and reports how many ticks per second were simulated.
+ * No images are loaded and no Swing components or timers are created, so it runs on display-less machines.
+ * Whenever the player dies a fresh game is started, so the load stays the same for the whole run.
+ * Like the game itself, it must be run from the project directory so the data files can be found.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class HeadlessRunner {
+	
+	/** The default number of ticks to simulate **/
+	private static final long defaultTicks = 100000;
+	
+	/** The number of ticks between progress reports **/
+	private static final long reportInterval = 10000;
+	
+	/** The number of ticks to simulate **/
+	private final long ticks;
+	
+	/** The number of games started so far **/
+	private int gamesPlayed = 0;
+	
+	/**
+	 * Creates a new runner.
+	 * @param ticks - The number of ticks to simulate
+	 */
+	public HeadlessRunner(long ticks) {
+		this.ticks = ticks;
+		ImageLoader.disableImages();
+	}
+	
+	/**
+	 * Simulates the ticks, printing progress along the way.
+	 * @return The number of ticks simulated per second
+	 */
+	public double run() {
+		Game game = newGame();
+		long start = System.nanoTime(),
+			 lastReport = start;
+		
+		for (long tick = 1; tick <= ticks; tick++) {
+			game.tick();
+			if (!game.getPlayer().isActive())
+				game = newGame();
+			
+			if (tick % reportInterval == 0) {
+				long now = System.nanoTime();
+				System.out.println(tick + " ticks, " + format(reportInterval, now - lastReport) + " ticks/s");
+				lastReport = now;
+			}
+		}
+		
+		long elapsed = System.nanoTime() - start;
+		System.out.println(ticks + " ticks over " + gamesPlayed + " games in " + (elapsed / 1000000) + " ms: " + format(ticks, elapsed) + " ticks/s");
+		return ticks * 1e9 / elapsed;
+	}
+	
+	/**
+	 * Makes a new game that only ticks when told to.
+	 * @return The game
+	 */
+	private Game newGame() {
+		gamesPlayed++;
+		return new Game(ActorController.DEFAULT_RATE, false);
+	}
+	
+	/**
+	 * Formats a rate for printing.
+	 * @param ticks - The number of ticks
+	 * @param nanoseconds - The time they took
+	 * @return The ticks per second, to one decimal place
+	 */
+	private static String format(long ticks, long nanoseconds) {
+		return String.format("%.1f", ticks * 1e9 / nanoseconds);
+	}
+	
+	/**
+	 * Main method.
+	 * @param args - Command line arguments: the number of ticks to simulate (optional, defaults to 100000)
+	 */
+	public static void main(String[] args) {
+		long ticks = defaultTicks;
+		if (args.length > 0) {
+			try {
+				ticks = Long.parseLong(args[0]);
+			} catch (NumberFormatException e) {
+				throw new RuntimeException("Usage: HeadlessRunner [ticks]", e);
+			}
+		}
+		new HeadlessRunner(ticks).run();
+	}
+}
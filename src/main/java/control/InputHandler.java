@@ -31,13 +31,13 @@ public class InputHandler {
 	}
 	
 	/**
-	 * Handles a mouse click.
+	 * Handles a mouse click. Clicks outside the world are ignored.
 	 * @param click - The click event to handle.
+	 * @param column - The x-coordinate of the grid space clicked on, after moving by the camera.
+	 * @param row - The y-coordinate of the grid space clicked on, after moving by the camera.
 	 */
-	public void handle(MouseEvent click) {
-		int column = Game.pixelToGridSpace(click.getX());
-		int row = Game.pixelToGridSpace(click.getY());
-		
-		game.clickGridSpace(column, row);
+	public void handle(MouseEvent click, int column, int row) {
+		if (game.getMapLayout().getWorld().contains(column, row))
+			game.clickGridSpace(column, row);
 	}
 }
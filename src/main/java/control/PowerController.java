@@ -15,19 +15,21 @@ public class PowerController {
 	/** The number of available powers **/
 	public static final int NUMBER_OF_PLAYER_POWERS = 3;
 	
-	/** The powers available for the player to use **/
-	private Power[] powers;
+	/** The powers available for the player to use. Often shared with other actors, so never changed. **/
+	private final List<Power> powers;
 	
 	/** The index of the currently active power **/
 	private int activePowerIndex;
 	
+	/**
+	 * Creates a new power controller with the first power active.
+	 * @param powers - The actor's powers. The list is kept rather than copied, so it can be shared between actors and mustn't be changed.
+	 */
 	public PowerController(List<Power> powers) {
 		if (powers.size() == 0)
 			throw new RuntimeException("Power list length is 0");
-		else {
-			this.powers = powers.toArray(new Power[0]);
-			this.activePowerIndex = 0;
-		}
+		this.powers = powers;
+		this.activePowerIndex = 0;
 	}
 	
 	/**
@@ -35,7 +37,7 @@ public class PowerController {
 	 * @param index - The index of the new power. Must be > 0 and < number of powers.
 	 */
 	public void selectPower(int index) {
-		if (isValidIndex(index) && powers[index].isUsable())
+		if (isValidIndex(index) && powers.get(index).isUsable())
 			activePowerIndex = index;
 	}
 	
@@ -46,7 +48,7 @@ public class PowerController {
 	 */
 	public Image getPowerImage(int index) {
 		if (isValidIndex(index))
-			return powers[index].getImage();
+			return powers.get(index).getImage();
 		else
 			throw new RuntimeException("Power index " + index + " is out of range.");
 	}
@@ -57,15 +59,15 @@ public class PowerController {
 	 * @return True if the index is > 0 and < the number of powers
 	 */
 	private boolean isValidIndex(int index) {
-		return index >= 0 && index < powers.length;
+		return index >= 0 && index < powers.size();
 	}
 	
 	/** @return The index of the currently active power **/
 	public int getIndexOfActivePower() { return activePowerIndex; }
 	
 	/** @return The currently active power **/
-	public Power getActivePower() { return powers[activePowerIndex]; }
+	public Power getActivePower() { return powers.get(activePowerIndex); }
 	
 	/** @return The number of powers **/
-	public int getNumberOfPowers() { return powers.length; }
+	public int getNumberOfPowers() { return powers.size(); }
 }
@@ -7,7 +7,6 @@ import control.Game;
 import control.PowerController;
 import entity.Entity;
 import entity.actor.pathfinder.IPathfinder;
-import entity.actor.power.Power;
 
 
 /**
@@ -38,6 +37,12 @@ public abstract class Actor extends Entity {
 	/** The pathfinder **/
 	private IPathfinder pathfinder;
 	
+	/** If the actor planned to attack its target this tick **/
+	private boolean plansToAttack = false;
+	
+	/** The grid space the actor planned to move into this tick, or null **/
+	private Point plannedLocation;
+	
 	/**
 	 * Creates a new actor.
 	 * @param x - The initial x-coordinate.
@@ -90,18 +95,31 @@ public abstract class Actor extends Entity {
 	}
 	
 	/**
-	 * If the actor has a target actor, move towards it and attack if possible.
-	 * If the actor doesn't have a target, move towards its destination.
+	 * Plans and carries out the actor's action straight away.
+	 * @see plan()
+	 * @see commit()
 	 */
 	public void act() {
+		plan();
+		commit();
+	}
+	
+	/**
+	 * Decides what to do this tick without changing anything outside the actor and its pathfinder.
+	 * If the actor has a target actor, plan to attack it if possible or to move towards it.
+	 * If the actor doesn't have a target, plan to move towards its destination.
+	 * Many actors can plan at once, as long as nothing else changes the game while they do.
+	 */
+	public void plan() {
+		plansToAttack = false;
+		plannedLocation = null;
 		if (target != null) {
 			if (target.isActive()) {
 				pathfinder.setTargetLocation(target.getLocation());
-				Power activePower = powerController.getActivePower();
-				if (game.canAttack(target, this, activePower.getRange()))
-					activePower.use(target);
+				if (game.canAttack(target, this, powerController.getActivePower().getRange()))
+					plansToAttack = true;
 				else
-					move();
+					plannedLocation = pathfinder.getNextLocation();
 			}
 			else {
 				stopTargeting();
@@ -109,7 +127,51 @@ public abstract class Actor extends Entity {
 			}
 		}
 		else
-			move();
+			plannedLocation = pathfinder.getNextLocation();
+	}
+	
+	/**
+	 * Carries out the planned action.
+	 * Actors that planned at the same time may have made the plan stale (i.e. by moving into the planned grid space first),
+	 * 	in which case the actor plans again against the game as it is now.
+	 * An actor killed by one that committed before it this tick does nothing.
+	 */
+	public void commit() {
+		if (!isActive()) {
+			plansToAttack = false;
+			plannedLocation = null;
+			return;
+		}
+		
+		if (!planIsValid()) {
+			pathfinder.setCurrentLocation(currentLocation);
+			plan();
+		}
+		
+		if (plansToAttack)
+			powerController.getActivePower().use(target);
+		else if (plannedLocation != null && !plannedLocation.equals(currentLocation)) {
+			if (game.spaceIsFree(plannedLocation))
+				move(plannedLocation);
+			else
+				pathfinder.setCurrentLocation(currentLocation);
+		}
+		
+		plansToAttack = false;
+		plannedLocation = null;
+	}
+	
+	/**
+	 * Checks the planned action against the game as it is now.
+	 * @return True if the planned attack is still in range or the planned grid space is still free
+	 */
+	private boolean planIsValid() {
+		if (plansToAttack)
+			return	target != null && target.isActive() &&
+					game.canAttack(target, this, powerController.getActivePower().getRange());
+		return	plannedLocation == null ||
+				plannedLocation.equals(currentLocation) ||
+				game.spaceIsFree(plannedLocation);
 	}
 	
 	/**
@@ -138,9 +200,12 @@ public abstract class Actor extends Entity {
 	}
 	
 	/**
-	 * If the next position in the actor's path is available, move into it.
+	 * Moves into a grid space.
+	 * @param location - The grid space to move into
 	 */
-	private void move() {
-		currentLocation = pathfinder.getNextLocation();
+	private void move(Point location) {
+		Point previousLocation = currentLocation;
+		currentLocation = new Point(location);
+		game.moveActor(this, previousLocation, currentLocation);
 	}
 }
@@ -6,7 +6,7 @@ import java.util.List;
 import loader.ImageLoader;
 import control.Game;
 import control.PowerController;
-import entity.actor.pathfinder.astar.AStarPathfinder;
+import entity.actor.pathfinder.PathfinderType;
 import entity.actor.power.Power;
 
 
@@ -23,12 +23,28 @@ public class Monster extends Actor {
 	 * @param health - The health of the monster
  	 * @param speed - The monster's speed, in hundred-milliseconds per grid space
  	 * @param powers - The monster's powers
+ 	 * @param pathfinderType - The kind of pathfinder the monster uses
 	 * @param aliveImage - The image to render when the monster is alive
 	 * @param deadImage - The image to render when the monster is dead
 	 * @param game - The game the monster is for
 	 */
-	public Monster(Point startLocation, int health, int speed, List<Power> powers, String aliveImage, String deadImage, Game game) {
-		super(startLocation, health, speed, new AStarPathfinder(game, startLocation), new PowerController(powers), ImageLoader.loadImage(aliveImage), ImageLoader.loadImage(deadImage), game);
+	public Monster(Point startLocation, int health, int speed, List<Power> powers, PathfinderType pathfinderType, String aliveImage, String deadImage, Game game) {
+		this(startLocation, health, speed, powers, pathfinderType, ImageLoader.spriteId(aliveImage), ImageLoader.spriteId(deadImage), game);
+	}
+	
+	/**
+	 * Creates a new monster.
+	 * @param startLocation - The point at which to start the monster
+	 * @param health - The health of the monster
+ 	 * @param speed - The monster's speed, in hundred-milliseconds per grid space
+ 	 * @param powers - The monster's powers
+ 	 * @param pathfinderType - The kind of pathfinder the monster uses
+	 * @param aliveSprite - The ID of the sprite to render when the monster is alive
+	 * @param deadSprite - The ID of the sprite to render when the monster is dead
+	 * @param game - The game the monster is for
+	 */
+	public Monster(Point startLocation, int health, int speed, List<Power> powers, PathfinderType pathfinderType, int aliveSprite, int deadSprite, Game game) {
+		super(startLocation, health, speed, pathfinderType.create(game, startLocation), new PowerController(powers), ImageLoader.loadImage(aliveSprite), ImageLoader.loadImage(deadSprite), game);
 	}
 	
 	/**
@@ -28,7 +28,21 @@ public class Player extends Actor {
 	 * @param game - The game this player is part of
 	 */
 	public Player(Point startLocation, int health, int speed, List<Power> powers, String aliveImage, String deadImage, Game game) {
-		super(startLocation, health, speed, new DirectPathfinder(game, startLocation), new PowerController(powers), ImageLoader.loadImage(aliveImage), ImageLoader.loadImage(deadImage), game);
+		this(startLocation, health, speed, powers, ImageLoader.spriteId(aliveImage), ImageLoader.spriteId(deadImage), game);
+	}
+	
+	/**
+	 * Creates a new player.
+	 * @param startLocation - The start location in this room
+	 * @param health - The player's maximum health
+	 * @param speed - The player's speed, in milliseconds per grid space
+	 * @param powers - The player's powers
+	 * @param aliveSprite - The ID of the sprite to render when the player is alive
+	 * @param deadSprite - The ID of the sprite to render when the player is dead
+	 * @param game - The game this player is part of
+	 */
+	public Player(Point startLocation, int health, int speed, List<Power> powers, int aliveSprite, int deadSprite, Game game) {
+		super(startLocation, health, speed, new DirectPathfinder(game, startLocation), new PowerController(powers), ImageLoader.loadImage(aliveSprite), ImageLoader.loadImage(deadSprite), game);
 	}
 	
 	/**
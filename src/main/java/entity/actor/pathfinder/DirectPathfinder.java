@@ -150,6 +150,16 @@ public class DirectPathfinder implements IPathfinder {
 		}
 	}
 	
+	/**
+	 * Moves the pathfinder back to where the actor really is and recomputes the line to the target from there.
+	 * @param currentLocation - The actor's grid space
+	 */
+	public void setCurrentLocation(Point currentLocation) {
+		this.currentLocation.x = currentLocation.x;
+		this.currentLocation.y = currentLocation.y;
+		setTargetLocation(new Point(targetLocation));
+	}
+	
 	/**
 	 * Computes the direction (positive or negative) required to reach the target.
 	 * @param current - The current grid space on this axis.
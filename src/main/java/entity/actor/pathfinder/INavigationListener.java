@@ -0,0 +1,16 @@
+package entity.actor.pathfinder;
+
+/**
+ * Listens for changes to a NavigationMap.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public interface INavigationListener {
+	
+	/**
+	 * Called after a grid space becomes walkable or unwalkable.
+	 * @param column - The x-coordinate of the grid space
+	 * @param row - The y-coordinate of the grid space
+	 */
+	public void spaceChanged(int column, int row);
+}
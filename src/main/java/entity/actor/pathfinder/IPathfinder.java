@@ -19,4 +19,11 @@ public interface IPathfinder {
 	 * @param targetLocation - The new destination
 	 **/
 	public void setTargetLocation(Point targetLocation);
+	
+	/**
+	 * Tells the pathfinder where the actor really is, after a step it returned wasn't taken.
+	 * Any cached path is dropped.
+	 * @param currentLocation - The actor's grid space
+	 */
+	public void setCurrentLocation(Point currentLocation);
 }
@@ -0,0 +1,215 @@
+package entity.actor.pathfinder;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import level.World;
+
+/**
+ * The walkable graph of a room, shared by all pathfinders.
+ * Each grid space stores one bit per direction saying whether an actor can step that way,
+ * 	so pathfinders never have to bounds-check or look up features while searching.
+ * Grid spaces are indexed row by row (row * columns + column).
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class NavigationMap {
+	
+	/** The number of directions an actor can step in **/
+	public static final int DIRECTIONS = 8;
+	
+	/** Column and row offsets for each direction, starting at the top left and going row by row **/
+	public static final int[]	COLUMN_OFFSETS = { -1,  0,  1, -1, 1, -1, 0, 1 },
+								ROW_OFFSETS = { -1, -1, -1,  0, 0,  1, 1, 1 };
+	
+	/** Marks a grid space that isn't on the map **/
+	public static final int NO_SPACE = -1;
+	
+	/** The dimensions of the map, in grid spaces **/
+	private final int columns, rows;
+	
+	/** Index offsets for each direction **/
+	private final int[] indexOffsets = new int[DIRECTIONS];
+	
+	/** Bit i is set if grid space i can be stood on **/
+	private final long[] walkable;
+	
+	/** The number of grid spaces on the map **/
+	private final int size;
+	
+	/** For each grid space, bit d is set if an actor can step from it in direction d **/
+	private final byte[] neighbours;
+	
+	/** Incremented every time the map changes, so pathfinders can tell if what they've computed is stale **/
+	private int version = 0;
+	
+	/** Structures built on top of this map that need to hear about changes **/
+	private final List<INavigationListener> listeners = new LinkedList<INavigationListener>();
+	
+	/**
+	 * Builds the map from a room's features. Grid spaces with a feature can't be walked on.
+	 * @param world - The room's tiles and features
+	 */
+	public NavigationMap(World world) {
+		this.columns = world.getColumns();
+		this.rows = world.getRows();
+		this.size = columns * rows;
+		this.walkable = new long[(size + Long.SIZE - 1) / Long.SIZE];
+		this.neighbours = new byte[size];
+		
+		for (int direction = 0; direction < DIRECTIONS; direction++)
+			indexOffsets[direction] = ROW_OFFSETS[direction] * columns + COLUMN_OFFSETS[direction];
+		
+		for (int row = 0; row < rows; row++)
+			for (int column = 0; column < columns; column++)
+				if (world.isWalkable(column, row))
+					setWalkable(index(column, row), true);
+		
+		for (int row = 0; row < rows; row++)
+			for (int column = 0; column < columns; column++)
+				linkNeighbours(column, row);
+	}
+	
+	/** @return The number of columns on the map **/
+	public int getColumns() { return columns; }
+	
+	/** @return The number of rows on the map **/
+	public int getRows() { return rows; }
+	
+	/** @return The number of grid spaces on the map **/
+	public int getSize() { return size; }
+	
+	/** @return The number of times the map has changed **/
+	public int getVersion() { return version; }
+	
+	/**
+	 * Registers a listener to be told when grid spaces change.
+	 * @param listener - The listener
+	 */
+	public void addListener(INavigationListener listener) {
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Converts grid coordinates to a grid space index.
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The index, or NO_SPACE if the coordinates are off the map
+	 */
+	public int index(int column, int row) {
+		if (column < 0 || column >= columns || row < 0 || row >= rows)
+			return NO_SPACE;
+		return row * columns + column;
+	}
+	
+	/**
+	 * @param index - The grid space index
+	 * @return The x-coordinate of the grid space
+	 */
+	public int column(int index) {
+		return index % columns;
+	}
+	
+	/**
+	 * @param index - The grid space index
+	 * @return The y-coordinate of the grid space
+	 */
+	public int row(int index) {
+		return index / columns;
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return True if the grid space is on the map and can be stood on
+	 */
+	public boolean isWalkable(int column, int row) {
+		int index = index(column, row);
+		return index != NO_SPACE && isWalkable(index);
+	}
+	
+	/**
+	 * @param index - The grid space index
+	 * @return True if the grid space can be stood on
+	 */
+	public boolean isWalkable(int index) {
+		return (walkable[index >> 6] & (1L << index)) != 0;
+	}
+	
+	/**
+	 * @param index - The grid space index
+	 * @return The bit mask of directions an actor can step in from this grid space
+	 */
+	public int getNeighbours(int index) {
+		return neighbours[index] & 0xFF;
+	}
+	
+	/**
+	 * @param index - The grid space index
+	 * @param direction - The direction, 0 to DIRECTIONS - 1
+	 * @return True if an actor can step from this grid space in that direction
+	 */
+	public boolean canStep(int index, int direction) {
+		return (neighbours[index] & (1 << direction)) != 0;
+	}
+	
+	/**
+	 * @param index - The grid space index
+	 * @param direction - The direction, 0 to DIRECTIONS - 1
+	 * @return The index of the neighbouring grid space. Only valid if canStep is true.
+	 */
+	public int step(int index, int direction) {
+		return index + indexOffsets[direction];
+	}
+	
+	/**
+	 * Updates the map after a feature is added to or removed from a grid space.
+	 * Only the grid space and its neighbours are relinked.
+	 * @param column - The x-coordinate of the grid space
+	 * @param row - The y-coordinate of the grid space
+	 * @param isWalkable - Whether the grid space can now be stood on
+	 */
+	public void update(int column, int row, boolean isWalkable) {
+		int index = index(column, row);
+		if (index == NO_SPACE || isWalkable(index) == isWalkable)
+			return;
+		
+		setWalkable(index, isWalkable);
+		linkNeighbours(column, row);
+		for (int direction = 0; direction < DIRECTIONS; direction++) {
+			int neighbourColumn = column + COLUMN_OFFSETS[direction],
+				neighbourRow = row + ROW_OFFSETS[direction];
+			if (index(neighbourColumn, neighbourRow) != NO_SPACE)
+				linkNeighbours(neighbourColumn, neighbourRow);
+		}
+		version++;
+		
+		for (INavigationListener listener : listeners)
+			listener.spaceChanged(column, row);
+	}
+	
+	/**
+	 * @param index - The grid space index
+	 * @param isWalkable - Whether the grid space can be stood on
+	 */
+	private void setWalkable(int index, boolean isWalkable) {
+		if (isWalkable)
+			walkable[index >> 6] |= 1L << index;
+		else
+			walkable[index >> 6] &= ~(1L << index);
+	}
+	
+	/**
+	 * Recomputes the direction bits for a grid space.
+	 * @param column - The x-coordinate of the grid space
+	 * @param row - The y-coordinate of the grid space
+	 */
+	private void linkNeighbours(int column, int row) {
+		int mask = 0;
+		if (isWalkable(index(column, row)))
+			for (int direction = 0; direction < DIRECTIONS; direction++)
+				if (isWalkable(column + COLUMN_OFFSETS[direction], row + ROW_OFFSETS[direction]))
+					mask |= 1 << direction;
+		neighbours[index(column, row)] = (byte)mask;
+	}
+}
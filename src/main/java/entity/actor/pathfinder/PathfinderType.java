@@ -0,0 +1,67 @@
+package entity.actor.pathfinder;
+
+import java.awt.Point;
+
+import control.Game;
+import entity.actor.pathfinder.astar.AStarPathfinder;
+import entity.actor.pathfinder.flowfield.FlowFieldPathfinder;
+import entity.actor.pathfinder.hierarchical.HierarchicalPathfinder;
+import entity.actor.pathfinder.jps.JumpPointPathfinder;
+
+/**
+ * The kinds of pathfinder an actor can use, by the name used for them in data files.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public enum PathfinderType {
+	DIRECT("direct"),
+	A_STAR("astar"),
+	FLOW_FIELD("flowfield"),
+	JUMP_POINT("jps"),
+	HIERARCHICAL("hpa");
+	
+	/** The name used in data files **/
+	private final String name;
+	
+	/**
+	 * @param name - The name used in data files
+	 */
+	private PathfinderType(String name) {
+		this.name = name;
+	}
+	
+	/**
+	 * Creates a pathfinder of this type.
+	 * @param game - The game to interact with
+	 * @param startLocation - The actor's start location
+	 * @return The new pathfinder
+	 */
+	public IPathfinder create(Game game, Point startLocation) {
+		switch (this) {
+		case DIRECT:
+			return new DirectPathfinder(game, startLocation);
+		case A_STAR:
+			return new AStarPathfinder(game, startLocation);
+		case FLOW_FIELD:
+			return new FlowFieldPathfinder(game, startLocation);
+		case JUMP_POINT:
+			return new JumpPointPathfinder(game, startLocation);
+		case HIERARCHICAL:
+			return new HierarchicalPathfinder(game, startLocation);
+		}
+		throw new RuntimeException("No pathfinder for type " + this);
+	}
+	
+	/**
+	 * Looks up a type by the name used in data files.
+	 * @param name - The name, i.e. "astar"
+	 * @return The type
+	 * @throws RuntimeException if there is no type with that name
+	 */
+	public static PathfinderType fromName(String name) {
+		for (PathfinderType type : values())
+			if (type.name.equals(name))
+				return type;
+		throw new RuntimeException("Unknown pathfinder type: " + name);
+	}
+}
@@ -0,0 +1,149 @@
+package entity.actor.pathfinder.astar;
+
+import java.util.Arrays;
+
+/**
+ * Scratch space for A* searches: G costs, parents and closed flags in flat arrays indexed by grid space, plus the open list.
+ * Arenas are kept per thread and reused, so a search allocates nothing once its arena has grown to the size of the grid.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class AStarArena {
+	
+	/** The arena belonging to each thread **/
+	private static final ThreadLocal<AStarArena> arenas = new ThreadLocal<AStarArena>() {
+		@Override
+		protected AStarArena initialValue() {
+			return new AStarArena();
+		}
+	};
+	
+	/** Marks a grid space with no parent **/
+	public static final int NO_PARENT = -1;
+	
+	/** The cost to reach each grid space **/
+	private int[] costs = new int[0];
+	
+	/** The grid space each grid space was reached from **/
+	private int[] parents = new int[0];
+	
+	/**
+	 * The search each grid space was last reached in.
+	 * Costs and parents are only valid for grid spaces reached in the current search, so nothing has to be cleared between searches.
+	 **/
+	private int[] searches = new int[0];
+	
+	/** One bit per grid space, set once the grid space is closed **/
+	private long[] closed = new long[0];
+	
+	/** The current search number **/
+	private int search = 0;
+	
+	/** The open list **/
+	private AStarHeap open = new AStarHeap(0);
+	
+	/**
+	 * Fetches the current thread's arena, growing it if needed.
+	 * @param size - The number of grid spaces to search over
+	 * @return The arena, ready for a new search
+	 */
+	public static AStarArena get(int size) {
+		AStarArena arena = arenas.get();
+		arena.ensureCapacity(size);
+		arena.reset();
+		return arena;
+	}
+	
+	/**
+	 * Grows the arrays to hold at least the given number of grid spaces.
+	 * @param size - The number of grid spaces
+	 */
+	private void ensureCapacity(int size) {
+		if (costs.length < size) {
+			costs = new int[size];
+			parents = new int[size];
+			searches = new int[size];
+			closed = new long[(size + 63) >>> 6];
+			open = new AStarHeap(size);
+			search = 0;
+		}
+	}
+	
+	/**
+	 * Starts a new search.
+	 */
+	private void reset() {
+		open.clear();
+		Arrays.fill(closed, 0L);
+		if (search == Integer.MAX_VALUE) {
+			Arrays.fill(searches, 0);
+			search = 0;
+		}
+		search++;
+	}
+	
+	/** @return The open list **/
+	public AStarHeap getOpen() { return open; }
+	
+	/**
+	 * @param index - The grid space index
+	 * @return True if the grid space has been reached in this search
+	 */
+	public boolean isReached(int index) {
+		return searches[index] == search;
+	}
+	
+	/**
+	 * @param index - The grid space index
+	 * @return The cost to reach the grid space. Only valid if it has been reached.
+	 */
+	public int getCost(int index) {
+		return costs[index];
+	}
+	
+	/**
+	 * @param index - The grid space index
+	 * @return The grid space this one was reached from, or NO_PARENT
+	 */
+	public int getParent(int index) {
+		return parents[index];
+	}
+	
+	/**
+	 * Records a (better) way to reach a grid space.
+	 * @param index - The grid space index
+	 * @param cost - The cost to reach it
+	 * @param parent - The grid space it was reached from, or NO_PARENT
+	 */
+	public void reach(int index, int cost, int parent) {
+		searches[index] = search;
+		costs[index] = cost;
+		parents[index] = parent;
+	}
+	
+	/**
+	 * @param index - The grid space index
+	 * @return True if the grid space has been closed
+	 */
+	public boolean isClosed(int index) {
+		return (closed[index >>> 6] & (1L << index)) != 0;
+	}
+	
+	/**
+	 * Closes a grid space.
+	 * @param index - The grid space index
+	 */
+	public void close(int index) {
+		closed[index >>> 6] |= 1L << index;
+	}
+	
+	/**
+	 * Builds the open list key for a grid space. Lower F comes first, then lower H.
+	 * @param cost - The G value
+	 * @param heuristic - The H value
+	 * @return The key
+	 */
+	public static long key(int cost, int heuristic) {
+		return ((long)(cost + heuristic) << 32) | heuristic;
+	}
+}
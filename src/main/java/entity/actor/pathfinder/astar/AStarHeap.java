@@ -0,0 +1,145 @@
+package entity.actor.pathfinder.astar;
+
+import java.util.Arrays;
+
+/**
+ * An indexed binary min-heap of grid space indices, used as the A* open list.
+ * Each index can be in the heap at most once, and its key can be lowered in place (decrease-key).
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class AStarHeap {
+	
+	/** Marks an index that isn't in the heap **/
+	private static final int NOT_QUEUED = -1;
+	
+	/** The heap itself: grid space indices ordered by key **/
+	private int[] heap;
+	
+	/** The position of each grid space index in the heap, or NOT_QUEUED **/
+	private int[] positions;
+	
+	/** The key of each grid space index. Only valid while the index is queued. **/
+	private long[] keys;
+	
+	/** The number of indices in the heap **/
+	private int size = 0;
+	
+	/**
+	 * Creates a new, empty heap.
+	 * @param capacity - The number of grid space indices the heap can hold
+	 */
+	public AStarHeap(int capacity) {
+		heap = new int[capacity];
+		positions = new int[capacity];
+		keys = new long[capacity];
+		Arrays.fill(positions, NOT_QUEUED);
+	}
+	
+	/** @return The number of grid space indices the heap can hold **/
+	public int getCapacity() { return heap.length; }
+	
+	/** @return True if there is nothing in the heap **/
+	public boolean isEmpty() { return size == 0; }
+	
+	/**
+	 * @param index - The grid space index
+	 * @return True if the index is in the heap
+	 */
+	public boolean contains(int index) {
+		return positions[index] != NOT_QUEUED;
+	}
+	
+	/**
+	 * Empties the heap. Only touches the indices that are still queued.
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++)
+			positions[heap[i]] = NOT_QUEUED;
+		size = 0;
+	}
+	
+	/**
+	 * Adds an index to the heap, or lowers its key if it is already there.
+	 * Keys are compared as signed longs; lower keys are popped first.
+	 * @param index - The grid space index
+	 * @param key - The key to order the index by
+	 */
+	public void push(int index, long key) {
+		int position = positions[index];
+		if (position == NOT_QUEUED) {
+			position = size++;
+			heap[position] = index;
+			positions[index] = position;
+			keys[index] = key;
+			siftUp(position);
+		}
+		else if (key < keys[index]) {
+			keys[index] = key;
+			siftUp(position);
+		}
+	}
+	
+	/**
+	 * Removes the index with the lowest key.
+	 * @return The removed index
+	 */
+	public int pop() {
+		int top = heap[0];
+		positions[top] = NOT_QUEUED;
+		size--;
+		if (size > 0) {
+			int last = heap[size];
+			heap[0] = last;
+			positions[last] = 0;
+			siftDown(0);
+		}
+		return top;
+	}
+	
+	/**
+	 * Moves the entry at a position up until its parent's key is no larger.
+	 * @param position - The position in the heap
+	 */
+	private void siftUp(int position) {
+		int index = heap[position];
+		long key = keys[index];
+		while (position > 0) {
+			int parentPosition = (position - 1) >>> 1;
+			int parent = heap[parentPosition];
+			if (keys[parent] <= key)
+				break;
+			heap[position] = parent;
+			positions[parent] = position;
+			position = parentPosition;
+		}
+		heap[position] = index;
+		positions[index] = position;
+	}
+	
+	/**
+	 * Moves the entry at a position down until neither child has a smaller key.
+	 * @param position - The position in the heap
+	 */
+	private void siftDown(int position) {
+		int index = heap[position];
+		long key = keys[index];
+		int half = size >>> 1;
+		while (position < half) {
+			int childPosition = 2 * position + 1;
+			int child = heap[childPosition];
+			int rightPosition = childPosition + 1;
+			if (rightPosition < size && keys[heap[rightPosition]] < keys[child]) {
+				childPosition = rightPosition;
+				child = heap[childPosition];
+			}
+			if (key <= keys[child])
+				break;
+			heap[position] = child;
+			positions[child] = position;
+			position = childPosition;
+		}
+		heap[position] = index;
+		positions[index] = position;
+	}
+}
@@ -1,21 +1,30 @@
 package entity.actor.pathfinder.astar;
 
 import java.awt.Point;
-import java.util.HashSet;
-import java.util.Set;
 
 import control.Game;
+import entity.actor.Actor;
 import entity.actor.pathfinder.IPathfinder;
-import gui.GameWindow;
+import entity.actor.pathfinder.NavigationMap;
 
 /**
  * Implements the A* algorithm to find the most efficient path.
- * TODO - Add a new class AStarMap which holds all the nodes with their neighbours
- * 	so that we don't have to rebuild it every time.
+ * Searches the room's NavigationMap by grid space index using the calling thread's AStarArena,
+ * 	so no nodes are allocated while searching.
+ * The whole path is kept between steps and only replanned when it is blocked or the target strays too far from it.
  * @author Milo Carbol
  * @since 12 April 2013
  */
 public class AStarPathfinder implements IPathfinder {
+	
+	/** Returned by the search when there is no path **/
+	private static final int NO_PATH = -1;
+	
+	/** The fewest steps a path can be extended by to follow a moving target before it is replanned **/
+	private static final int minimumExtensions = 2;
+	
+	/** A path can be extended by this fraction of its planned length before it is replanned **/
+	private static final int extensionDivisor = 4;
 
 	/** The game to interact with **/
 	private Game game;
@@ -23,6 +32,18 @@ public class AStarPathfinder implements IPathfinder {
 	private Point currentLocation;
 	private Point targetLocation;
 	
+	/** The cached path, stored backwards: the goal is at index 0 and the next step is at pathLength - 1 **/
+	private int[] path = new int[0];
+	
+	/** The number of steps left on the cached path **/
+	private int pathLength = 0;
+	
+	/** The navigation map version the cached path was last checked against **/
+	private int pathVersion;
+	
+	/** The number of steps added to the cached path since it was planned, and the number allowed **/
+	private int extensions, maximumExtensions;
+	
 	public AStarPathfinder (Game game, Point currentLocation) {
 		this.game = game;
 		this.currentLocation = new Point(currentLocation);
@@ -33,66 +54,23 @@ public class AStarPathfinder implements IPathfinder {
 	 * @return The next grid space in the actor's path.
 	 */
 	public Point getNextLocation() {
-		if (currentLocation.equals(targetLocation))
-			return new Point(currentLocation);
-		else {
-			Set<AStarNode> openNodes = new HashSet<AStarNode>();
-			Set<AStarNode> closedNodes = new HashSet<AStarNode>();
-			
-			AStarNode current = new AStarNode(currentLocation, targetLocation);
-			openNodes.add(current);
-			
-			boolean done = false;
-			while (!done) {
-				if (openNodes.size() == 0)
-					return new Point(currentLocation);
-				
-				AStarNode best = openNodes.toArray(new AStarNode[0])[0];
-				for (AStarNode node : openNodes)
-					if (node.getF() < best.getF())
-						best = node;
-				current = best;
-				
-				openNodes.remove(current);
-				closedNodes.add(current);
-				
-				if (current.getGridSpace().equals(targetLocation)) {
-					done = true;
-				}
-				
-				Set<AStarNode> neighbours = new HashSet<AStarNode>();
-				for (int x = -1; x <= 1; x++)
-					for (int y = -1; y <= 1; y++)
-						if (!(x == 0 && y == 0) &&
-							current.getGridSpace().x + x >= 0 && current.getGridSpace().x < GameWindow.GRID_COLUMNS &&
-							current.getGridSpace().y + y >= 0 && current.getGridSpace().y < GameWindow.GRID_ROWS)
-							neighbours.add(new AStarNode(new Point(current.getGridSpace().x + x, current.getGridSpace().y + y), targetLocation));
-				
-				for (AStarNode neighbour : neighbours) {
-					if (closedNodes.contains(neighbour) ||
-						game.spaceHasFeature(neighbour.getGridSpace()) ||
-						(current.getGridSpace().equals(currentLocation) && game.spaceHasActor(neighbour.getGridSpace()))) {
-						// Do nothing
-					}
-					else if (!openNodes.contains(neighbour)) {
-						openNodes.add(neighbour);
-						neighbour.updatePath(current, 1);
-					}
-					else if (openNodes.contains(neighbour) && current.getG() < neighbour.getG()) {
-						neighbour.updatePath(current, 1);
-					}
+		if (!currentLocation.equals(targetLocation)) {
+			NavigationMap map = game.getMapLayout().getNavigationMap();
+			int start = map.index(currentLocation.x, currentLocation.y),
+				target = map.index(targetLocation.x, targetLocation.y);
+			if (start != NavigationMap.NO_SPACE && target != NavigationMap.NO_SPACE) {
+				if (!followTarget(map, target) || !pathIsClear(map))
+					plan(map, start, target);
+				if (pathLength > 0) {
+					int next = path[--pathLength];
+					currentLocation.x = map.column(next);
+					currentLocation.y = map.row(next);
 				}
 			}
-			
-			AStarNode nextNode = current;
-			while (!nextNode.getParent().getGridSpace().equals(currentLocation))
-				nextNode = nextNode.getParent();
-			
-			currentLocation.x = nextNode.getGridSpace().x;
-			currentLocation.y = nextNode.getGridSpace().y;
-			return nextNode.getGridSpace();
 		}
-		
+		else
+			pathLength = 0;
+		return new Point(currentLocation);
 	}
 	
 	/**
@@ -103,4 +81,170 @@ public class AStarPathfinder implements IPathfinder {
 		this.targetLocation.x = targetLocation.x;
 		this.targetLocation.y = targetLocation.y;
 	}
+	
+	/**
+	 * Moves the pathfinder back to where the actor really is and drops the cached path.
+	 * @param currentLocation - The actor's grid space
+	 */
+	public void setCurrentLocation(Point currentLocation) {
+		this.currentLocation.x = currentLocation.x;
+		this.currentLocation.y = currentLocation.y;
+		pathLength = 0;
+	}
+	
+	/**
+	 * Adjusts the cached path to end at the target without searching, if that can be done cheaply.
+	 * If the target is on the path, the path is cut short there.
+	 * If the target has moved one grid space off the end of the path, that grid space is added to the end.
+	 * @param map - The navigation map
+	 * @param target - The index of the target grid space
+	 * @return True if the cached path now ends at the target, false if it needs replanning
+	 */
+	private boolean followTarget(NavigationMap map, int target) {
+		if (pathLength == 0)
+			return false;
+		
+		int goal = path[0];
+		if (goal == target)
+			return true;
+		
+		for (int step = 1; step < pathLength; step++)
+			if (path[step] == target) {
+				System.arraycopy(path, step, path, 0, pathLength - step);
+				pathLength -= step;
+				return true;
+			}
+		
+		if (extensions < maximumExtensions &&
+			Math.abs(map.column(target) - map.column(goal)) <= 1 &&
+			Math.abs(map.row(target) - map.row(goal)) <= 1 &&
+			map.isWalkable(target)) {
+			ensurePathCapacity(pathLength + 1);
+			System.arraycopy(path, 0, path, 1, pathLength);
+			path[0] = target;
+			pathLength++;
+			extensions++;
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Checks that the cached path can still be followed.
+	 * The rest of the path is only rechecked if the navigation map has changed since it was last checked.
+	 * As with searching, actors only block the next step.
+	 * @param map - The navigation map
+	 * @return True if the path is clear
+	 */
+	private boolean pathIsClear(NavigationMap map) {
+		if (pathVersion != map.getVersion()) {
+			for (int step = 0; step < pathLength; step++)
+				if (!map.isWalkable(path[step]))
+					return false;
+			pathVersion = map.getVersion();
+		}
+		
+		int next = path[pathLength - 1];
+		return game.getActors()[map.column(next)][map.row(next)] == null;
+	}
+	
+	/**
+	 * Replaces the cached path with a new search.
+	 * @param map - The navigation map
+	 * @param start - The index of the start grid space
+	 * @param target - The index of the target grid space
+	 */
+	private void plan(NavigationMap map, int start, int target) {
+		pathLength = 0;
+		extensions = 0;
+		pathVersion = map.getVersion();
+		if (search(map, start, target) != NO_PATH)
+			maximumExtensions = Math.max(minimumExtensions, pathLength / extensionDivisor);
+	}
+	
+	/**
+	 * Runs A* from one grid space to another.
+	 * Moves cost 1 in all eight directions, so the H value is the Chebyshev distance to the target.
+	 * Grid spaces next to the start that are occupied by actors can't be moved into.
+	 * @param map - The navigation map to search
+	 * @param start - The index of the start grid space
+	 * @param target - The index of the target grid space
+	 * @return The index of the first grid space on the path, or NO_PATH if the target can't be reached.
+	 * 	The path found is stored as the cached path.
+	 */
+	private int search(NavigationMap map, int start, int target) {
+		Actor[][] actors = game.getActors();
+		int targetColumn = map.column(target),
+			targetRow = map.row(target);
+		
+		AStarArena arena = AStarArena.get(map.getSize());
+		AStarHeap open = arena.getOpen();
+		
+		arena.reach(start, 0, AStarArena.NO_PARENT);
+		open.push(start, AStarArena.key(0, heuristic(map, start, targetColumn, targetRow)));
+		
+		while (!open.isEmpty()) {
+			int current = open.pop();
+			if (current == target)
+				return storePath(arena, start, target);
+			arena.close(current);
+			
+			int neighbours = map.getNeighbours(current),
+				cost = arena.getCost(current) + 1;
+			for (int direction = 0; direction < NavigationMap.DIRECTIONS; direction++) {
+				if ((neighbours & (1 << direction)) == 0)
+					continue;
+				
+				int neighbour = map.step(current, direction);
+				if (arena.isClosed(neighbour) ||
+					(current == start && actors[map.column(neighbour)][map.row(neighbour)] != null))
+					continue;
+				if (!arena.isReached(neighbour) || cost < arena.getCost(neighbour)) {
+					arena.reach(neighbour, cost, current);
+					open.push(neighbour, AStarArena.key(cost, heuristic(map, neighbour, targetColumn, targetRow)));
+				}
+			}
+		}
+		return NO_PATH;
+	}
+	
+	/**
+	 * Walks back along a finished search, storing the path as the cached path.
+	 * @param arena - The arena holding the search
+	 * @param start - The index of the start grid space
+	 * @param target - The index of the target grid space
+	 * @return The index of the first grid space after the start
+	 */
+	private int storePath(AStarArena arena, int start, int target) {
+		pathLength = 0;
+		for (int step = target; step != start; step = arena.getParent(step)) {
+			ensurePathCapacity(pathLength + 1);
+			path[pathLength++] = step;
+		}
+		return path[pathLength - 1];
+	}
+	
+	/**
+	 * Grows the cached path array if needed, keeping its contents.
+	 * @param length - The number of steps it needs to hold
+	 */
+	private void ensurePathCapacity(int length) {
+		if (path.length < length) {
+			int[] grown = new int[Math.max(length, 2 * path.length)];
+			System.arraycopy(path, 0, grown, 0, pathLength);
+			path = grown;
+		}
+	}
+	
+	/**
+	 * Computes the H value: the number of moves needed to reach the target with nothing in the way.
+	 * @param map - The navigation map
+	 * @param index - The index of the grid space
+	 * @param targetColumn - The x-coordinate of the target
+	 * @param targetRow - The y-coordinate of the target
+	 * @return The Chebyshev distance between the two grid spaces
+	 */
+	private static int heuristic(NavigationMap map, int index, int targetColumn, int targetRow) {
+		return Math.max(Math.abs(targetColumn - map.column(index)), Math.abs(targetRow - map.row(index)));
+	}
 }
@@ -0,0 +1,97 @@
+package entity.actor.pathfinder.flowfield;
+
+import java.util.Arrays;
+
+import entity.actor.pathfinder.NavigationMap;
+
+/**
+ * A map of the number of steps from every grid space to one target grid space (a Dijkstra map).
+ * The distances are computed once, when the field is made, and never change after that,
+ * 	so any number of actors can read a field at once without locking.
+ * @see FlowFieldCache for sharing fields between actors
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class FlowField {
+	
+	/** The distance stored for grid spaces that can't reach the target **/
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+	
+	/** The map the field flows over **/
+	private final NavigationMap map;
+	
+	/** The index of the grid space the distances lead to **/
+	private final int target;
+	
+	/** The navigation map version the distances were computed against **/
+	private final int version;
+	
+	/** The number of steps from each grid space to the target **/
+	private final int[] distances;
+	
+	/**
+	 * Creates a flow field and computes its distances.
+	 * @param map - The map to flow over
+	 * @param column - The x-coordinate of the target
+	 * @param row - The y-coordinate of the target
+	 */
+	public FlowField(NavigationMap map, int column, int row) {
+		this.map = map;
+		this.target = map.index(column, row);
+		this.version = map.getVersion();
+		this.distances = new int[map.getSize()];
+		flood();
+	}
+	
+	/** @return The map this field flows over **/
+	public NavigationMap getMap() { return map; }
+	
+	/**
+	 * @param index - The index of a grid space
+	 * @return True if the distances lead to the grid space
+	 */
+	public boolean leadsTo(int index) {
+		return target == index;
+	}
+	
+	/** @return True if the navigation map hasn't changed since the distances were computed **/
+	public boolean isCurrent() {
+		return version == map.getVersion();
+	}
+	
+	/**
+	 * @param index - The index of a grid space
+	 * @return The number of steps from the grid space to the target, or UNREACHABLE
+	 */
+	public int distanceAt(int index) {
+		return distances[index];
+	}
+	
+	/**
+	 * Computes every distance with a breadth-first search out from the target.
+	 * Every step costs 1, so this gives the same distances as Dijkstra's algorithm.
+	 */
+	private void flood() {
+		Arrays.fill(distances, UNREACHABLE);
+		if (target == NavigationMap.NO_SPACE || !map.isWalkable(target))
+			return;
+		
+		int[] queue = new int[map.getSize()];
+		int head = 0, tail = 0;
+		distances[target] = 0;
+		queue[tail++] = target;
+		while (head < tail) {
+			int current = queue[head++];
+			int neighbours = map.getNeighbours(current),
+				distance = distances[current] + 1;
+			for (int direction = 0; direction < NavigationMap.DIRECTIONS; direction++)
+				if ((neighbours & (1 << direction)) != 0) {
+					int neighbour = map.step(current, direction);
+					if (distances[neighbour] == UNREACHABLE) {
+						distances[neighbour] = distance;
+						queue[tail++] = neighbour;
+					}
+				}
+		}
+	}
+}
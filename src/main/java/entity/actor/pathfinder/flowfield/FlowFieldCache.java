@@ -0,0 +1,67 @@
+package entity.actor.pathfinder.flowfield;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import entity.actor.pathfinder.NavigationMap;
+
+/**
+ * The flow fields shared by every actor using a flow field pathfinder, one for each target.
+ * A field is only computed the first time an actor heads for its target, or after the navigation map changes,
+ * 	and actors heading for different targets get different fields rather than recomputing one between them.
+ * Only the most recently used fields are kept, since each one holds a distance for every grid space.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class FlowFieldCache {
+	
+	/** The default number of fields to keep **/
+	public static final int DEFAULT_CAPACITY = 8;
+	
+	/** The map the fields flow over **/
+	private final NavigationMap map;
+	
+	/** The fields, by the index of their target, least recently used first **/
+	private final Map<Integer, FlowField> fields;
+	
+	/**
+	 * Creates an empty cache.
+	 * @param map - The map the fields flow over
+	 * @param capacity - The most fields to keep
+	 */
+	public FlowFieldCache(NavigationMap map, final int capacity) {
+		if (capacity <= 0)
+			throw new RuntimeException("Flow field cache capacity must be positive, not " + capacity);
+		this.map = map;
+		this.fields = new LinkedHashMap<Integer, FlowField>(16, 0.75f, true) {
+			
+			/** Default Serial Version ID **/
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, FlowField> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+	
+	/** @return The map the fields flow over **/
+	public NavigationMap getMap() { return map; }
+	
+	/**
+	 * Finds the field leading to a target, computing it if there isn't a current one.
+	 * Safe to call from any number of planners at once: a field is finished before it is handed out and never changes after.
+	 * @param column - The x-coordinate of the target
+	 * @param row - The y-coordinate of the target
+	 * @return The field
+	 */
+	public synchronized FlowField get(int column, int row) {
+		Integer target = map.index(column, row);
+		FlowField field = fields.get(target);
+		if (field == null || !field.isCurrent()) {
+			field = new FlowField(map, column, row);
+			fields.put(target, field);
+		}
+		return field;
+	}
+}
@@ -0,0 +1,88 @@
+package entity.actor.pathfinder.flowfield;
+
+import java.awt.Point;
+
+import control.Game;
+import entity.actor.Actor;
+import entity.actor.pathfinder.IPathfinder;
+import entity.actor.pathfinder.NavigationMap;
+
+/**
+ * Follows the game's shared flow field for its target: each step moves to the neighbouring grid space closest to the target.
+ * Finding the next step costs the same no matter how many actors share the field.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class FlowFieldPathfinder implements IPathfinder {
+	
+	/** The game to interact with **/
+	private final Game game;
+	
+	private Point currentLocation;
+	private Point targetLocation;
+	
+	/** The field last used, kept while it still leads to the target and the map hasn't changed **/
+	private FlowField field;
+	
+	/**
+	 * Creates a new flow field pathfinder.
+	 * @param game - The game to interact with
+	 * @param currentLocation - The start location
+	 */
+	public FlowFieldPathfinder(Game game, Point currentLocation) {
+		this.game = game;
+		this.currentLocation = new Point(currentLocation);
+		this.targetLocation = new Point(currentLocation);
+	}
+	
+	/**
+	 * Steps to the free neighbouring grid space with the lowest distance, if it is closer to the target than this one.
+	 * @return The next grid space in the actor's path.
+	 */
+	public Point getNextLocation() {
+		if (!currentLocation.equals(targetLocation)) {
+			NavigationMap map = game.getFlowFields().getMap();
+			if (field == null || !field.leadsTo(map.index(targetLocation.x, targetLocation.y)) || !field.isCurrent())
+				field = game.getFlowFields().get(targetLocation.x, targetLocation.y);
+			
+			Actor[][] actors = game.getActors();
+			int current = map.index(currentLocation.x, currentLocation.y);
+			if (current != NavigationMap.NO_SPACE) {
+				int best = current,
+					bestDistance = field.distanceAt(current),
+					neighbours = map.getNeighbours(current);
+				for (int direction = 0; direction < NavigationMap.DIRECTIONS; direction++)
+					if ((neighbours & (1 << direction)) != 0) {
+						int neighbour = map.step(current, direction);
+						if (field.distanceAt(neighbour) < bestDistance &&
+							actors[map.column(neighbour)][map.row(neighbour)] == null) {
+							best = neighbour;
+							bestDistance = field.distanceAt(neighbour);
+						}
+					}
+				currentLocation.x = map.column(best);
+				currentLocation.y = map.row(best);
+			}
+		}
+		return new Point(currentLocation);
+	}
+	
+	/**
+	 * Sets the path's target.
+	 * The field for the new target is only looked up when the next step is asked for, and only computed if no other actor has already done it.
+	 * @param targetLocation - The new destination
+	 **/
+	public void setTargetLocation(Point targetLocation) {
+		this.targetLocation.x = targetLocation.x;
+		this.targetLocation.y = targetLocation.y;
+	}
+	
+	/**
+	 * Moves the pathfinder back to where the actor really is.
+	 * @param currentLocation - The actor's grid space
+	 */
+	public void setCurrentLocation(Point currentLocation) {
+		this.currentLocation.x = currentLocation.x;
+		this.currentLocation.y = currentLocation.y;
+	}
+}
@@ -0,0 +1,549 @@
+package entity.actor.pathfinder.hierarchical;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import entity.actor.pathfinder.INavigationListener;
+import entity.actor.pathfinder.NavigationMap;
+import entity.actor.pathfinder.astar.AStarArena;
+import entity.actor.pathfinder.astar.AStarHeap;
+
+/**
+ * The abstract graph for hierarchical pathfinding (HPA*).
+ * The room is cut into square clusters. Wherever actors can cross from one cluster into another, a pair of nodes is made,
+ * 	and the nodes inside each cluster are linked by the number of steps between them without leaving the cluster.
+ * Searching this graph finds which clusters to pass through without opening every grid space on the way.
+ * When a grid space changes, only the crossings and links around its cluster are rebuilt, the next time the graph is refreshed.
+ * Searches only read the graph, so any number can run at once. The first search builds the whole graph, and every other
+ * 	search waits for it to finish. After that the graph is only rebuilt by refresh, which mustn't run while anything is searching:
+ * 	the actor controller refreshes it before each plan phase, while nothing else is using it.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class ClusterGraph implements INavigationListener {
+	
+	/** The default width and height of a cluster, in grid spaces **/
+	public static final int DEFAULT_CLUSTER_SIZE = 10;
+	
+	/** The distance stored for grid spaces that can't be reached **/
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+	
+	/** Open runs along a border up to this long get one crossing in the middle. Longer runs get one at each end. **/
+	private static final int maximumSingleCrossingLength = 5;
+	
+	/** The map the graph is built over **/
+	private final NavigationMap map;
+	
+	/** The width and height of a cluster, and the number of clusters across and down the map **/
+	private final int clusterSize, clusterColumns, clusterRows;
+	
+	/** The nodes in each cluster **/
+	private final List<List<ClusterNode>> clusterNodes = new ArrayList<List<ClusterNode>>();
+	
+	/** The clusters whose links need rebuilding **/
+	private final boolean[] clusterIsDirty;
+	
+	/** The nodes made for each border between side-by-side clusters, and whether they need rebuilding **/
+	private final List<List<ClusterNode>> verticalBorders = new ArrayList<List<ClusterNode>>();
+	private final boolean[] verticalBorderIsDirty;
+	
+	/** The nodes made for each border between stacked clusters, and whether they need rebuilding **/
+	private final List<List<ClusterNode>> horizontalBorders = new ArrayList<List<ClusterNode>>();
+	private final boolean[] horizontalBorderIsDirty;
+	
+	/** Every node, by id. Removed nodes leave a null until their id is reused. **/
+	private final List<ClusterNode> nodes = new ArrayList<ClusterNode>();
+	
+	/** Ids of removed nodes, free to reuse **/
+	private final LinkedList<Integer> freeIds = new LinkedList<Integer>();
+	
+	/** Scratch space for linking clusters **/
+	private final int[] linkDistances, linkQueue;
+	
+	/** If anything needs rebuilding. Only written while no searches are running. **/
+	private volatile boolean isDirty = true;
+	
+	/** Incremented every time the graph is rebuilt, so pathfinders can tell if their paths are stale **/
+	private volatile int version = 0;
+	
+	/**
+	 * Creates a new cluster graph and registers it for changes to the map.
+	 * Nothing is built until the graph is first searched or refreshed.
+	 * @param map - The map to build the graph over
+	 * @param clusterSize - The width and height of a cluster, in grid spaces
+	 */
+	public ClusterGraph(NavigationMap map, int clusterSize) {
+		this.map = map;
+		this.clusterSize = clusterSize;
+		this.clusterColumns = (map.getColumns() + clusterSize - 1) / clusterSize;
+		this.clusterRows = (map.getRows() + clusterSize - 1) / clusterSize;
+		
+		for (int cluster = 0; cluster < clusterColumns * clusterRows; cluster++)
+			clusterNodes.add(new ArrayList<ClusterNode>());
+		clusterIsDirty = new boolean[clusterColumns * clusterRows];
+		Arrays.fill(clusterIsDirty, true);
+		
+		int numberOfVerticalBorders = Math.max(0, clusterColumns - 1) * clusterRows;
+		for (int border = 0; border < numberOfVerticalBorders; border++)
+			verticalBorders.add(new ArrayList<ClusterNode>());
+		verticalBorderIsDirty = new boolean[numberOfVerticalBorders];
+		Arrays.fill(verticalBorderIsDirty, true);
+		
+		int numberOfHorizontalBorders = clusterColumns * Math.max(0, clusterRows - 1);
+		for (int border = 0; border < numberOfHorizontalBorders; border++)
+			horizontalBorders.add(new ArrayList<ClusterNode>());
+		horizontalBorderIsDirty = new boolean[numberOfHorizontalBorders];
+		Arrays.fill(horizontalBorderIsDirty, true);
+		
+		linkDistances = new int[getClusterArea()];
+		linkQueue = new int[getClusterArea()];
+		
+		map.addListener(this);
+	}
+	
+	/** @return The map the graph is built over **/
+	public NavigationMap getMap() { return map; }
+	
+	/** @return The number of times the graph has been rebuilt **/
+	public int getVersion() { return version; }
+	
+	/** @return True once the graph has been built, after which refresh has to be called to pick up changes to the map **/
+	public boolean isBuilt() { return version > 0; }
+	
+	/** @return The size of the scratch arrays needed to flood a cluster **/
+	public int getClusterArea() { return clusterSize * clusterSize; }
+	
+	/**
+	 * @param space - The index of a grid space
+	 * @return The index of the cluster the grid space is in
+	 */
+	public int clusterOf(int space) {
+		return map.column(space) / clusterSize + map.row(space) / clusterSize * clusterColumns;
+	}
+	
+	/**
+	 * @param cluster - The index of a cluster
+	 * @return The x-coordinate of the cluster's left column
+	 */
+	public int clusterLeft(int cluster) {
+		return cluster % clusterColumns * clusterSize;
+	}
+	
+	/**
+	 * @param cluster - The index of a cluster
+	 * @return The y-coordinate of the cluster's top row
+	 */
+	public int clusterTop(int cluster) {
+		return cluster / clusterColumns * clusterSize;
+	}
+	
+	/**
+	 * @param cluster - The index of a cluster
+	 * @return The width of the cluster. Clusters on the right edge may be narrower than the cluster size.
+	 */
+	public int clusterWidth(int cluster) {
+		return Math.min(clusterSize, map.getColumns() - clusterLeft(cluster));
+	}
+	
+	/**
+	 * @param cluster - The index of a cluster
+	 * @return The height of the cluster. Clusters on the bottom edge may be shorter than the cluster size.
+	 */
+	public int clusterHeight(int cluster) {
+		return Math.min(clusterSize, map.getRows() - clusterTop(cluster));
+	}
+	
+	/**
+	 * Marks the crossings and links that depend on a grid space for rebuilding.
+	 * Border crossings look at the two columns (or rows) either side of the border,
+	 * 	and side-by-side borders also look one row into the next cluster down for diagonal crossings at the corners.
+	 * @param column - The x-coordinate of the grid space
+	 * @param row - The y-coordinate of the grid space
+	 */
+	public synchronized void spaceChanged(int column, int row) {
+		int clusterColumn = column / clusterSize,
+			clusterRow = row / clusterSize,
+			columnInCluster = column % clusterSize,
+			rowInCluster = row % clusterSize;
+		
+		clusterIsDirty[clusterColumn + clusterRow * clusterColumns] = true;
+		
+		if (columnInCluster == clusterSize - 1 || columnInCluster == 0) {
+			int borderColumn = columnInCluster == 0 ? clusterColumn - 1 : clusterColumn;
+			markVerticalBorder(borderColumn, clusterRow);
+			if (rowInCluster == 0)
+				markVerticalBorder(borderColumn, clusterRow - 1);
+		}
+		if (rowInCluster == clusterSize - 1)
+			markHorizontalBorder(clusterColumn, clusterRow);
+		if (rowInCluster == 0)
+			markHorizontalBorder(clusterColumn, clusterRow - 1);
+		
+		isDirty = true;
+	}
+	
+	/**
+	 * Rebuilds anything that has changed since the graph was last refreshed.
+	 * Must not be called while anything is searching the graph (i.e. during the plan phase).
+	 */
+	public synchronized void refresh() {
+		if (!isDirty)
+			return;
+		
+		for (int border = 0; border < verticalBorderIsDirty.length; border++)
+			if (verticalBorderIsDirty[border]) {
+				buildVerticalBorder(border % (clusterColumns - 1), border / (clusterColumns - 1));
+				verticalBorderIsDirty[border] = false;
+			}
+		
+		for (int border = 0; border < horizontalBorderIsDirty.length; border++)
+			if (horizontalBorderIsDirty[border]) {
+				buildHorizontalBorder(border % clusterColumns, border / clusterColumns);
+				horizontalBorderIsDirty[border] = false;
+			}
+		
+		for (int cluster = 0; cluster < clusterIsDirty.length; cluster++)
+			if (clusterIsDirty[cluster]) {
+				linkCluster(cluster);
+				clusterIsDirty[cluster] = false;
+			}
+		
+		isDirty = false;
+		version++;
+	}
+	
+	/**
+	 * Finds the crossings to pass through to get from one grid space to another.
+	 * If both are in the same cluster and connected inside it, the path is just the target.
+	 * @param start - The index of the start grid space
+	 * @param target - The index of the target grid space
+	 * @param startDistances - Scratch space, at least getClusterArea() long
+	 * @param targetDistances - Scratch space, at least getClusterArea() long
+	 * @param queue - Scratch space, at least getClusterArea() long
+	 * @return The grid spaces to pass through, backwards (the target is at index 0), or null if there is no path
+	 * @throws RuntimeException if the map has changed since the graph was built and it hasn't been refreshed
+	 */
+	public int[] findPath(int start, int target, int[] startDistances, int[] targetDistances, int[] queue) {
+		if (!isBuilt())
+			refresh();
+		else if (isDirty)
+			throw new RuntimeException("The cluster graph must be refreshed before it is searched");
+		
+		int startCluster = flood(start, startDistances, queue),
+			targetCluster = flood(target, targetDistances, queue);
+		if (startCluster == targetCluster && startDistances[localIndex(target)] != UNREACHABLE)
+			return new int[] { target };
+		
+		int startId = nodes.size(),
+			goalId = startId + 1;
+		AStarArena arena = AStarArena.get(goalId + 1);
+		AStarHeap open = arena.getOpen();
+		
+		arena.reach(startId, 0, AStarArena.NO_PARENT);
+		open.push(startId, AStarArena.key(0, distance(start, target)));
+		
+		while (!open.isEmpty()) {
+			int current = open.pop();
+			if (current == goalId)
+				return storePath(arena, startId, goalId, target);
+			arena.close(current);
+			
+			int cost = arena.getCost(current);
+			if (current == startId) {
+				for (ClusterNode node : clusterNodes.get(startCluster)) {
+					int distance = startDistances[localIndex(node.space)];
+					if (distance != UNREACHABLE)
+						relax(arena, current, node.id, cost + distance, distance(node.space, target));
+				}
+				continue;
+			}
+			
+			ClusterNode node = nodes.get(current);
+			relax(arena, current, node.partner.id, cost + 1, distance(node.partner.space, target));
+			for (int link = 0; link < node.links.length; link++)
+				relax(arena, current, node.links[link].id, cost + node.linkCosts[link], distance(node.links[link].space, target));
+			if (node.cluster == targetCluster) {
+				int distance = targetDistances[localIndex(node.space)];
+				if (distance != UNREACHABLE)
+					relax(arena, current, goalId, cost + distance, 0);
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Computes the number of steps from a grid space to every grid space in its cluster, without leaving the cluster.
+	 * @param space - The index of the grid space
+	 * @param distances - Filled with the distances, indexed by localIndex
+	 * @param queue - Scratch space for the search
+	 * @return The index of the cluster
+	 */
+	public int flood(int space, int[] distances, int[] queue) {
+		int cluster = clusterOf(space),
+			left = clusterLeft(cluster),
+			top = clusterTop(cluster),
+			right = left + clusterWidth(cluster),
+			bottom = top + clusterHeight(cluster);
+		
+		Arrays.fill(distances, 0, getClusterArea(), UNREACHABLE);
+		if (!map.isWalkable(space))
+			return cluster;
+		
+		int head = 0, tail = 0;
+		distances[localIndex(space)] = 0;
+		queue[tail++] = space;
+		while (head < tail) {
+			int current = queue[head++],
+				neighbours = map.getNeighbours(current),
+				distance = distances[localIndex(current)] + 1;
+			for (int direction = 0; direction < NavigationMap.DIRECTIONS; direction++)
+				if ((neighbours & (1 << direction)) != 0) {
+					int neighbour = map.step(current, direction),
+						column = map.column(neighbour),
+						row = map.row(neighbour);
+					if (column >= left && column < right && row >= top && row < bottom &&
+						distances[localIndex(neighbour)] == UNREACHABLE) {
+						distances[localIndex(neighbour)] = distance;
+						queue[tail++] = neighbour;
+					}
+				}
+		}
+		return cluster;
+	}
+	
+	/**
+	 * @param space - The index of a grid space
+	 * @return The index of the grid space within its cluster, for the arrays filled by flood
+	 */
+	public int localIndex(int space) {
+		return map.column(space) % clusterSize + map.row(space) % clusterSize * clusterSize;
+	}
+	
+	/**
+	 * Records a better way to reach a node in the abstract search.
+	 * @param arena - The arena holding the search
+	 * @param parent - The id of the node it was reached from
+	 * @param id - The id of the node
+	 * @param cost - The cost to reach it
+	 * @param heuristic - The H value
+	 */
+	private void relax(AStarArena arena, int parent, int id, int cost, int heuristic) {
+		if (arena.isClosed(id))
+			return;
+		if (!arena.isReached(id) || cost < arena.getCost(id)) {
+			arena.reach(id, cost, parent);
+			arena.getOpen().push(id, AStarArena.key(cost, heuristic));
+		}
+	}
+	
+	/**
+	 * Walks back along a finished abstract search, collecting the grid spaces of the nodes on the path.
+	 * @param arena - The arena holding the search
+	 * @param startId - The id used for the start
+	 * @param goalId - The id used for the target
+	 * @param target - The index of the target grid space
+	 * @return The grid spaces, target first
+	 */
+	private int[] storePath(AStarArena arena, int startId, int goalId, int target) {
+		List<Integer> spaces = new ArrayList<Integer>();
+		spaces.add(target);
+		for (int id = arena.getParent(goalId); id != startId; id = arena.getParent(id)) {
+			int space = nodes.get(id).space;
+			if (space != spaces.get(spaces.size() - 1))
+				spaces.add(space);
+		}
+		
+		int[] path = new int[spaces.size()];
+		for (int i = 0; i < path.length; i++)
+			path[i] = spaces.get(i);
+		return path;
+	}
+	
+	/**
+	 * Makes the crossings over the border between a cluster and the one to its right.
+	 * @param borderColumn - The x-coordinate of the left cluster, in clusters
+	 * @param borderRow - The y-coordinate of both clusters, in clusters
+	 */
+	private void buildVerticalBorder(int borderColumn, int borderRow) {
+		List<ClusterNode> border = verticalBorders.get(borderColumn + borderRow * (clusterColumns - 1));
+		removeNodes(border);
+		
+		int column = (borderColumn + 1) * clusterSize - 1,
+			top = borderRow * clusterSize,
+			bottom = Math.min(top + clusterSize, map.getRows()) - 1;
+		
+		int runStart = -1;
+		for (int row = top; row <= bottom + 1; row++) {
+			boolean isOpen = row <= bottom && map.isWalkable(column, row) && map.isWalkable(column + 1, row);
+			if (isOpen && runStart < 0)
+				runStart = row;
+			else if (!isOpen && runStart >= 0) {
+				if (row - runStart <= maximumSingleCrossingLength) {
+					int middle = (runStart + row - 1) / 2;
+					addCrossing(border, map.index(column, middle), map.index(column + 1, middle));
+				}
+				else {
+					addCrossing(border, map.index(column, runStart), map.index(column + 1, runStart));
+					addCrossing(border, map.index(column, row - 1), map.index(column + 1, row - 1));
+				}
+				runStart = -1;
+			}
+		}
+		
+		for (int row = top; row <= bottom && row + 1 < map.getRows(); row++)
+			addDiagonalCrossings(border, column, row);
+	}
+	
+	/**
+	 * Makes the crossings over the border between a cluster and the one below it.
+	 * Diagonal crossings at the right-hand corner are left to the side-by-side border.
+	 * @param borderColumn - The x-coordinate of both clusters, in clusters
+	 * @param borderRow - The y-coordinate of the top cluster, in clusters
+	 */
+	private void buildHorizontalBorder(int borderColumn, int borderRow) {
+		List<ClusterNode> border = horizontalBorders.get(borderColumn + borderRow * clusterColumns);
+		removeNodes(border);
+		
+		int row = (borderRow + 1) * clusterSize - 1,
+			left = borderColumn * clusterSize,
+			right = Math.min(left + clusterSize, map.getColumns()) - 1;
+		
+		int runStart = -1;
+		for (int column = left; column <= right + 1; column++) {
+			boolean isOpen = column <= right && map.isWalkable(column, row) && map.isWalkable(column, row + 1);
+			if (isOpen && runStart < 0)
+				runStart = column;
+			else if (!isOpen && runStart >= 0) {
+				if (column - runStart <= maximumSingleCrossingLength) {
+					int middle = (runStart + column - 1) / 2;
+					addCrossing(border, map.index(middle, row), map.index(middle, row + 1));
+				}
+				else {
+					addCrossing(border, map.index(runStart, row), map.index(runStart, row + 1));
+					addCrossing(border, map.index(column - 1, row), map.index(column - 1, row + 1));
+				}
+				runStart = -1;
+			}
+		}
+		
+		for (int column = left; column < right; column++)
+			addDiagonalCrossings(border, column, row);
+	}
+	
+	/**
+	 * Makes crossings for the diagonals of a two-by-two block of grid spaces split by a border,
+	 * 	where the diagonal is the only way across the block (if either other space is open, a straight crossing covers it).
+	 * @param border - The border's node list
+	 * @param column - The x-coordinate of the block's top left grid space
+	 * @param row - The y-coordinate of the block's top left grid space
+	 */
+	private void addDiagonalCrossings(List<ClusterNode> border, int column, int row) {
+		boolean topLeft = map.isWalkable(column, row),
+				topRight = map.isWalkable(column + 1, row),
+				bottomLeft = map.isWalkable(column, row + 1),
+				bottomRight = map.isWalkable(column + 1, row + 1);
+		if (topLeft && bottomRight && !topRight && !bottomLeft)
+			addCrossing(border, map.index(column, row), map.index(column + 1, row + 1));
+		if (topRight && bottomLeft && !topLeft && !bottomRight)
+			addCrossing(border, map.index(column, row + 1), map.index(column + 1, row));
+	}
+	
+	/**
+	 * Makes a pair of partnered nodes for a crossing between two neighbouring grid spaces in different clusters.
+	 * @param border - The border's node list
+	 * @param from - The index of one grid space
+	 * @param to - The index of the other grid space
+	 */
+	private void addCrossing(List<ClusterNode> border, int from, int to) {
+		ClusterNode fromNode = addNode(from),
+					toNode = addNode(to);
+		fromNode.partner = toNode;
+		toNode.partner = fromNode;
+		border.add(fromNode);
+		border.add(toNode);
+	}
+	
+	/**
+	 * Makes a node, reusing a free id if there is one, and marks its cluster for relinking.
+	 * @param space - The index of the grid space
+	 * @return The node
+	 */
+	private ClusterNode addNode(int space) {
+		int id = freeIds.isEmpty() ? nodes.size() : freeIds.removeFirst();
+		ClusterNode node = new ClusterNode(id, space, clusterOf(space));
+		if (id == nodes.size())
+			nodes.add(node);
+		else
+			nodes.set(id, node);
+		
+		clusterNodes.get(node.cluster).add(node);
+		clusterIsDirty[node.cluster] = true;
+		return node;
+	}
+	
+	/**
+	 * Removes a border's nodes from the graph and marks their clusters for relinking.
+	 * @param border - The border's node list
+	 */
+	private void removeNodes(List<ClusterNode> border) {
+		for (ClusterNode node : border) {
+			clusterNodes.get(node.cluster).remove(node);
+			clusterIsDirty[node.cluster] = true;
+			nodes.set(node.id, null);
+			freeIds.add(node.id);
+		}
+		border.clear();
+	}
+	
+	/**
+	 * Links every node in a cluster to the other nodes it can reach without leaving the cluster.
+	 * @param cluster - The index of the cluster
+	 */
+	private void linkCluster(int cluster) {
+		List<ClusterNode> members = clusterNodes.get(cluster);
+		for (ClusterNode node : members) {
+			flood(node.space, linkDistances, linkQueue);
+			
+			List<ClusterNode> links = new ArrayList<ClusterNode>();
+			for (ClusterNode other : members)
+				if (other != node && linkDistances[localIndex(other.space)] != UNREACHABLE)
+					links.add(other);
+			
+			node.links = links.toArray(new ClusterNode[0]);
+			node.linkCosts = new int[node.links.length];
+			for (int link = 0; link < node.links.length; link++)
+				node.linkCosts[link] = linkDistances[localIndex(node.links[link].space)];
+		}
+	}
+	
+	/**
+	 * Marks a side-by-side border for rebuilding, if it exists.
+	 * @param borderColumn - The x-coordinate of the left cluster, in clusters
+	 * @param borderRow - The y-coordinate of both clusters, in clusters
+	 */
+	private void markVerticalBorder(int borderColumn, int borderRow) {
+		if (borderColumn >= 0 && borderColumn < clusterColumns - 1 && borderRow >= 0 && borderRow < clusterRows)
+			verticalBorderIsDirty[borderColumn + borderRow * (clusterColumns - 1)] = true;
+	}
+	
+	/**
+	 * Marks a stacked border for rebuilding, if it exists.
+	 * @param borderColumn - The x-coordinate of both clusters, in clusters
+	 * @param borderRow - The y-coordinate of the top cluster, in clusters
+	 */
+	private void markHorizontalBorder(int borderColumn, int borderRow) {
+		if (borderColumn >= 0 && borderColumn < clusterColumns && borderRow >= 0 && borderRow < clusterRows - 1)
+			horizontalBorderIsDirty[borderColumn + borderRow * clusterColumns] = true;
+	}
+	
+	/**
+	 * @param from - The index of one grid space
+	 * @param to - The index of the other grid space
+	 * @return The Chebyshev distance between them
+	 */
+	private int distance(int from, int to) {
+		return Math.max(Math.abs(map.column(to) - map.column(from)), Math.abs(map.row(to) - map.row(from)));
+	}
+}
@@ -0,0 +1,42 @@
+package entity.actor.pathfinder.hierarchical;
+
+/**
+ * A node in the abstract graph: one side of a crossing between two clusters.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class ClusterNode {
+	
+	/** Used for nodes with no links yet **/
+	private static final ClusterNode[] NO_LINKS = {};
+	
+	/** The node's index in the graph, used to look it up during searches **/
+	public final int id;
+	
+	/** The index of the grid space this node stands for **/
+	public final int space;
+	
+	/** The index of the cluster the grid space is in **/
+	public final int cluster;
+	
+	/** The node on the other side of the crossing, one step away **/
+	public ClusterNode partner;
+	
+	/** The other nodes in the same cluster that can be reached without leaving it **/
+	public ClusterNode[] links = NO_LINKS;
+	
+	/** The number of steps to each linked node **/
+	public int[] linkCosts = {};
+	
+	/**
+	 * Creates a new node.
+	 * @param id - The node's index in the graph
+	 * @param space - The index of the grid space
+	 * @param cluster - The index of the cluster
+	 */
+	public ClusterNode(int id, int space, int cluster) {
+		this.id = id;
+		this.space = space;
+		this.cluster = cluster;
+	}
+}
@@ -0,0 +1,290 @@
+package entity.actor.pathfinder.hierarchical;
+
+import java.awt.Point;
+
+import control.Game;
+import entity.actor.Actor;
+import entity.actor.pathfinder.IPathfinder;
+import entity.actor.pathfinder.NavigationMap;
+import entity.actor.pathfinder.astar.AStarArena;
+import entity.actor.pathfinder.astar.AStarHeap;
+
+/**
+ * Implements hierarchical pathfinding (HPA*) over the game's shared ClusterGraph.
+ * A long path is planned as a list of cluster crossings, which is cheap to search, and then refined one step at a time
+ * 	by a small A* search that never leaves the clusters of the actor and its next crossing.
+ * Paths are near-optimal rather than optimal, but long paths cost far less to plan than with AStarPathfinder.
+ * The graph is only read here, apart from the first search building it. The actor controller refreshes it before each plan phase.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class HierarchicalPathfinder implements IPathfinder {
+	
+	/** The fewest steps a path can be extended by to follow a moving target before it is replanned **/
+	private static final int minimumExtensions = 2;
+	
+	/** A path can be extended by this fraction of its planned length before it is replanned **/
+	private static final int extensionDivisor = 4;
+	
+	/** The game to interact with **/
+	private final Game game;
+	
+	private Point currentLocation;
+	private Point targetLocation;
+	
+	/** The cached crossings, stored backwards: the goal is at index 0 and the next crossing is at waypointCount - 1 **/
+	private int[] waypoints = new int[0];
+	
+	/** The number of crossings left on the cached path **/
+	private int waypointCount = 0;
+	
+	/** The cluster graph version the cached path was planned against **/
+	private int pathVersion;
+	
+	/** The number of steps added to the cached path since it was planned, and the number allowed **/
+	private int extensions, maximumExtensions;
+	
+	/** The refined steps to the next crossing, stored backwards: the crossing is at index 0 and the next step at segmentLength - 1 **/
+	private int[] segment = new int[0];
+	
+	/** The number of refined steps left **/
+	private int segmentLength = 0;
+	
+	/** The navigation map version the refined steps were found against **/
+	private int segmentVersion;
+	
+	/** Scratch space for flooding clusters, created once the cluster size is known **/
+	private int[] startDistances, targetDistances, queue;
+	
+	/**
+	 * Creates a new hierarchical pathfinder.
+	 * @param game - The game to interact with
+	 * @param currentLocation - The start location
+	 */
+	public HierarchicalPathfinder(Game game, Point currentLocation) {
+		this.game = game;
+		this.currentLocation = new Point(currentLocation);
+		this.targetLocation = new Point(currentLocation);
+	}
+	
+	/**
+	 * @return The next grid space in the actor's path.
+	 */
+	public Point getNextLocation() {
+		if (!currentLocation.equals(targetLocation)) {
+			ClusterGraph graph = game.getClusterGraph();
+			NavigationMap map = graph.getMap();
+			int start = map.index(currentLocation.x, currentLocation.y),
+				target = map.index(targetLocation.x, targetLocation.y);
+			if (start != NavigationMap.NO_SPACE && target != NavigationMap.NO_SPACE) {
+				if (!followTarget(map, target) || pathVersion != graph.getVersion())
+					plan(graph, start, target);
+				while (waypointCount > 0 && waypoints[waypointCount - 1] == start)
+					waypointCount--;
+				
+				if (waypointCount > 0) {
+					int waypoint = waypoints[waypointCount - 1],
+						next = followSegment(map, waypoint);
+					if (next == NavigationMap.NO_SPACE)
+						next = refine(graph, map, start, waypoint);
+					if (next == NavigationMap.NO_SPACE && waypointCount > 1) {
+						// An actor is standing on the crossing, so head for the one after it instead
+						waypoint = waypoints[--waypointCount - 1];
+						next = refine(graph, map, start, waypoint);
+					}
+					if (next == NavigationMap.NO_SPACE)
+						waypointCount = 0;
+					else {
+						currentLocation.x = map.column(next);
+						currentLocation.y = map.row(next);
+						if (next == waypoint)
+							waypointCount--;
+					}
+				}
+			}
+		}
+		else
+			waypointCount = 0;
+		return new Point(currentLocation);
+	}
+	
+	/**
+	 * Sets the path's target.
+	 * @param targetLocation - The new destination
+	 **/
+	public void setTargetLocation(Point targetLocation) {
+		this.targetLocation.x = targetLocation.x;
+		this.targetLocation.y = targetLocation.y;
+	}
+	
+	/**
+	 * Moves the pathfinder back to where the actor really is and drops the cached path.
+	 * @param currentLocation - The actor's grid space
+	 */
+	public void setCurrentLocation(Point currentLocation) {
+		this.currentLocation.x = currentLocation.x;
+		this.currentLocation.y = currentLocation.y;
+		waypointCount = 0;
+		segmentLength = 0;
+	}
+	
+	/**
+	 * Adjusts the cached path to end at the target without searching, if the target has moved one grid space past its end.
+	 * @param map - The navigation map
+	 * @param target - The index of the target grid space
+	 * @return True if the cached path now ends at the target, false if it needs replanning
+	 */
+	private boolean followTarget(NavigationMap map, int target) {
+		if (waypointCount == 0)
+			return false;
+		
+		int goal = waypoints[0];
+		if (goal == target)
+			return true;
+		
+		if (extensions < maximumExtensions &&
+			Math.abs(map.column(target) - map.column(goal)) <= 1 &&
+			Math.abs(map.row(target) - map.row(goal)) <= 1 &&
+			map.isWalkable(target)) {
+			if (waypoints.length < waypointCount + 1) {
+				int[] grown = new int[2 * waypointCount + 1];
+				System.arraycopy(waypoints, 0, grown, 0, waypointCount);
+				waypoints = grown;
+			}
+			System.arraycopy(waypoints, 0, waypoints, 1, waypointCount);
+			waypoints[0] = target;
+			waypointCount++;
+			extensions++;
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Replaces the cached path with a new search of the cluster graph.
+	 * @param graph - The cluster graph
+	 * @param start - The index of the start grid space
+	 * @param target - The index of the target grid space
+	 */
+	private void plan(ClusterGraph graph, int start, int target) {
+		if (queue == null || queue.length < graph.getClusterArea()) {
+			startDistances = new int[graph.getClusterArea()];
+			targetDistances = new int[graph.getClusterArea()];
+			queue = new int[graph.getClusterArea()];
+		}
+		
+		extensions = 0;
+		segmentLength = 0;
+		pathVersion = graph.getVersion();
+		int[] path = graph.findPath(start, target, startDistances, targetDistances, queue);
+		if (path == null) {
+			waypointCount = 0;
+			return;
+		}
+		
+		waypoints = path;
+		waypointCount = path.length;
+		NavigationMap map = graph.getMap();
+		maximumExtensions = Math.max(minimumExtensions,
+				Math.max(Math.abs(map.column(target) - map.column(start)), Math.abs(map.row(target) - map.row(start))) / extensionDivisor);
+	}
+	
+	/**
+	 * Takes the next refined step towards a crossing, if the steps were refined for that crossing and are still clear.
+	 * @param map - The navigation map
+	 * @param waypoint - The index of the crossing
+	 * @return The index of the next grid space, or NO_SPACE if the crossing needs refining again
+	 */
+	private int followSegment(NavigationMap map, int waypoint) {
+		if (segmentLength == 0 || segment[0] != waypoint || segmentVersion != map.getVersion())
+			return NavigationMap.NO_SPACE;
+		
+		int next = segment[segmentLength - 1];
+		if (game.getActors()[map.column(next)][map.row(next)] != null)
+			return NavigationMap.NO_SPACE;
+		segmentLength--;
+		return next;
+	}
+	
+	/**
+	 * Finds the steps towards the next crossing and takes the first one. The rest are kept for the following steps.
+	 * Runs A* inside the clusters of the start and the crossing. As with AStarPathfinder, actors only block the first step.
+	 * @param graph - The cluster graph
+	 * @param map - The navigation map
+	 * @param start - The index of the start grid space
+	 * @param waypoint - The index of the crossing
+	 * @return The index of the first grid space after the start, or NO_SPACE if the crossing can't be reached
+	 */
+	private int refine(ClusterGraph graph, NavigationMap map, int start, int waypoint) {
+		Actor[][] actors = game.getActors();
+		int waypointColumn = map.column(waypoint),
+			waypointRow = map.row(waypoint);
+		
+		segmentLength = 0;
+		if (Math.abs(waypointColumn - map.column(start)) <= 1 && Math.abs(waypointRow - map.row(start)) <= 1)
+			return map.isWalkable(waypoint) && actors[waypointColumn][waypointRow] == null ? waypoint : NavigationMap.NO_SPACE;
+		
+		int startCluster = graph.clusterOf(start),
+			waypointCluster = graph.clusterOf(waypoint),
+			left = Math.min(graph.clusterLeft(startCluster), graph.clusterLeft(waypointCluster)),
+			top = Math.min(graph.clusterTop(startCluster), graph.clusterTop(waypointCluster)),
+			right = Math.max(graph.clusterLeft(startCluster) + graph.clusterWidth(startCluster),
+							graph.clusterLeft(waypointCluster) + graph.clusterWidth(waypointCluster)),
+			bottom = Math.max(graph.clusterTop(startCluster) + graph.clusterHeight(startCluster),
+							graph.clusterTop(waypointCluster) + graph.clusterHeight(waypointCluster));
+		
+		AStarArena arena = AStarArena.get(map.getSize());
+		AStarHeap open = arena.getOpen();
+		
+		arena.reach(start, 0, AStarArena.NO_PARENT);
+		open.push(start, AStarArena.key(0, heuristic(map, start, waypointColumn, waypointRow)));
+		
+		while (!open.isEmpty()) {
+			int current = open.pop();
+			if (current == waypoint) {
+				for (int step = waypoint; step != start; step = arena.getParent(step)) {
+					if (segment.length == segmentLength) {
+						int[] grown = new int[2 * segmentLength + 1];
+						System.arraycopy(segment, 0, grown, 0, segmentLength);
+						segment = grown;
+					}
+					segment[segmentLength++] = step;
+				}
+				segmentVersion = map.getVersion();
+				return segment[--segmentLength];
+			}
+			arena.close(current);
+			
+			int neighbours = map.getNeighbours(current),
+				cost = arena.getCost(current) + 1;
+			for (int direction = 0; direction < NavigationMap.DIRECTIONS; direction++) {
+				if ((neighbours & (1 << direction)) == 0)
+					continue;
+				
+				int neighbour = map.step(current, direction),
+					column = map.column(neighbour),
+					row = map.row(neighbour);
+				if (column < left || column >= right || row < top || row >= bottom || arena.isClosed(neighbour) ||
+					(current == start && actors[column][row] != null))
+					continue;
+				if (!arena.isReached(neighbour) || cost < arena.getCost(neighbour)) {
+					arena.reach(neighbour, cost, current);
+					open.push(neighbour, AStarArena.key(cost, heuristic(map, neighbour, waypointColumn, waypointRow)));
+				}
+			}
+		}
+		return NavigationMap.NO_SPACE;
+	}
+	
+	/**
+	 * Computes the H value: the number of moves needed to reach the crossing with nothing in the way.
+	 * @param map - The navigation map
+	 * @param index - The index of the grid space
+	 * @param targetColumn - The x-coordinate of the crossing
+	 * @param targetRow - The y-coordinate of the crossing
+	 * @return The Chebyshev distance between the two grid spaces
+	 */
+	private static int heuristic(NavigationMap map, int index, int targetColumn, int targetRow) {
+		return Math.max(Math.abs(targetColumn - map.column(index)), Math.abs(targetRow - map.row(index)));
+	}
+}
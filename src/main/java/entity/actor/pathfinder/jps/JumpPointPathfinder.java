@@ -0,0 +1,364 @@
+package entity.actor.pathfinder.jps;
+
+import java.awt.Point;
+
+import control.Game;
+import entity.actor.Actor;
+import entity.actor.pathfinder.IPathfinder;
+import entity.actor.pathfinder.NavigationMap;
+import entity.actor.pathfinder.astar.AStarArena;
+import entity.actor.pathfinder.astar.AStarHeap;
+
+/**
+ * Implements Jump Point Search: A* that skips along straight and diagonal runs of open floor
+ * 	and only opens the grid spaces where a path could usefully turn.
+ * Moves are the same as AStarPathfinder's (eight directions, cost 1 each, diagonals allowed past walls),
+ * 	so the paths are just as short but far fewer grid spaces are opened in open rooms.
+ * The path is kept as a list of jump points between steps, and replanned when it is blocked or the target moves away from it.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class JumpPointPathfinder implements IPathfinder {
+	
+	/** The fewest steps a path can be extended by to follow a moving target before it is replanned **/
+	private static final int minimumExtensions = 2;
+	
+	/** A path can be extended by this fraction of its planned length before it is replanned **/
+	private static final int extensionDivisor = 4;
+	
+	/** The game to interact with **/
+	private final Game game;
+	
+	private Point currentLocation;
+	private Point targetLocation;
+	
+	/** The cached jump points, stored backwards: the goal is at index 0 and the next jump point is at waypointCount - 1 **/
+	private int[] waypoints = new int[0];
+	
+	/** The number of jump points left on the cached path **/
+	private int waypointCount = 0;
+	
+	/** The navigation map version the cached path was last checked against **/
+	private int pathVersion;
+	
+	/** The number of steps added to the cached path since it was planned, and the number allowed **/
+	private int extensions, maximumExtensions;
+	
+	/** The map being searched. Only set during a search. **/
+	private NavigationMap map;
+	
+	/** The start and target of the current search **/
+	private int startColumn, startRow, targetColumn, targetRow;
+	
+	/** The actors in the game. Only set during a search. **/
+	private Actor[][] actors;
+	
+	/**
+	 * Creates a new jump point pathfinder.
+	 * @param game - The game to interact with
+	 * @param currentLocation - The start location
+	 */
+	public JumpPointPathfinder(Game game, Point currentLocation) {
+		this.game = game;
+		this.currentLocation = new Point(currentLocation);
+		this.targetLocation = new Point(currentLocation);
+	}
+	
+	/**
+	 * @return The next grid space in the actor's path.
+	 */
+	public Point getNextLocation() {
+		if (!currentLocation.equals(targetLocation)) {
+			NavigationMap map = game.getMapLayout().getNavigationMap();
+			int start = map.index(currentLocation.x, currentLocation.y),
+				target = map.index(targetLocation.x, targetLocation.y);
+			if (start != NavigationMap.NO_SPACE && target != NavigationMap.NO_SPACE) {
+				if (!followTarget(map, target) || !pathIsClear(map))
+					plan(map, start, target);
+				if (waypointCount > 0) {
+					int waypoint = waypoints[waypointCount - 1];
+					currentLocation.x += Integer.signum(map.column(waypoint) - currentLocation.x);
+					currentLocation.y += Integer.signum(map.row(waypoint) - currentLocation.y);
+					if (map.index(currentLocation.x, currentLocation.y) == waypoint)
+						waypointCount--;
+				}
+			}
+		}
+		else
+			waypointCount = 0;
+		return new Point(currentLocation);
+	}
+	
+	/**
+	 * Sets the path's target.
+	 * @param targetLocation - The new destination
+	 **/
+	public void setTargetLocation(Point targetLocation) {
+		this.targetLocation.x = targetLocation.x;
+		this.targetLocation.y = targetLocation.y;
+	}
+	
+	/**
+	 * Moves the pathfinder back to where the actor really is and drops the cached path.
+	 * @param currentLocation - The actor's grid space
+	 */
+	public void setCurrentLocation(Point currentLocation) {
+		this.currentLocation.x = currentLocation.x;
+		this.currentLocation.y = currentLocation.y;
+		waypointCount = 0;
+	}
+	
+	/**
+	 * Adjusts the cached path to end at the target without searching, if the target has moved one grid space past its end.
+	 * @param map - The navigation map
+	 * @param target - The index of the target grid space
+	 * @return True if the cached path now ends at the target, false if it needs replanning
+	 */
+	private boolean followTarget(NavigationMap map, int target) {
+		if (waypointCount == 0)
+			return false;
+		
+		int goal = waypoints[0];
+		if (goal == target)
+			return true;
+		
+		if (extensions < maximumExtensions &&
+			Math.abs(map.column(target) - map.column(goal)) <= 1 &&
+			Math.abs(map.row(target) - map.row(goal)) <= 1 &&
+			map.isWalkable(target)) {
+			ensureWaypointCapacity(waypointCount + 1);
+			System.arraycopy(waypoints, 0, waypoints, 1, waypointCount);
+			waypoints[0] = target;
+			waypointCount++;
+			extensions++;
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Checks that the cached path can still be followed.
+	 * The grid spaces between jump points are only rechecked if the navigation map has changed since they were last checked.
+	 * Actors only block the next step.
+	 * @param map - The navigation map
+	 * @return True if the path is clear
+	 */
+	private boolean pathIsClear(NavigationMap map) {
+		if (pathVersion != map.getVersion()) {
+			int column = currentLocation.x,
+				row = currentLocation.y;
+			for (int waypoint = waypointCount - 1; waypoint >= 0; waypoint--) {
+				int waypointColumn = map.column(waypoints[waypoint]),
+					waypointRow = map.row(waypoints[waypoint]);
+				while (column != waypointColumn || row != waypointRow) {
+					column += Integer.signum(waypointColumn - column);
+					row += Integer.signum(waypointRow - row);
+					if (!map.isWalkable(column, row))
+						return false;
+				}
+			}
+			pathVersion = map.getVersion();
+		}
+		
+		int waypoint = waypoints[waypointCount - 1];
+		return game.getActors()
+				[currentLocation.x + Integer.signum(map.column(waypoint) - currentLocation.x)]
+				[currentLocation.y + Integer.signum(map.row(waypoint) - currentLocation.y)] == null;
+	}
+	
+	/**
+	 * Replaces the cached path with a new search.
+	 * @param map - The navigation map
+	 * @param start - The index of the start grid space
+	 * @param target - The index of the target grid space
+	 */
+	private void plan(NavigationMap map, int start, int target) {
+		waypointCount = 0;
+		extensions = 0;
+		pathVersion = map.getVersion();
+		search(map, start, target);
+	}
+	
+	/**
+	 * Runs Jump Point Search from one grid space to another, storing the jump points found as the cached path
+	 * 	and how far it may be extended.
+	 * Grid spaces next to the start that are occupied by actors are treated as walls for the whole search.
+	 * @param map - The navigation map to search
+	 * @param start - The index of the start grid space
+	 * @param target - The index of the target grid space
+	 * @return True if a path was found
+	 */
+	private boolean search(NavigationMap map, int start, int target) {
+		this.map = map;
+		this.actors = game.getActors();
+		this.startColumn = map.column(start);
+		this.startRow = map.row(start);
+		this.targetColumn = map.column(target);
+		this.targetRow = map.row(target);
+		
+		try {
+			AStarArena arena = AStarArena.get(map.getSize());
+			AStarHeap open = arena.getOpen();
+			
+			arena.reach(start, 0, AStarArena.NO_PARENT);
+			open.push(start, AStarArena.key(0, distance(start, target)));
+			
+			while (!open.isEmpty()) {
+				int current = open.pop();
+				if (current == target) {
+					storePath(arena, start, target);
+					maximumExtensions = Math.max(minimumExtensions, distance(start, target) / extensionDivisor);
+					return true;
+				}
+				arena.close(current);
+				
+				int column = map.column(current),
+					row = map.row(current),
+					parent = arena.getParent(current);
+				if (parent == AStarArena.NO_PARENT) {
+					for (int direction = 0; direction < NavigationMap.DIRECTIONS; direction++)
+						expand(arena, current, NavigationMap.COLUMN_OFFSETS[direction], NavigationMap.ROW_OFFSETS[direction]);
+					continue;
+				}
+				
+				int columnStep = Integer.signum(column - map.column(parent)),
+					rowStep = Integer.signum(row - map.row(parent));
+				if (columnStep != 0 && rowStep != 0) {
+					expand(arena, current, 0, rowStep);
+					expand(arena, current, columnStep, 0);
+					expand(arena, current, columnStep, rowStep);
+					if (!isOpen(column - columnStep, row))
+						expand(arena, current, -columnStep, rowStep);
+					if (!isOpen(column, row - rowStep))
+						expand(arena, current, columnStep, -rowStep);
+				}
+				else if (columnStep != 0) {
+					expand(arena, current, columnStep, 0);
+					if (!isOpen(column, row + 1))
+						expand(arena, current, columnStep, 1);
+					if (!isOpen(column, row - 1))
+						expand(arena, current, columnStep, -1);
+				}
+				else {
+					expand(arena, current, 0, rowStep);
+					if (!isOpen(column + 1, row))
+						expand(arena, current, 1, rowStep);
+					if (!isOpen(column - 1, row))
+						expand(arena, current, -1, rowStep);
+				}
+			}
+			return false;
+		} finally {
+			this.map = null;
+			this.actors = null;
+		}
+	}
+	
+	/**
+	 * Jumps from a grid space in one direction and opens the jump point found, if any.
+	 * @param arena - The arena holding the search
+	 * @param current - The index of the grid space to jump from
+	 * @param columnStep - The column direction (-1, 0 or 1)
+	 * @param rowStep - The row direction (-1, 0 or 1)
+	 */
+	private void expand(AStarArena arena, int current, int columnStep, int rowStep) {
+		int jumpPoint = jump(map.column(current) + columnStep, map.row(current) + rowStep, columnStep, rowStep);
+		if (jumpPoint == NavigationMap.NO_SPACE || arena.isClosed(jumpPoint))
+			return;
+		
+		int cost = arena.getCost(current) + distance(current, jumpPoint);
+		if (!arena.isReached(jumpPoint) || cost < arena.getCost(jumpPoint)) {
+			arena.reach(jumpPoint, cost, current);
+			arena.getOpen().push(jumpPoint, AStarArena.key(cost, distance(jumpPoint, map.index(targetColumn, targetRow))));
+		}
+	}
+	
+	/**
+	 * Moves in a straight line until reaching a grid space where the path could need to turn.
+	 * That is the target, a grid space with a forced neighbour (an open space only reachable optimally through this one),
+	 * 	or, moving diagonally, a grid space from which a straight jump finds a jump point.
+	 * @param column - The x-coordinate to start at
+	 * @param row - The y-coordinate to start at
+	 * @param columnStep - The column direction (-1, 0 or 1)
+	 * @param rowStep - The row direction (-1, 0 or 1)
+	 * @return The index of the jump point, or NO_SPACE if the line runs into a wall first
+	 */
+	private int jump(int column, int row, int columnStep, int rowStep) {
+		while (isOpen(column, row)) {
+			if (column == targetColumn && row == targetRow)
+				return map.index(column, row);
+			
+			if (columnStep != 0 && rowStep != 0) {
+				if ((isOpen(column - columnStep, row + rowStep) && !isOpen(column - columnStep, row)) ||
+					(isOpen(column + columnStep, row - rowStep) && !isOpen(column, row - rowStep)) ||
+					jump(column + columnStep, row, columnStep, 0) != NavigationMap.NO_SPACE ||
+					jump(column, row + rowStep, 0, rowStep) != NavigationMap.NO_SPACE)
+					return map.index(column, row);
+			}
+			else if (columnStep != 0) {
+				if ((isOpen(column + columnStep, row + 1) && !isOpen(column, row + 1)) ||
+					(isOpen(column + columnStep, row - 1) && !isOpen(column, row - 1)))
+					return map.index(column, row);
+			}
+			else {
+				if ((isOpen(column + 1, row + rowStep) && !isOpen(column + 1, row)) ||
+					(isOpen(column - 1, row + rowStep) && !isOpen(column - 1, row)))
+					return map.index(column, row);
+			}
+			
+			column += columnStep;
+			row += rowStep;
+		}
+		return NavigationMap.NO_SPACE;
+	}
+	
+	/**
+	 * Checks if the search can pass through a grid space.
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return True if the grid space is walkable and isn't an occupied space next to the start
+	 */
+	private boolean isOpen(int column, int row) {
+		return	map.isWalkable(column, row) &&
+				!(Math.abs(column - startColumn) <= 1 && Math.abs(row - startRow) <= 1 && actors[column][row] != null &&
+				 (column != startColumn || row != startRow));
+	}
+	
+	/**
+	 * Walks back along a finished search, storing the jump points as the cached path.
+	 * @param arena - The arena holding the search
+	 * @param start - The index of the start grid space
+	 * @param target - The index of the target grid space
+	 */
+	private void storePath(AStarArena arena, int start, int target) {
+		waypointCount = 0;
+		for (int waypoint = target; waypoint != start; waypoint = arena.getParent(waypoint)) {
+			ensureWaypointCapacity(waypointCount + 1);
+			waypoints[waypointCount++] = waypoint;
+		}
+	}
+	
+	/**
+	 * Grows the cached path array if needed, keeping its contents.
+	 * @param length - The number of jump points it needs to hold
+	 */
+	private void ensureWaypointCapacity(int length) {
+		if (waypoints.length < length) {
+			int[] grown = new int[Math.max(length, 2 * waypoints.length)];
+			System.arraycopy(waypoints, 0, grown, 0, waypointCount);
+			waypoints = grown;
+		}
+	}
+	
+	/**
+	 * Computes the number of moves between two grid spaces with nothing in the way.
+	 * Used both as the cost between jump points (which are always in a straight or diagonal line) and as the H value.
+	 * Only called during a search, while the map is set.
+	 * @param from - The index of one grid space
+	 * @param to - The index of the other grid space
+	 * @return The Chebyshev distance between them
+	 */
+	private int distance(int from, int to) {
+		return Math.max(Math.abs(map.column(to) - map.column(from)), Math.abs(map.row(to) - map.row(from)));
+	}
+}
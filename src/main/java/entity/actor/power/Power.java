@@ -10,6 +10,8 @@ import entity.actor.Actor;
 /**
  * Powers can be used by players and monsters to affect each other.
  * Attacking uses the currently selected power.
+ * A power can't be changed once it's created and holds nothing about the actor using it,
+ * 	so every actor with the same kind of power can share one Power object.
  * @author Milo Carbol
  * @since 10 April 2013
  */
@@ -37,22 +39,25 @@ public class Power {
 	public static final int DEFAULT_RANGE = 10;
 	
 	/** The name of this power **/
-	private String name;
+	private final String name;
+	
+	/** The ID of the sprite to render in the player's info bar **/
+	private final int sprite;
 	
 	/** The image to render in the player's info bar **/
-	private Image image;
+	private final Image image;
 	
 	/** The range of this power. Melee powers have range 1. **/
-	private int range;
+	private final int range;
 	
 	/** The radius of this power. Single-target powers have radius 0. **/
-	private int radius;
+	private final int radius;
 	
 	/** The damage dealt by this power **/
-	private int damage;
+	private final int damage;
 	
 	/** If this power is usable **/
-	boolean usable = true;
+	private final boolean usable;
 	
 	/**
 	 * Creates a power.
@@ -63,8 +68,21 @@ public class Power {
 	 * @param damage - The damage of the power
 	 */
 	public Power(String name, String imageSource, int range, int radius, int damage, boolean usable) {
+		this(name, ImageLoader.spriteId(imageSource), range, radius, damage, usable);
+	}
+	
+	/**
+	 * Creates a power.
+	 * @param name - The name of the power
+	 * @param sprite - The ID of the power's sprite
+	 * @param range - The range of the power (melee range is 1)
+	 * @param radius - The radius of the power (single-target radius is 0)
+	 * @param damage - The damage of the power
+	 */
+	public Power(String name, int sprite, int range, int radius, int damage, boolean usable) {
 		this.name = name;
-		this.image = ImageLoader.loadImage(imageSource);
+		this.sprite = sprite;
+		this.image = ImageLoader.loadImage(sprite);
 		this.range = range;
 		this.radius = radius;
 		this.damage = damage;
@@ -82,6 +100,9 @@ public class Power {
 	/** @return The name of this power **/
 	public String getName() { return name; }
 	
+	/** @return The ID of the sprite to render in the player's info bar **/
+	public int getSprite() { return sprite; }
+	
 	/** The image to render in the player's info bar **/
 	public Image getImage() { return image; }
 	
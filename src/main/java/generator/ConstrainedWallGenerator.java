@@ -1,7 +1,5 @@
 package generator;
 
-import gui.GameWindow;
-
 import java.awt.Point;
 import java.util.LinkedList;
 import java.util.List;
@@ -21,24 +19,42 @@ public class ConstrainedWallGenerator implements IFeatureGenerator {
 	
 	/** Constraints **/
 	private static final int	minimumRoomWidth = 6,
-								maximumRoomWidth = GameWindow.GRID_COLUMNS - 2,
 								minimumRoomHeight = 4,
-								maximumRoomHeight = GameWindow.GRID_ROWS / 2,
 								minimumSpacing = 2;
-		
+	
+	/** Constraints that scale with the size of the map **/
+	private final int	maximumRoomWidth,
+						maximumRoomHeight;
+	
+	/** The dimensions of the map, in grid spaces **/
+	private final int columns, rows;
+	
 	/** Percentage chance for a room or a connector to be generated **/
 	private double percentChanceToCreateRoom = 0.8;
 	
+	/**
+	 * Creates a new wall generator.
+	 * @param columns - The width of the map, in grid spaces
+	 * @param rows - The height of the map, in grid spaces
+	 */
+	public ConstrainedWallGenerator(int columns, int rows) {
+		this.columns = columns;
+		this.rows = rows;
+		this.maximumRoomWidth = columns - 2;
+		this.maximumRoomHeight = rows / 2;
+	}
+	
 	/**
 	 * Generates the walls using a specified type.
 	 * @param wallType - The type of wall to use
+	 * @param random - Decides the layout
 	 * @return The list of wall locations
 	 */
-	public List<Point> generateFeatures(String wallType) {
-		Layout layout = randomizePattern();
+	public List<Point> generateFeatures(String wallType, RandomNumber random) {
+		Layout layout = randomizePattern(random);
 		switch (layout) {
 		case BORDER_PASSAGE:
-			return generateBorderPassageLayout();
+			return generateBorderPassageLayout(random);
 		case NO_BORDER_PASSAGE:
 			return generateNoBorderPassageLayout();
 		}
@@ -48,18 +64,19 @@ public class ConstrainedWallGenerator implements IFeatureGenerator {
 	/**
 	 * Generates walls using the "Border Passage" layout.
 	 * The "Border Passage" layout has rooms in the centre and a clear path around the border.
+	 * @param random - Decides the rooms and their entrances
 	 * @return The list of wall locations
 	 */
-	private List<Point> generateBorderPassageLayout() {
+	private List<Point> generateBorderPassageLayout(RandomNumber random) {
 		int minimumBorderSize = 2;
-		List<Point> walls = generateRooms(minimumBorderSize);
+		List<Point> walls = generateRooms(minimumBorderSize, random);
 		
-		walls = new WallCleaner(walls).cleanWalls();
+		walls = new WallCleaner(walls, random.split()).cleanWalls();
 		
-		for (int row = 0; row < GameWindow.GRID_ROWS; row++)
-			for (int column = 0; column < GameWindow.GRID_COLUMNS; column++)
-				if (row == 0 || row == GameWindow.GRID_ROWS - 1 ||
-					column == 0 || column == GameWindow.GRID_COLUMNS - 1)
+		for (int row = 0; row < rows; row++)
+			for (int column = 0; column < columns; column++)
+				if (row == 0 || row == rows - 1 ||
+					column == 0 || column == columns - 1)
 					walls.add(new Point(column, row));
 		
 		return walls;
@@ -74,14 +91,14 @@ public class ConstrainedWallGenerator implements IFeatureGenerator {
 		return new LinkedList<Point>();
 	}
 	
-	private List<Point> generateRooms(int borderSize) {
+	private List<Point> generateRooms(int borderSize, RandomNumber random) {
 		List<Point> walls = new LinkedList<Point>();
 		
-		int roomWidth = RandomNumber.randomBetween(minimumRoomWidth, maximumRoomWidth - 2 * borderSize);
-		int roomHeight = RandomNumber.randomBetween(minimumRoomHeight, maximumRoomHeight - 2 * borderSize);
+		int roomWidth = random.randomBetween(minimumRoomWidth, maximumRoomWidth - 2 * borderSize);
+		int roomHeight = random.randomBetween(minimumRoomHeight, maximumRoomHeight - 2 * borderSize);
 		
-		int[] horizontalSpacings = generateSpacings(GameWindow.GRID_COLUMNS - 2 * borderSize, roomWidth);
-		int[] verticalSpacings = generateSpacings(GameWindow.GRID_ROWS - 2 * borderSize, roomHeight);
+		int[] horizontalSpacings = generateSpacings(columns - 2 * borderSize, roomWidth, random);
+		int[] verticalSpacings = generateSpacings(rows - 2 * borderSize, roomHeight, random);
 		
 		for (int horizontalRoom = 0; horizontalRoom < horizontalSpacings.length - 1; horizontalRoom++)
 			for (int verticalRoom = 0; verticalRoom < verticalSpacings.length - 1; verticalRoom++) {
@@ -97,7 +114,7 @@ public class ConstrainedWallGenerator implements IFeatureGenerator {
 				else
 					verticalConnectorHeight = 0;
 				
-				walls.addAll(generateRoom(leftColumn, topRow, roomWidth, roomHeight, horizontalConnectorWidth, verticalConnectorHeight));
+				walls.addAll(generateRoom(leftColumn, topRow, roomWidth, roomHeight, horizontalConnectorWidth, verticalConnectorHeight, random));
 			}
 		
 		return walls;
@@ -111,24 +128,25 @@ public class ConstrainedWallGenerator implements IFeatureGenerator {
 	 * @param height - The height of the room
 	 * @param horizontalConnectorWidth - The width of the right-connector
 	 * @param verticalConnectorHeight - The width of the below-connector
+	 * @param random - Decides whether the room and each connector are made
 	 * @return A list of wall locations
 	 */
-	private List<Point> generateRoom(int leftColumn, int topRow, int width, int height, int horizontalConnectorWidth, int verticalConnectorHeight) {
+	private List<Point> generateRoom(int leftColumn, int topRow, int width, int height, int horizontalConnectorWidth, int verticalConnectorHeight, RandomNumber random) {
 		List<Point> walls = new LinkedList<Point>();
-		if (Math.random() < percentChanceToCreateRoom) {
+		if (random.chance(percentChanceToCreateRoom)) {
 			for (int column = 0; column < width; column++)
 				for (int row = 0; row < height; row++)
 					if (column == 0 || column == width - 1 || row == 0 || row == height - 1)
 						walls.add(new Point(leftColumn + column, topRow + row));
 		}
 		
-		if (Math.random() < percentChanceToCreateRoom) {
+		if (random.chance(percentChanceToCreateRoom)) {
 			int row = topRow + height / 2;
 			for (int connectorColumn = 0; connectorColumn < horizontalConnectorWidth; connectorColumn++)
 				walls.add(new Point(leftColumn + width + connectorColumn, row));
 		}
 		
-		if (Math.random() < percentChanceToCreateRoom) {
+		if (random.chance(percentChanceToCreateRoom)) {
 			int column = leftColumn + width / 2;
 			for (int connectorRow = 0; connectorRow < verticalConnectorHeight; connectorRow++)
 				walls.add(new Point(column, topRow + height + connectorRow));
@@ -141,10 +159,11 @@ public class ConstrainedWallGenerator implements IFeatureGenerator {
 	 * Computes the spacing between each room for an axis.
 	 * @param totalSpace - The total space available to fill with rooms
 	 * @param roomSize - The size of the rooms on this axis
+	 * @param random - Decides the number of rooms
 	 * @return An array one index larger than the number of rooms, containing all the spacings before each room (and after in the case of the last room).
 	 */
-	private int[] generateSpacings(int totalSpace, int roomSize) {
-		int numberOfRooms = RandomNumber.randomBetween(1, computeMaximumNumberOfRooms(roomSize, totalSpace));
+	private int[] generateSpacings(int totalSpace, int roomSize, RandomNumber random) {
+		int numberOfRooms = random.randomBetween(1, computeMaximumNumberOfRooms(roomSize, totalSpace));
 		int numberOfSpacings = numberOfRooms + 1;
 		int[] spacings = new int[numberOfSpacings];
 		
@@ -192,10 +211,11 @@ public class ConstrainedWallGenerator implements IFeatureGenerator {
 	
 	/**
 	 * Selects a random pattern to follow.
+	 * @param random - Decides the pattern
 	 * @return The chosen pattern.
 	 */
-	private Layout randomizePattern() {
-		int i = RandomNumber.randomBetween(0, numberOfLayouts);
+	private Layout randomizePattern(RandomNumber random) {
+		int i = random.randomBetween(0, numberOfLayouts);
 		switch (i) {
 		case 0:
 			return Layout.BORDER_PASSAGE;
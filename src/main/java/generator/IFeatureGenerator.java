@@ -13,7 +13,8 @@ public interface IFeatureGenerator {
 	/**
 	 * Generates a random pattern of the feature.
 	 * @param featureType - The type of feature to use
+	 * @param random - The random numbers to generate the pattern from. The same numbers always give the same pattern.
 	 * @return The list of locations to place that feature
 	 */
-	public List<Point> generateFeatures(String featureType);
+	public List<Point> generateFeatures(String featureType, RandomNumber random);
 }
@@ -1,13 +1,9 @@
 package generator;
 
-import gui.GameWindow;
-
 import java.awt.Point;
 import java.util.LinkedList;
 import java.util.List;
 
-import control.Game;
-
 /**
  * Generates a pool of water.
  * @author Milo Carbol
@@ -23,37 +19,52 @@ public class PoolGenerator implements IFeatureGenerator {
 								minimumHeightInBlocks = 1,
 								maximumHeightInBlocks = 4;
 	
+	/** The dimensions of the room, in grid spaces **/
+	private final int columns, rows;
+	
+	/**
+	 * Creates a new pool generator.
+	 * @param columns - The width of the room, in grid spaces
+	 * @param rows - The height of the room, in grid spaces
+	 */
+	public PoolGenerator(int columns, int rows) {
+		this.columns = columns;
+		this.rows = rows;
+	}
+	
 	/**
 	 * Generates the pool shape.
 	 * @param featureType - unused but required by interface
+	 * @param random - Decides the pool's shape and location
 	 * @return The points in the pool shape
 	 */
-	public List<Point> generateFeatures(String featureType) {
+	public List<Point> generateFeatures(String featureType, RandomNumber random) {
 		List<Point> waterSpaces = new LinkedList<Point>();
-		waterSpaces.addAll(generatePool());
+		waterSpaces.addAll(generatePool(random));
 		
 		return waterSpaces;
 	}
 	
 	/**
 	 * Generates a pool shape.
+	 * @param random - Decides the pool's shape and location
 	 * @return The points in the pool shape
 	 */
-	private List<Point> generatePool() {
+	private List<Point> generatePool(RandomNumber random) {
 		List<Point> pool = new LinkedList<Point>();
 		
-		int column = RandomNumber.randomBetween(0, GameWindow.GRID_COLUMNS);
-		int row = RandomNumber.randomBetween(0, GameWindow.GRID_ROWS);
+		int column = random.randomBetween(0, columns);
+		int row = random.randomBetween(0, rows);
 		
-		int widthInBlocks = RandomNumber.randomBetween(minimumWidthInBlocks, maximumWidthInBlocks);
+		int widthInBlocks = random.randomBetween(minimumWidthInBlocks, maximumWidthInBlocks);
 		
 		for (int i = 0; i < widthInBlocks; i++) {
-			int segmentHeightInBlocks = RandomNumber.randomBetween(minimumHeightInBlocks, maximumHeightInBlocks);
+			int segmentHeightInBlocks = random.randomBetween(minimumHeightInBlocks, maximumHeightInBlocks);
 			for (int isub = 0; isub < blockWidth; isub++) {
 				for (int j = 0; j < segmentHeightInBlocks; j++) {
 					for (int jsub = 0; jsub < blockHeight; jsub++) {
 						Point point = new Point(column + i * blockWidth + isub, row + j * blockHeight + jsub - segmentHeightInBlocks * blockHeight / 2 + 1);
-						if (Game.spaceIsValid(point))
+						if (point.x >= 0 && point.x < columns && point.y >= 0 && point.y < rows)
 							pool.add(point);
 					}
 				}
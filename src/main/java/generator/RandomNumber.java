@@ -1,11 +1,52 @@
 package generator;
 
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
- * Contains random number methods.
+ * A stream of random numbers, made from a seed so the same seed always gives the same numbers.
+ * Each stream belongs to one generator at a time and isn't thread-safe. Rather than sharing one,
+ * 	split off a stream for each subsystem or thread: splits are independent of each other and made in a fixed order,
+ * 	so rooms can be generated in parallel without contention and any room can be generated again from its seed.
  * @author Milo Carbol
  * @since 15 April 2013
  */
 public class RandomNumber {
+	
+	/** The source of the numbers **/
+	private final SplittableRandom random;
+	
+	/**
+	 * Creates a new stream of random numbers.
+	 * @param seed - The seed. The same seed always gives the same numbers.
+	 */
+	public RandomNumber(long seed) {
+		this(new SplittableRandom(seed));
+	}
+	
+	/**
+	 * Wraps a source of numbers.
+	 * @param random - The source of the numbers
+	 */
+	private RandomNumber(SplittableRandom random) {
+		this.random = random;
+	}
+	
+	/**
+	 * @return A new seed for a room that wasn't given one. Each thread draws from its own generator, so this never contends.
+	 */
+	public static long newSeed() {
+		return ThreadLocalRandom.current().nextLong();
+	}
+	
+	/**
+	 * Splits off a new stream for a subsystem. The new stream depends only on this one's seed and how many numbers
+	 * 	and splits have been taken from it so far, so split in a fixed order to get the same streams every time.
+	 * @return The new stream
+	 */
+	public RandomNumber split() {
+		return new RandomNumber(random.split());
+	}
 
 	/**
 	 * Generates a random number between two parameters.
@@ -13,7 +54,15 @@ public class RandomNumber {
 	 * @param high - Upper bound (exclusive)
 	 * @return A random number between the upper and lower bounds
 	 */
-	public static int randomBetween(int low, int high) {
-		return (int)(Math.random() * (high - low) + low);
+	public int randomBetween(int low, int high) {
+		return (int)(random.nextDouble() * (high - low) + low);
+	}
+	
+	/**
+	 * @param chance - The chance of success, from 0 to 1
+	 * @return True with the given chance
+	 */
+	public boolean chance(double chance) {
+		return random.nextDouble() < chance;
 	}
 }
@@ -1,7 +1,5 @@
 package generator;
 
-import gui.GameWindow;
-
 import java.awt.Point;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -25,61 +23,80 @@ public class RandomWallGenerator implements IFeatureGenerator {
 								minimumNumberOfRooms = 2;
 
 	/** Constraints **/
-	private static final int	maximumWallWidth = GameWindow.GRID_COLUMNS / 2,
-								minimumWallWidth = 7,
-								maximumWallHeight = GameWindow.GRID_ROWS / 2,
+	private static final int	minimumWallWidth = 7,
 								minimumWallHeight = 7;
 	
+	/** Constraints that scale with the size of the map **/
+	private final int	maximumWallWidth,
+						maximumWallHeight;
+	
+	/** The dimensions of the map, in grid spaces **/
+	private final int columns, rows;
+	
+	/**
+	 * Creates a new wall generator.
+	 * @param columns - The width of the map, in grid spaces
+	 * @param rows - The height of the map, in grid spaces
+	 */
+	public RandomWallGenerator(int columns, int rows) {
+		this.columns = columns;
+		this.rows = rows;
+		this.maximumWallWidth = columns / 2;
+		this.maximumWallHeight = rows / 2;
+	}
+	
 	/**
 	 * Generates a random pattern of walled rooms and straight chunks.
 	 * @param wallType - The type of wall to use
+	 * @param random - Decides the pattern
 	 * @return The list of wall locations
 	 */
-	public List<Point> generateFeatures(String wallType) {
-		List<Point> walls = generateStraightWalls();
-		Map<Point, String> walledRooms = generateWalledRooms(wallType);
+	public List<Point> generateFeatures(String wallType, RandomNumber random) {
+		List<Point> walls = generateStraightWalls(random);
+		Map<Point, String> walledRooms = generateWalledRooms(wallType, random);
 		for (Point wall : walledRooms.keySet())
 			if (walledRooms.get(wall).equals(wallType) && !walls.contains(wall))
 				walls.add(wall);
 			else if (walledRooms.get(wall).equals(Images.NULL_TILE) && walls.contains(wall))
 				walls.remove(wall);
 		
-		walls = new WallCleaner(walls).cleanWalls();
+		walls = new WallCleaner(walls, random.split()).cleanWalls();
 		return walls;
 	}
 
 	/**
 	 * Generates straight wall chunks.
+	 * @param random - Decides the wall chunks
 	 * @return The list of wall locations
 	 */
-	private List<Point> generateStraightWalls() {
+	private List<Point> generateStraightWalls(RandomNumber random) {
 		List<Point> wallLocations = new LinkedList<Point>();
 		
-		int numberOfWallChunks = RandomNumber.randomBetween(minimumNumberOfWallChunks, maximumNumberOfWallChunks);
+		int numberOfWallChunks = random.randomBetween(minimumNumberOfWallChunks, maximumNumberOfWallChunks);
 		for (int i = 0; i < numberOfWallChunks; i++) {
-			boolean horizontal = (int)(Math.random() * 2) == 0;
+			boolean horizontal = random.randomBetween(0, 2) == 0;
 			
 			if (horizontal) {
-				int width = RandomNumber.randomBetween(minimumWallWidth, maximumWallWidth);
-				int startColumn = RandomNumber.randomBetween(0, GameWindow.GRID_COLUMNS - width);
-				int startRow = RandomNumber.randomBetween(0, GameWindow.GRID_ROWS);
+				int width = random.randomBetween(minimumWallWidth, maximumWallWidth);
+				int startColumn = random.randomBetween(0, columns - width);
+				int startRow = random.randomBetween(0, rows);
 				
 				for (int x = 0; x < width; x++) {
 					int column = startColumn + x;
-					if (column >= 0 && column < GameWindow.GRID_COLUMNS)
+					if (column >= 0 && column < columns)
 						wallLocations.add(new Point(column, startRow));
 					else
 						break;
 				}
 			}
 			else {
-				int height = RandomNumber.randomBetween(minimumWallHeight, maximumWallHeight);
-				int startColumn = RandomNumber.randomBetween(0, GameWindow.GRID_COLUMNS);
-				int startRow = RandomNumber.randomBetween(0, GameWindow.GRID_ROWS - height);
+				int height = random.randomBetween(minimumWallHeight, maximumWallHeight);
+				int startColumn = random.randomBetween(0, columns);
+				int startRow = random.randomBetween(0, rows - height);
 				
 				for (int y = 0; y < height; y++) {
 					int row = startRow + y;
-					if (row >= 0 && row < GameWindow.GRID_ROWS)
+					if (row >= 0 && row < rows)
 						wallLocations.add(new Point(startColumn, row));
 					else
 						break;
@@ -92,23 +109,24 @@ public class RandomWallGenerator implements IFeatureGenerator {
 	
 	/**
 	 * Generates walled rooms.
+	 * @param random - Decides the rooms
 	 * @return The list of wall locations
 	 */
-	private Map<Point, String> generateWalledRooms(String wallType) {
+	private Map<Point, String> generateWalledRooms(String wallType, RandomNumber random) {
 		Map<Point, String> wallLocations = new HashMap<Point, String>();
 		
-		int numberOfRooms = RandomNumber.randomBetween(minimumNumberOfRooms, maximumNumberOfRooms);
+		int numberOfRooms = random.randomBetween(minimumNumberOfRooms, maximumNumberOfRooms);
 		for (int i = 0; i < numberOfRooms; i++) {		
-			int width = RandomNumber.randomBetween(minimumWallWidth, maximumWallWidth);
-			int height = RandomNumber.randomBetween(minimumWallHeight, maximumWallHeight);
+			int width = random.randomBetween(minimumWallWidth, maximumWallWidth);
+			int height = random.randomBetween(minimumWallHeight, maximumWallHeight);
 			
-			Point topLeftCorner = new Point(RandomNumber.randomBetween(0, GameWindow.GRID_COLUMNS - width), RandomNumber.randomBetween(0, GameWindow.GRID_ROWS - height));
+			Point topLeftCorner = new Point(random.randomBetween(0, columns - width), random.randomBetween(0, rows - height));
 			for (int x = 0; x < width; x++)
 				for (int y = 0; y < height; y++) {
 					int column = topLeftCorner.x + x;
 					int row = topLeftCorner.y + y;
-					if (column >= 0 && column < GameWindow.GRID_COLUMNS &&
-						row >= 0 && row < GameWindow.GRID_ROWS)
+					if (column >= 0 && column < columns &&
+						row >= 0 && row < rows)
 						if (x == 0 || x == width - 1 || y == 0 || y == height - 1)
 							wallLocations.put(new Point(column, row), wallType);
 						else
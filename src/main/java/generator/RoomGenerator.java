@@ -1,11 +1,10 @@
 package generator;
 
-import java.awt.Image;
 import java.awt.Point;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 
+import level.World;
 import loader.FeatureLoader;
 import loader.IRoomLoader;
 import loader.ImageLoader;
@@ -13,11 +12,10 @@ import loader.MonsterLoader;
 import loader.PlayerLoader;
 import loader.RoomData;
 import loader.RoomDataLoader;
+import loader.RoomTypeDef;
 import data.Images;
-import entity.Feature;
 import entity.actor.Monster;
 import entity.actor.Player;
-import gui.GameWindow;
 
 /**
  * Generates a room.
@@ -26,8 +24,11 @@ import gui.GameWindow;
  */
 public class RoomGenerator implements IRoomLoader {
 	
-	/** Room data lookup map **/
-	private final Map<String, String> data;
+	/** The room type's tiles and features **/
+	private final RoomTypeDef data;
+	
+	/** The dimensions of the room, in grid spaces **/
+	private final int columns, rows;
 	
 	/** The wall generator to use **/
 	private final IFeatureGenerator wallGenerator;
@@ -41,8 +42,8 @@ public class RoomGenerator implements IRoomLoader {
 	/** The loader for the monsters **/
 	private final MonsterLoader monsterLoader;
 	
-	/** The deliminator between available types **/
-	private static final String deliminator = ",";
+	/** The seed the room is generated from. The same seed always gives the same room. **/
+	private final long seed;
 	
 	private static final int	maximumNumberOfMonsters = 8,
 								minimumNumberOfMonsters = 3;
@@ -50,51 +51,68 @@ public class RoomGenerator implements IRoomLoader {
 	/**
 	 * Creates a new Room Generator.
 	 * @param roomType - The type of room to generate.
+	 * @param columns - The width of the room, in grid spaces.
+	 * @param rows - The height of the room, in grid spaces.
 	 * @param wallGenerator - The wall generator to use
 	 * @param dataLoader - The loader for room data.
 	 * @param featureLoader - The loader for features.
 	 * @param playerLoader - The loader for the player.
+	 * @param monsterLoader - The loader for the monsters.
+	 * @param seed - The seed to generate the room from. The same seed always gives the same room.
 	 */
-	public RoomGenerator(String roomType, IFeatureGenerator wallGenerator, RoomDataLoader dataLoader, FeatureLoader featureLoader, PlayerLoader playerLoader, MonsterLoader monsterLoader) {
+	public RoomGenerator(String roomType, int columns, int rows, IFeatureGenerator wallGenerator, RoomDataLoader dataLoader, FeatureLoader featureLoader, PlayerLoader playerLoader, MonsterLoader monsterLoader, long seed) {
 		this.data = dataLoader.loadRoomData(roomType);
+		this.columns = columns;
+		this.rows = rows;
 		this.wallGenerator = wallGenerator;
 		this.featureLoader = featureLoader;
 		this.playerLoader = playerLoader;
 		this.monsterLoader = monsterLoader;
+		this.seed = seed;
 	}
 	
 	/**
 	 * Generates a room.
+	 * Each part of the room gets its own stream of random numbers, split from the seed in a fixed order,
+	 * 	so changing how many numbers one part uses doesn't change any other part.
 	 */
 	public RoomData loadRoom() {
+		RandomNumber random = new RandomNumber(seed);
+		RandomNumber	typeRandom = random.split(),
+						wallRandom = random.split(),
+						poolRandom = random.split(),
+						imageRandom = random.split(),
+						monsterRandom = random.split();
 		
-		String[][] tileStrings = generateTiles(data);
-		String[][] featureStrings = generateFeatures(data);
+		String floorType = generateTiles(data, typeRandom);
+		String[][] featureStrings = generateFeatures(data, typeRandom, wallRandom, poolRandom);
 		
-		Image[][] tiles = buildTileMap(tileStrings);
-		Feature[][] features = buildFeatureMap(featureStrings);
+		World world = new World(columns, rows);
+		buildTileMap(floorType, world);
+		buildFeatureMap(featureStrings, world, imageRandom);
 		Player player = playerLoader.loadPlayer(new Point(1, 1));
-		List<Monster> monsters = generateMonsters(features);
+		List<Monster> monsters = generateMonsters(world, monsterRandom);
 		
-		return new RoomData(tiles, features, player, monsters);
+		return new RoomData(world, player, monsters, seed);
 	}
 	
 	/**
 	 * Adds a random number of monsters to the room.
-	 * @param features - The existing features (monsters will not be placed in occupied spaces)
+	 * @param world - The room, with its features (monsters will not be placed in occupied spaces)
+	 * @param random - Decides the number of monsters and where they go
 	 * @return The list of monsters to add
 	 */
-	private List<Monster> generateMonsters(Feature[][] features) {
+	private List<Monster> generateMonsters(World world, RandomNumber random) {
 		List<Monster> monsters = new LinkedList<Monster>();
 		
 		List<Point> availablePoints = new LinkedList<Point>();
-		for (int row = 0; row < GameWindow.GRID_ROWS; row++)
-			for (int column = 0; column < GameWindow.GRID_COLUMNS; column++)
-				if (features[column][row] == null && ! (column == 1 && row == 1))
+		for (int row = 0; row < rows; row++)
+			for (int column = 0; column < columns; column++)
+				if (world.isWalkable(column, row) && ! (column == 1 && row == 1))
 					availablePoints.add(new Point(column, row));
 		
-		for (int i = 0; i < RandomNumber.randomBetween(minimumNumberOfMonsters, maximumNumberOfMonsters + 1); i++) {
-			int pointIndex = RandomNumber.randomBetween(0, availablePoints.size());
+		for (int i = 0; i < random.randomBetween(minimumNumberOfMonsters, maximumNumberOfMonsters + 1); i++) {
+			int pointIndex = random.randomBetween(0, availablePoints.size());
 			monsters.add(monsterLoader.loadMonster("Default Monster", availablePoints.get(pointIndex)));
 			availablePoints.remove(pointIndex);
 		}
@@ -103,55 +121,46 @@ public class RoomGenerator implements IRoomLoader {
 	}
 	
 	/**
-	 * Generates the tile base for the room.
-	 * @param data - The data lookup map.
-	 * @return The tile map
+	 * Generates the tile base for the room. The whole floor is one type.
+	 * @param data - The room type's tiles and features.
+	 * @param typeRandom - Decides the type of floor
+	 * @return The floor type
 	 */
-	private String[][] generateTiles(Map<String, String> data) {
-		String[][] tileStrings = new String[GameWindow.GRID_COLUMNS][GameWindow.GRID_ROWS];
-		
-		String floorType = randomizeType(data.get("floor"));
-		for (int column = 0; column < GameWindow.GRID_COLUMNS; column++)
-			for (int row = 0; row < GameWindow.GRID_ROWS; row++)
-				tileStrings[column][row] = floorType;
-		
-		return tileStrings;
+	private String generateTiles(RoomTypeDef data, RandomNumber typeRandom) {
+		return randomizeType(data.floors, typeRandom);
 	}
 	
 	/**
-	 * Builds the true tile map of images from a tile map of strings.
-	 * @param tileStrings - The grid of strings.
-	 * @return The tile map
+	 * Builds the true tile map by making the floor type the world's default tile, so no grid space needs its tile written.
+	 * @param floorType - The floor type
+	 * @param world - The world to put the tiles in
 	 */
-	private Image[][] buildTileMap(String[][] tileStrings) {
-		Image[][] tiles = new Image[GameWindow.GRID_COLUMNS][GameWindow.GRID_ROWS];
-		
-		for (int column = 0; column < GameWindow.GRID_COLUMNS; column++)
-			for (int row = 0; row < GameWindow.GRID_ROWS; row++)
-				tiles[column][row] = ImageLoader.loadImage(tileStrings[column][row]);
-		
-		return tiles;
+	private void buildTileMap(String floorType, World world) {
+		ImageLoader.setDefaultTile(world, floorType);
 	}
 	
 	/**
 	 * Generates the features in the room.
-	 * @param data - The data lookup map.
+	 * @param data - The room type's tiles and features.
+	 * @param typeRandom - Decides the type of wall
+	 * @param wallRandom - Decides where the walls go
+	 * @param poolRandom - Decides where the pool goes
 	 * @return The features in the room.
 	 */
-	private String[][] generateFeatures(Map<String, String> data) {
-		String[][] featureStrings = new String[GameWindow.GRID_COLUMNS][GameWindow.GRID_ROWS];
+	private String[][] generateFeatures(RoomTypeDef data, RandomNumber typeRandom, RandomNumber wallRandom, RandomNumber poolRandom) {
+		String[][] featureStrings = new String[columns][rows];
 		
-		for (int column = 0; column < GameWindow.GRID_COLUMNS; column++)
-			for (int row = 0; row < GameWindow.GRID_ROWS; row++)
+		for (int column = 0; column < columns; column++)
+			for (int row = 0; row < rows; row++)
 				featureStrings[column][row] = Images.NULL_TILE;
 		
-		String wallType = randomizeType(data.get("wall"));
+		String wallType = randomizeType(data.walls, typeRandom);
 		
-		List<Point> walls = wallGenerator.generateFeatures(wallType);
+		List<Point> walls = wallGenerator.generateFeatures(wallType, wallRandom);
 		for (Point wall : walls)
 			featureStrings[wall.x][wall.y] = wallType;
 		
-		for (Point water : new PoolGenerator().generateFeatures("water"))
+		for (Point water : new PoolGenerator(columns, rows).generateFeatures("water", poolRandom))
 			featureStrings[water.x][water.y] = "water"; 
 		
 		return featureStrings;
@@ -160,19 +169,20 @@ public class RoomGenerator implements IRoomLoader {
 	/**
 	 * Builds the true feature map from the string map.
 	 * @param featureStrings - The string map.
-	 * @return The true feature map.
+	 * @param world - The world to put the features in
+	 * @param random - Decides which variant of each feature's image to use
 	 */
-	private Feature[][] buildFeatureMap(String[][] featureStrings) {
-		return featureLoader.createFeatures(featureStrings);
+	private void buildFeatureMap(String[][] featureStrings, World world, RandomNumber random) {
+		featureLoader.createFeatures(featureStrings, world, random);
 	}
 	
 	/**
 	 * Randomly chooses a type from those available.
-	 * @param typeString - The available types, deliminated by RoomGenerator.deliminator
+	 * @param types - The available types
+	 * @param random - Decides the type
 	 * @return The randomly chosen type.
 	 */
-	private String randomizeType(String typeString) {
-		String[] types = typeString.split(deliminator);
-		return types[(int)(Math.random()*types.length)];
+	private String randomizeType(List<String> types, RandomNumber random) {
+		return types.get(random.randomBetween(0, types.size()));
 	}
 }
@@ -1,14 +1,14 @@
 package generator;
 
 import java.awt.Point;
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Navigates a node map of wall locations and creates random entrances into closed loops.
+ * Node i is the wall at index i of the wall list, and the map is indexed by grid space,
+ * 	so finding a neighbour, removing a node and finding the next start node all take constant time.
  * @author Milo Carbol
  * @since 14 April 2013
  */
@@ -26,19 +26,62 @@ public class WallCleaner {
 	private final int	minimumEntrancesToMake = 1,
 						maximumEntrancesToMake = 4;
 	
-	/** The node map **/
-	private List<WallCleanerNode> allNodes;
+	/** Marks a missing node **/
+	private static final int NONE = -1;
 	
 	/** The wall locations **/
 	private List<Point> walls;
 	
+	/** Decides where entrances go and how big they are **/
+	private final RandomNumber random;
+	
+	/** The location of each node **/
+	private Point[] locations;
+	
+	/** The neighbours of each node, or NONE. Unlinked as nodes are removed. **/
+	private int[] up, right, down, left;
+	
+	/** If each node has been removed from the map **/
+	private boolean[] removed;
+	
+	/** If each node has been reached while looking for closed loops **/
+	private boolean[] handled;
+	
+	/** The top left corner of the walls' bounding box **/
+	private int minimumColumn, minimumRow;
+	
+	/** The size of the walls' bounding box, in grid spaces **/
+	private int columns, rows;
+	
+	/**
+	 * The first node left on each grid space, or NONE.
+	 * Grid spaces are ordered by column and then from the bottom row up, the order start nodes are picked in.
+	 */
+	private int[] firstOnSpace;
+	
+	/** The next node on the same grid space, in wall list order, or NONE **/
+	private int[] nextOnSpace;
+	
+	/** If each grid space has been visited **/
+	private boolean[] visitedSpaces;
+	
+	/** The stack of nodes still to go up or right from, deepest last **/
+	private int[] pendingNodes;
+	
+	/** If each node on the stack has already gone up **/
+	private boolean[] wentUp;
+	
+	/** The grid space to resume looking for start nodes from. Every grid space before it has none left. **/
+	private int startSpace = 0;
+	
 	/**
 	 * Creates a new wall cleaner.
 	 * @param walls - The wall locations. Not modified by cleaning.
+	 * @param random - Decides where entrances go and how big they are
 	 */
-	public WallCleaner(List<Point> walls) {
+	public WallCleaner(List<Point> walls, RandomNumber random) {
 		this.walls = walls;
-		this.allNodes = new ArrayList<WallCleanerNode>();
+		this.random = random;
 	}
 	
 	/**
@@ -47,146 +90,240 @@ public class WallCleaner {
 	 */
 	public List<Point> cleanWalls() {
 		List<Point> cleanedWalls = new LinkedList<Point>();
+		if (walls.isEmpty())
+			return cleanedWalls;
 		
-		for (int i = 0; i < walls.size(); i++) {
-			allNodes.add(new WallCleanerNode(walls.get(i)));
-		}
+		buildNodeMap();
 		
-		for (int i = 0; i < allNodes.size(); i++) {
-			WallCleanerNode node = allNodes.get(i);
-			for (int j = 0; j < allNodes.size(); j++) {
-				if (j == i)
-					continue;
-				else {
-					WallCleanerNode otherNode = allNodes.get(j);
-					if (otherNode.isAbove(node))
-						node.up = otherNode;
-					else if (otherNode.isRightOf(node))
-						node.right = otherNode;
-					else if (otherNode.isBelow(node))
-						node.down = otherNode;
-					else if (otherNode.isLeftOf(node))
-						node.left = otherNode;
-				}
-			}
+		int startNode = getStartNode();
+		while (startNode != NONE && !handled[startNode]) {
+			clean(startNode);
+			startNode = getStartNode();
 		}
 		
-		Set<WallCleanerNode> visitedNodes = new HashSet<WallCleanerNode>();
+		for (int node = 0; node < locations.length; node++)
+			if (!removed[node])
+				cleanedWalls.add(locations[node]);
 		
-		WallCleanerNode startNode = getStartNode();
-		while (startNode != null && startNode.notHandled) {
-			clean(startNode, startNode, visitedNodes, false, 0, 0, 1);
-			startNode = getStartNode();
+		return cleanedWalls;
+	}
+	
+	/**
+	 * Indexes the nodes by grid space and links each to its neighbours.
+	 * If several walls share a grid space, their neighbours link to the last of them.
+	 */
+	private void buildNodeMap() {
+		locations = walls.toArray(new Point[walls.size()]);
+		int nodes = locations.length;
+		
+		minimumColumn = Integer.MAX_VALUE;
+		minimumRow = Integer.MAX_VALUE;
+		int maximumColumn = Integer.MIN_VALUE, maximumRow = Integer.MIN_VALUE;
+		for (Point location : locations) {
+			minimumColumn = Math.min(minimumColumn, location.x);
+			minimumRow = Math.min(minimumRow, location.y);
+			maximumColumn = Math.max(maximumColumn, location.x);
+			maximumRow = Math.max(maximumRow, location.y);
+		}
+		columns = maximumColumn - minimumColumn + 1;
+		rows = maximumRow - minimumRow + 1;
+		
+		firstOnSpace = new int[columns * rows];
+		int[] lastOnSpace = new int[columns * rows];
+		nextOnSpace = new int[nodes];
+		Arrays.fill(firstOnSpace, NONE);
+		Arrays.fill(lastOnSpace, NONE);
+		Arrays.fill(nextOnSpace, NONE);
+		for (int node = 0; node < nodes; node++) {
+			int space = space(locations[node].x, locations[node].y);
+			if (firstOnSpace[space] == NONE)
+				firstOnSpace[space] = node;
+			else
+				nextOnSpace[lastOnSpace[space]] = node;
+			lastOnSpace[space] = node;
 		}
 		
-		for (WallCleanerNode node : allNodes)
-			cleanedWalls.add(node.location);
+		up = new int[nodes];
+		right = new int[nodes];
+		down = new int[nodes];
+		left = new int[nodes];
+		for (int node = 0; node < nodes; node++) {
+			int column = locations[node].x, row = locations[node].y;
+			up[node] = nodeOn(lastOnSpace, column, row - 1);
+			right[node] = nodeOn(lastOnSpace, column + 1, row);
+			down[node] = nodeOn(lastOnSpace, column, row + 1);
+			left[node] = nodeOn(lastOnSpace, column - 1, row);
+		}
 		
-		return cleanedWalls;
+		removed = new boolean[nodes];
+		handled = new boolean[nodes];
+		visitedSpaces = new boolean[columns * rows];
+		pendingNodes = new int[nodes];
+		wentUp = new boolean[nodes];
+		startSpace = 0;
 	}
 	
 	/**
-	 * Recursively navigates the node map, going up and right when possible.
+	 * Navigates the node map from a start node, going up and right when possible.
 	 * Cleans once it hits a visited node (meaning it has found a closed loop).
-	 * @param currentNode - The current node
-	 * @param previousNode - The previous node
-	 * @param visitedNodes - The list of already-visited nodes
-	 * @param cleaning - Whether we're creating an entrance now
-	 * @param cleaned - How many walls we've removed in this entrance
-	 * @return null when finished
+	 * Grid spaces waiting to go up or right are kept on an explicit stack rather than the call stack,
+	 * 	so walls of any length can be navigated. Each grid space is only pushed once, when it is first visited.
+	 * @param startNode - The node to start from
+	 */
+	private void clean(int startNode) {
+		int depth = 0;
+		if (visit(startNode)) {
+			pendingNodes[depth] = startNode;
+			wentUp[depth++] = false;
+		}
+		
+		while (depth > 0) {
+			int currentNode = pendingNodes[depth - 1];
+			if (!wentUp[depth - 1]) {
+				wentUp[depth - 1] = true;
+				if (up[currentNode] != NONE && visit(up[currentNode])) {
+					pendingNodes[depth] = up[currentNode];
+					wentUp[depth++] = false;
+				}
+			}
+			else {
+				depth--;
+				if (right[currentNode] != NONE && visit(right[currentNode])) {
+					pendingNodes[depth] = right[currentNode];
+					wentUp[depth++] = false;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Arrives at a node while looking for closed loops.
+	 * If its grid space has already been visited, a loop has been found and entrances are made,
+	 * 	going down or left first and then up and right.
+	 * @param currentNode - The node
+	 * @return True if the grid space hadn't been visited, in which case the node still needs to go up and right
 	 */
-	private WallCleanerNode clean(WallCleanerNode currentNode, WallCleanerNode previousNode, Set<WallCleanerNode> visitedNodes, boolean cleaning, int toClean, int toWait, int entrancesToMake) {
-		if (cleaning) {
+	private boolean visit(int currentNode) {
+		int space = space(locations[currentNode].x, locations[currentNode].y);
+		if (!visitedSpaces[space]) {
+			visitedSpaces[space] = true;
+			handled[currentNode] = true;
+			return true;
+		}
+		
+		int toWait = random.randomBetween(minimumWallsToWait, maximumWallsToWait);
+		int toClean = random.randomBetween(minimumSizeOfEntrance, maximumSizeOfEntrance);
+		int entrancesToMake = random.randomBetween(minimumEntrancesToMake, maximumEntrancesToMake);
+		if (down[currentNode] != NONE)
+			makeEntrances(down[currentNode], currentNode, toClean, toWait, entrancesToMake);
+		else if (left[currentNode] != NONE)
+			makeEntrances(left[currentNode], currentNode, toClean, toWait, entrancesToMake);
+		if (up[currentNode] != NONE)
+			makeEntrances(up[currentNode], currentNode, toClean, toWait, entrancesToMake);
+		if (right[currentNode] != NONE)
+			makeEntrances(right[currentNode], currentNode, toClean, toWait, entrancesToMake);
+		return false;
+	}
+	
+	/**
+	 * Walks along a wall removing pieces to make entrances, going down and left when possible.
+	 * Each step waits, removes a piece or starts another entrance, so the walk always ends.
+	 * @param currentNode - The node to start from
+	 * @param previousNode - The node before it
+	 * @param toClean - How many more walls to remove in this entrance
+	 * @param toWait - How many more walls to pass before removing any
+	 * @param entrancesToMake - How many more entrances to make after this one
+	 */
+	private void makeEntrances(int currentNode, int previousNode, int toClean, int toWait, int entrancesToMake) {
+		while (currentNode != NONE) {
+			int nextNode = NONE;
 			if (toClean > 0) {
 				if (toWait > 0) {
 					toWait--;
 				}
 				else {
-					if (currentNode.up != null)
-						currentNode.up.down = null;
-					if (currentNode.right != null)
-						currentNode.right.left = null;
-					if (currentNode.down != null)
-						currentNode.down.up = null;
-					if (currentNode.left != null)
-						currentNode.left.right = null;
-					allNodes.remove(currentNode);
+					if (up[currentNode] != NONE)
+						down[up[currentNode]] = NONE;
+					if (right[currentNode] != NONE)
+						left[right[currentNode]] = NONE;
+					if (down[currentNode] != NONE)
+						up[down[currentNode]] = NONE;
+					if (left[currentNode] != NONE)
+						right[left[currentNode]] = NONE;
+					remove(currentNode);
 					toClean--;
 				}
-				if (currentNode.down != null)
-					clean(currentNode.down, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-				else if (currentNode.left != null)
-					clean(currentNode.left, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-				else if (currentNode.up != null)
-					clean(currentNode.up, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-				else if (currentNode.right != null)
-					clean(currentNode.right, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-				
+				if (down[currentNode] != NONE)
+					nextNode = down[currentNode];
+				else if (left[currentNode] != NONE)
+					nextNode = left[currentNode];
+				else if (up[currentNode] != NONE)
+					nextNode = up[currentNode];
+				else if (right[currentNode] != NONE)
+					nextNode = right[currentNode];
 			}
 			else if (entrancesToMake > 0) {
 				entrancesToMake--;
-				toWait = RandomNumber.randomBetween(minimumWallsToWait, maximumWallsToWait);
-				toClean = RandomNumber.randomBetween(minimumSizeOfEntrance, maximumSizeOfEntrance);
-				if (currentNode.up != null && currentNode.up != previousNode)
-					return clean(currentNode.up, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-				if (currentNode.right != null && currentNode.right != previousNode)
-					return clean(currentNode.right, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-				if (currentNode.down != null && currentNode.down != previousNode)
-					return clean(currentNode.down, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-				if (currentNode.left != null && currentNode.left != previousNode)
-					return clean(currentNode.left, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-				
+				toWait = random.randomBetween(minimumWallsToWait, maximumWallsToWait);
+				toClean = random.randomBetween(minimumSizeOfEntrance, maximumSizeOfEntrance);
+				if (up[currentNode] != NONE && up[currentNode] != previousNode)
+					nextNode = up[currentNode];
+				else if (right[currentNode] != NONE && right[currentNode] != previousNode)
+					nextNode = right[currentNode];
+				else if (down[currentNode] != NONE && down[currentNode] != previousNode)
+					nextNode = down[currentNode];
+				else if (left[currentNode] != NONE && left[currentNode] != previousNode)
+					nextNode = left[currentNode];
 			}
+			previousNode = currentNode;
+			currentNode = nextNode;
 		}
-		else {
-			if (visitedNodes.contains(currentNode)) {
-				cleaning = true;
-				toWait = RandomNumber.randomBetween(minimumWallsToWait, maximumWallsToWait);
-				toClean = RandomNumber.randomBetween(minimumSizeOfEntrance, maximumSizeOfEntrance);
-				entrancesToMake = RandomNumber.randomBetween(minimumEntrancesToMake, maximumEntrancesToMake);
-				if (currentNode.down != null)
-					clean(currentNode.down, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-				else if (currentNode.left != null)
-					clean(currentNode.left, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-			}
-			else {
-				visitedNodes.add(currentNode);
-				currentNode.notHandled = false;
-			}
-			if (currentNode.up != null)
-				clean(currentNode.up, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-			if (currentNode.right != null)
-				clean(currentNode.right, currentNode, visitedNodes, cleaning, toClean, toWait, entrancesToMake);
-		}
-		return null;
 	}
 	
-	/** @return The lowest, left-most node that hasn't been handled yet. **/
-	private WallCleanerNode getStartNode() {
-		if (allNodes.size() == 0)
-			return null;
-		else {
-			WallCleanerNode startNode = allNodes.get(0);
-			for (WallCleanerNode node : allNodes) {
-				if (node.notHandled) {
-					startNode = node;
-					break;
-				}
-			}
-			for (WallCleanerNode node : allNodes) {
-				if (node.notHandled && node.location.x < startNode.location.x)
-					startNode = node;
-			}
-			for (WallCleanerNode node : allNodes) {
-				if (node.notHandled && node.location.y > startNode.location.y && node.location.x <= startNode.location.x)
-					startNode = node;
-			}
-			
-			if (startNode.notHandled) {
-				return startNode;
-			}
-			else
-				return null;
+	/**
+	 * Removes the first node left on a node's grid space, which is the node itself unless several walls share it.
+	 * @param node - The node
+	 */
+	private void remove(int node) {
+		int space = space(locations[node].x, locations[node].y),
+			first = firstOnSpace[space];
+		if (first != NONE) {
+			removed[first] = true;
+			firstOnSpace[space] = nextOnSpace[first];
 		}
 	}
+	
+	/**
+	 * Finds the lowest, left-most node that hasn't been handled yet: the left-most column first, then the lowest row in it.
+	 * Nodes are never unhandled or put back, so the search carries on from where the last one stopped.
+	 * @return The node, or NONE if every node has been handled
+	 */
+	private int getStartNode() {
+		for (; startSpace < firstOnSpace.length; startSpace++)
+			for (int node = firstOnSpace[startSpace]; node != NONE; node = nextOnSpace[node])
+				if (!handled[node])
+					return node;
+		return NONE;
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The index of the grid space, ordered by column and then from the bottom row up
+	 */
+	private int space(int column, int row) {
+		return (column - minimumColumn) * rows + (rows - 1 - (row - minimumRow));
+	}
+	
+	/**
+	 * @param nodesOnSpaces - A node for each grid space, or NONE
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The node on the grid space, or NONE if there isn't one or the grid space is outside the walls' bounding box
+	 */
+	private int nodeOn(int[] nodesOnSpaces, int column, int row) {
+		if (column < minimumColumn || column >= minimumColumn + columns || row < minimumRow || row >= minimumRow + rows)
+			return NONE;
+		return nodesOnSpaces[space(column, row)];
+	}
 }
@@ -0,0 +1,106 @@
+package gui;
+
+import java.awt.Point;
+
+import control.Game;
+
+/**
+ * The part of the world on screen. Worlds can be any size, so the camera follows the player around them,
+ * 	stopping at the world's edges rather than showing past them.
+ * Positions are in world pixels: grid space (c, r) starts at (c, r) * GameWindow.GRID_SPACE_SIZE.
+ * One thread moves the camera while others convert screen positions with it, so x and y are kept together in one volatile field
+ * 	and each conversion reads it once, never pairing the new x with the old y.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class Camera {
+	
+	/** The dimensions of the view, in pixels **/
+	private final int viewWidth, viewHeight;
+	
+	/** The world pixel at the top left corner of the view, with x in the high 32 bits and y in the low 32 bits **/
+	private volatile long position = 0;
+	
+	/**
+	 * Creates a new camera looking at the top left corner of the world.
+	 * @param viewWidth - The width of the view, in pixels
+	 * @param viewHeight - The height of the view, in pixels
+	 */
+	public Camera(int viewWidth, int viewHeight) {
+		this.viewWidth = viewWidth;
+		this.viewHeight = viewHeight;
+	}
+	
+	/** @return The x-coordinate of the world pixel at the left of the view **/
+	public int getX() { return xOf(position); }
+	
+	/** @return The y-coordinate of the world pixel at the top of the view **/
+	public int getY() { return yOf(position); }
+	
+	/** @return The world pixel at the top left corner of the view, with both coordinates from the same moment **/
+	public Point getPosition() {
+		long position = this.position;
+		return new Point(xOf(position), yOf(position));
+	}
+	
+	/** @return The width of the view, in pixels **/
+	public int getViewWidth() { return viewWidth; }
+	
+	/** @return The height of the view, in pixels **/
+	public int getViewHeight() { return viewHeight; }
+	
+	/**
+	 * Moves the camera as close as it can get to centring on a point without showing past the edges of the world.
+	 * If the world is smaller than the view, it's drawn from the top left corner.
+	 * @param pixelX - The x-coordinate to centre on, in world pixels
+	 * @param pixelY - The y-coordinate to centre on, in world pixels
+	 * @param worldWidth - The width of the world, in pixels
+	 * @param worldHeight - The height of the world, in pixels
+	 * @return True if the camera moved
+	 */
+	public boolean centreOn(double pixelX, double pixelY, int worldWidth, int worldHeight) {
+		int newX = clamp((int)Math.round(pixelX - viewWidth/2.0), worldWidth - viewWidth),
+			newY = clamp((int)Math.round(pixelY - viewHeight/2.0), worldHeight - viewHeight);
+		long newPosition = ((long)newX << 32) | (newY & 0xFFFFFFFFL);
+		if (newPosition == position)
+			return false;
+		position = newPosition;
+		return true;
+	}
+	
+	/**
+	 * Finds the grid space under a point on screen. Safe to call from any thread while the camera moves.
+	 * @param screenX - An x-coordinate on screen, in pixels
+	 * @param screenY - A y-coordinate on screen, in pixels
+	 * @return The grid space under it
+	 */
+	public Point toGridSpace(int screenX, int screenY) {
+		long position = this.position;
+		return new Point(Game.pixelToGridSpace(screenX + xOf(position)), Game.pixelToGridSpace(screenY + yOf(position)));
+	}
+	
+	/**
+	 * @param position - A position, as stored
+	 * @return Its x-coordinate
+	 */
+	private static int xOf(long position) {
+		return (int)(position >> 32);
+	}
+	
+	/**
+	 * @param position - A position, as stored
+	 * @return Its y-coordinate
+	 */
+	private static int yOf(long position) {
+		return (int)position;
+	}
+	
+	/**
+	 * @param position - The position to clamp
+	 * @param maximum - The furthest the camera can go, or less than 0 if the world is smaller than the view
+	 * @return The position, between 0 and the maximum
+	 */
+	private static int clamp(int position, int maximum) {
+		return Math.max(0, Math.min(position, maximum));
+	}
+}
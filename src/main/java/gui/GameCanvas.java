@@ -0,0 +1,215 @@
+package gui;
+
+import java.awt.Canvas;
+import java.awt.DisplayMode;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+import control.ActorSnapshot;
+import control.Game;
+import control.GameSnapshot;
+import control.InputHandler;
+import entity.actor.pathfinder.NavigationMap;
+
+/**
+ * Renders the gameplay actively: a thread of its own draws every frame into a BufferStrategy and flips it to the screen,
+ * 	rather than waiting for Swing to repaint.
+ * Frames are paced to the display's refresh rate, independent of the simulation's tick rate,
+ * 	and actors are drawn sliding between grid spaces rather than jumping once per move.
+ * @see GameWindow for painting through Swing
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class GameCanvas extends Canvas implements Runnable {
+	
+	/** Default Serial Version ID **/
+	private static final long serialVersionUID = 1L;
+	
+	/** The frame rate to aim for when the display's refresh rate isn't known **/
+	public static final int DEFAULT_FRAME_RATE = 60;
+	
+	/** The number of buffers: one on screen while the others are drawn **/
+	private static final int buffers = 3;
+	
+	/** How early to stop sleeping before a frame is due, in nanoseconds. Sleeps overshoot, so the rest is spent yielding. **/
+	private static final long yieldTime = 1000000L;
+	
+	/** The game to draw **/
+	private final Game game;
+	
+	/** Draws the gameplay. Only used on the render thread. **/
+	private final GameRenderer renderer;
+	
+	/** Listens for input and tracks the targeter **/
+	private final GameInputListener inputListener;
+	
+	/** The part of the world on screen. Only moved on the render thread. **/
+	private final Camera camera = new Camera(GameWindow.WIDTH, GameWindow.HEIGHT);
+	
+	/** The frame rate to aim for, or 0 to match the display **/
+	private final int frameRate;
+	
+	/** The render thread, once started **/
+	private Thread renderThread;
+	
+	/** If the render thread should keep running **/
+	private volatile boolean running = false;
+	
+	/**
+	 * Creates a new canvas that renders at the display's refresh rate. Nothing is drawn until it is started.
+	 * @param game - The game to draw
+	 * @param inputHandler - The input handler we're using
+	 */
+	public GameCanvas(Game game, InputHandler inputHandler) {
+		this(game, inputHandler, 0);
+	}
+	
+	/**
+	 * Creates a new canvas. Nothing is drawn until it is started.
+	 * @param game - The game to draw
+	 * @param inputHandler - The input handler we're using
+	 * @param frameRate - The frame rate to aim for, or 0 to match the display
+	 */
+	public GameCanvas(Game game, InputHandler inputHandler, int frameRate) {
+		if (frameRate < 0)
+			throw new RuntimeException("Frame rate can't be negative, not " + frameRate);
+		this.game = game;
+		this.renderer = new GameRenderer(game);
+		this.frameRate = frameRate;
+		
+		this.setSize(GameWindow.WIDTH, GameWindow.HEIGHT);
+		this.setIgnoreRepaint(true);
+		
+		this.inputListener = new GameInputListener(this, inputHandler, camera);
+	}
+	
+	/**
+	 * Creates the buffers and starts the render thread. The canvas must already be on screen.
+	 * @return this instance
+	 */
+	public synchronized GameCanvas start() {
+		if (renderThread == null) {
+			createBufferStrategy(buffers);
+			running = true;
+			renderThread = new Thread(this, "Renderer");
+			renderThread.setDaemon(true);
+			renderThread.start();
+		}
+		return this;
+	}
+	
+	/**
+	 * Stops the render thread after its current frame and waits for it to finish.
+	 */
+	public synchronized void stop() {
+		if (renderThread != null) {
+			running = false;
+			renderThread.interrupt();
+			try {
+				renderThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			renderThread = null;
+		}
+	}
+	
+	/**
+	 * Renders frames until stopped, one per frame period.
+	 * Each frame is due a whole period after the last one was due, so an early or late frame doesn't shift the ones after it.
+	 * If rendering falls more than a frame behind, the missed frames are dropped rather than rushed.
+	 * A frame that throws is reported on the error stream and the next one is drawn as usual.
+	 */
+	public void run() {
+		long framePeriod = 1000000000L / targetFrameRate(),
+			 due = System.nanoTime();
+		while (running) {
+			try {
+				render();
+			} catch (RuntimeException e) {
+				System.err.println("A frame failed to render, carrying on with the next one:");
+				e.printStackTrace();
+			}
+			
+			due += framePeriod;
+			long now = System.nanoTime();
+			if (now - due > framePeriod)
+				due = now;
+			
+			long remaining;
+			while (running && (remaining = due - System.nanoTime()) > 0) {
+				if (remaining > yieldTime)
+					try {
+						Thread.sleep((remaining - yieldTime) / 1000000L);
+					} catch (InterruptedException e) {
+						// Woken up to stop; the loop checks.
+					}
+				else
+					Thread.yield();
+			}
+		}
+	}
+	
+	/**
+	 * @return The frame rate to aim for: the one asked for, or else the display's refresh rate if known
+	 */
+	private int targetFrameRate() {
+		if (frameRate > 0)
+			return frameRate;
+		
+		GraphicsConfiguration configuration = getGraphicsConfiguration();
+		if (configuration != null) {
+			int refreshRate = configuration.getDevice().getDisplayMode().getRefreshRate();
+			if (refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN)
+				return refreshRate;
+		}
+		return DEFAULT_FRAME_RATE;
+	}
+	
+	/**
+	 * Draws one frame and shows it.
+	 * Actors are drawn at the current time between the last tick and the next, so they move smoothly however fast the simulation ticks.
+	 * The camera follows the player the same way, so it scrolls smoothly too.
+	 * The buffers can lose their contents (i.e. when the display mode changes), in which case the frame is drawn again.
+	 */
+	private void render() {
+		BufferStrategy strategy = getBufferStrategy();
+		GameSnapshot snapshot = game.getSnapshot();
+		double tick = snapshot.getTick() + Math.min(1, (System.nanoTime() - snapshot.getTime()) / (game.getRate() * 1e6));
+		
+		ActorSnapshot player = snapshot.getPlayer();
+		if (player != null) {
+			NavigationMap map = game.getMapLayout().getNavigationMap();
+			camera.centreOn(GameRenderer.getPixelX(player, tick) + GameWindow.GRID_SPACE_SIZE/2.0,
+							GameRenderer.getPixelY(player, tick) + GameWindow.GRID_SPACE_SIZE/2.0,
+							map.getColumns()*GameWindow.GRID_SPACE_SIZE, map.getRows()*GameWindow.GRID_SPACE_SIZE);
+		}
+		
+		do {
+			do {
+				Graphics g = strategy.getDrawGraphics();
+				try {
+					g.setClip(0, 0, camera.getViewWidth(), camera.getViewHeight());
+					g.translate(-camera.getX(), -camera.getY());
+					renderer.drawStaticLayer(g, getGraphicsConfiguration());
+					renderer.drawActors(g, snapshot, tick);
+					renderer.drawTargeter(g, inputListener.getTargeter());
+				} finally {
+					g.dispose();
+				}
+			} while (strategy.contentsRestored());
+			strategy.show();
+		} while (strategy.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+	}
+	
+	/** Does nothing: the render thread draws every frame **/
+	@Override
+	public void paint(Graphics g) {}
+	
+	/** Does nothing: the render thread draws every frame **/
+	@Override
+	public void update(Graphics g) {}
+}
@@ -0,0 +1,156 @@
+package gui;
+
+import java.awt.Component;
+import java.awt.Point;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+
+import control.InputHandler;
+
+/**
+ * Listens for input on whichever component the gameplay is drawn on, and tracks the targeter.
+ * Mouse positions are on screen, so they're moved by the camera to find the grid space in the world.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class GameInputListener implements KeyListener, MouseListener, MouseMotionListener {
+	
+	/** The component the gameplay is drawn on **/
+	private final Component component;
+	
+	/** The input handler we're using **/
+	private final InputHandler inputHandler;
+	
+	/** The part of the world on screen **/
+	private final Camera camera;
+	
+	/**
+	 * The last position of the mouse pointer on screen, with x in the high 32 bits and y in the low 32 bits.
+	 * Written by the event dispatch thread and read by whichever thread draws, so both halves are kept in one volatile field.
+	 */
+	private volatile long mouse;
+	
+	/**
+	 * Creates a new listener and adds it to a component.
+	 * @param component - The component the gameplay is drawn on
+	 * @param inputHandler - The input handler we're using
+	 * @param camera - The part of the world on screen
+	 */
+	public GameInputListener(Component component, InputHandler inputHandler, Camera camera) {
+		this.component = component;
+		this.inputHandler = inputHandler;
+		this.camera = camera;
+		
+		component.addKeyListener(this);
+		component.addMouseListener(this);
+		component.addMouseMotionListener(this);
+	}
+	
+	/**
+	 * Finds the grid space the mouse is over, which changes when the camera moves even if the mouse doesn't.
+	 * Safe to call from any thread, since the mouse position is read once and the result is a new Point.
+	 * @return The grid space the mouse is over
+	 */
+	public Point getTargeter() {
+		long position = mouse;
+		return camera.toGridSpace((int)(position >> 32), (int)position);
+	}
+	
+	/**
+	 * Listens for a key press.
+	 */
+	public void keyPressed(KeyEvent key) {
+		inputHandler.handle(key);
+	}
+	
+	/**
+	 * Listens for a mouse click.
+	 */
+	public void mouseClicked(MouseEvent click) {
+		handle(click);
+	}
+	
+	/**
+	 * Listens for a mouse drag.
+	 */
+	public void mouseDragged(MouseEvent click) {
+		if(positionIsValid(click)) {
+			handle(click);
+			setTargeter(click);
+		}
+	}
+	
+	/**
+	 * Listens for a mouse release.
+	 */
+	public void mouseReleased(MouseEvent click) {
+		if(positionIsValid(click))
+			handle(click);
+	}
+	
+	/** When the mouse is moved, adjust the targeter **/
+	public void mouseMoved(MouseEvent move) {
+		if(positionIsValid(move))
+			setTargeter(move);
+	}
+	
+	/**
+	 * Passes a click to the input handler with the grid space under it.
+	 * @param click - The click to handle
+	 */
+	private void handle(MouseEvent click) {
+		Point gridSpace = camera.toGridSpace(click.getX(), click.getY());
+		inputHandler.handle(click, gridSpace.x, gridSpace.y);
+	}
+	
+	/**
+	 * Validates that the click we're handling is within the game window.
+	 * If it isn't, we dismiss the click.
+	 * @param click - The click to handle
+	 * @return True if the click is within the game window, false otherwise
+	 */
+	private boolean positionIsValid(MouseEvent click) {
+		int column = click.getX();
+		int row = click.getY();
+		
+		return	column >= 0 && column < camera.getViewWidth() &&
+				row >= 0 && row < camera.getViewHeight();
+	}
+	
+	/**
+	 * Sets the targeter to the position of the mouse pointer, repainting the grid spaces it left and entered.
+	 * @param pixelPosition - The position of the mouse pointer.
+	 */
+	private void setTargeter(MouseEvent pixelPosition) {
+		Point from = getTargeter();
+		mouse = ((long)pixelPosition.getX() << 32) | (pixelPosition.getY() & 0xFFFFFFFFL);
+		Point to = getTargeter();
+		repaintGridSpace(from.x, from.y);
+		repaintGridSpace(to.x, to.y);
+	}
+	
+	/**
+	 * Schedules a single grid space to be repainted, including the targeter's border on its right and bottom edges.
+	 * @param column - The x-coordinate of the grid space in the world
+	 * @param row - The y-coordinate of the grid space in the world
+	 */
+	public void repaintGridSpace(int column, int row) {
+		Point camera = this.camera.getPosition();
+		component.repaint(column*GameWindow.GRID_SPACE_SIZE - camera.x, row*GameWindow.GRID_SPACE_SIZE - camera.y,
+				GameWindow.GRID_SPACE_SIZE + 1, GameWindow.GRID_SPACE_SIZE + 1);
+	}
+	
+	/** Does nothing **/
+	public void keyReleased(KeyEvent key) {}
+	/** Does nothing **/
+	public void keyTyped(KeyEvent key) {}
+	/** Does nothing **/
+	public void mousePressed(MouseEvent click) {}
+	/** Does nothing **/
+	public void mouseEntered(MouseEvent click) {}
+	/** Does nothing **/
+	public void mouseExited(MouseEvent click) {}
+}
@@ -0,0 +1,202 @@
+package gui;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import level.Room;
+import level.World;
+import control.ActorSnapshot;
+import control.Game;
+import control.GameSnapshot;
+
+/**
+ * Draws the gameplay, for both the Swing game window and the actively rendered game canvas.
+ * Everything is drawn in world pixels, so callers translate the graphics by the camera first.
+ * Tiles and features are drawn once per chunk into the static layer, and only the chunks on screen are drawn or copied,
+ * 	so the cost of a frame depends on the size of the view rather than the size of the world.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class GameRenderer {
+	
+	/** The most chunks of the static layer to keep drawn at once. A view needs at most four, or six at the default size. **/
+	public static final int CACHED_CHUNKS = 12;
+	
+	/** The x- and y-dimensions of a chunk, in pixels **/
+	private static final int chunkPixels = World.CHUNK_SIZE * GameWindow.GRID_SPACE_SIZE;
+	
+	/** The game to draw **/
+	private final Game game;
+	
+	/** The tiles and features of each chunk drawn recently, by chunk index, least recently used first **/
+	private final Map<Integer, BufferedImage> staticLayer = new LinkedHashMap<Integer, BufferedImage>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+			return size() > CACHED_CHUNKS;
+		}
+	};
+	
+	/** The room the static layer was drawn from **/
+	private Room staticLayerRoom;
+	
+	/** The version of the room the static layer was drawn from **/
+	private int staticLayerVersion;
+	
+	/**
+	 * Creates a new renderer.
+	 * @param game - The game to draw
+	 */
+	public GameRenderer(Game game) {
+		this.game = game;
+	}
+	
+	/**
+	 * @return True if the room has changed since the static layer was drawn
+	 */
+	public boolean staticLayerIsStale() {
+		Room layout = game.getMapLayout();
+		return staticLayerRoom == null || layout != staticLayerRoom || layout.getVersion() != staticLayerVersion;
+	}
+	
+	/**
+	 * Draws the tiles and features inside the graphics' clip, discarding the static layer first if the room has changed.
+	 * Anything outside the world is black.
+	 * @param g - The graphics to draw on, translated by the camera and clipped to the view
+	 * @param configuration - The screen's configuration, so the layer can be made in its pixel format. May be null.
+	 */
+	public void drawStaticLayer(Graphics g, GraphicsConfiguration configuration) {
+		Room layout = game.getMapLayout();
+		if (staticLayerIsStale()) {
+			staticLayer.clear();
+			staticLayerRoom = layout;
+			staticLayerVersion = layout.getVersion();
+		}
+		
+		World world = layout.getWorld();
+		Rectangle clip = g.getClipBounds();
+		if (clip == null)
+			clip = new Rectangle(0, 0, world.getColumns()*GameWindow.GRID_SPACE_SIZE, world.getRows()*GameWindow.GRID_SPACE_SIZE);
+		g.setColor(Color.black);
+		g.fillRect(clip.x, clip.y, clip.width, clip.height);
+		
+		int firstChunkColumn = Math.max(0, clip.x / chunkPixels),
+			firstChunkRow = Math.max(0, clip.y / chunkPixels),
+			lastChunkColumn = Math.min(world.getChunkColumns() - 1, (clip.x + clip.width - 1) / chunkPixels),
+			lastChunkRow = Math.min(world.getChunkRows() - 1, (clip.y + clip.height - 1) / chunkPixels);
+		for (int chunkRow = firstChunkRow; chunkRow <= lastChunkRow; chunkRow++)
+			for (int chunkColumn = firstChunkColumn; chunkColumn <= lastChunkColumn; chunkColumn++)
+				if (world.hasChunk(chunkColumn, chunkRow) || world.hasDefaultTile())
+					g.drawImage(getChunk(layout, chunkColumn, chunkRow, configuration), chunkColumn*chunkPixels, chunkRow*chunkPixels, null);
+	}
+	
+	/**
+	 * Draws each actor on its grid space, skipping any outside the graphics' clip.
+	 * @param g - The graphics to draw on
+	 * @param snapshot - The actors to draw
+	 */
+	public void drawActors(Graphics g, GameSnapshot snapshot) {
+		for (ActorSnapshot actor : snapshot.getActors())
+			if (g.hitClip(actor.getColumn()*GameWindow.GRID_SPACE_SIZE, actor.getRow()*GameWindow.GRID_SPACE_SIZE, GameWindow.GRID_SPACE_SIZE, GameWindow.GRID_SPACE_SIZE))
+				g.drawImage(actor.getImage(), actor.getColumn()*GameWindow.GRID_SPACE_SIZE, actor.getRow()*GameWindow.GRID_SPACE_SIZE,
+						GameWindow.GRID_SPACE_SIZE, GameWindow.GRID_SPACE_SIZE, null);
+	}
+	
+	/**
+	 * Draws each actor part of the way through its last move.
+	 * @param g - The graphics to draw on
+	 * @param snapshot - The actors to draw
+	 * @param tick - The time to draw at, in ticks (i.e. 10.5 is halfway between ticks 10 and 11)
+	 */
+	public void drawActors(Graphics g, GameSnapshot snapshot, double tick) {
+		for (ActorSnapshot actor : snapshot.getActors()) {
+			int x = (int)Math.round(getPixelX(actor, tick)),
+				y = (int)Math.round(getPixelY(actor, tick));
+			if (g.hitClip(x, y, GameWindow.GRID_SPACE_SIZE, GameWindow.GRID_SPACE_SIZE))
+				g.drawImage(actor.getImage(), x, y, GameWindow.GRID_SPACE_SIZE, GameWindow.GRID_SPACE_SIZE, null);
+		}
+	}
+	
+	/**
+	 * @param actor - The actor
+	 * @param tick - The time, in ticks
+	 * @return The x-coordinate of the actor's left edge part of the way through its last move, in world pixels
+	 */
+	public static double getPixelX(ActorSnapshot actor, double tick) {
+		return (actor.getFromColumn() + (actor.getColumn() - actor.getFromColumn())*actor.getMoveProgress(tick)) * GameWindow.GRID_SPACE_SIZE;
+	}
+	
+	/**
+	 * @param actor - The actor
+	 * @param tick - The time, in ticks
+	 * @return The y-coordinate of the actor's top edge part of the way through its last move, in world pixels
+	 */
+	public static double getPixelY(ActorSnapshot actor, double tick) {
+		return (actor.getFromRow() + (actor.getRow() - actor.getFromRow())*actor.getMoveProgress(tick)) * GameWindow.GRID_SPACE_SIZE;
+	}
+	
+	/**
+	 * Draws the targeter.
+	 * @param g - The graphics to draw on
+	 * @param targeter - The grid space the mouse is over
+	 */
+	public void drawTargeter(Graphics g, Point targeter) {
+		g.setColor(Color.cyan);
+		g.drawRect(targeter.x*GameWindow.GRID_SPACE_SIZE, targeter.y*GameWindow.GRID_SPACE_SIZE, GameWindow.GRID_SPACE_SIZE, GameWindow.GRID_SPACE_SIZE);
+	}
+	
+	/**
+	 * Fetches a chunk of the static layer, drawing its tiles and features first if it isn't cached.
+	 * Chunks at the right and bottom of the world are cut down to the part inside the world.
+	 * @param layout - The room to draw from
+	 * @param chunkColumn - The x-coordinate of the chunk
+	 * @param chunkRow - The y-coordinate of the chunk
+	 * @param configuration - The screen's configuration, so the chunk can be made in its pixel format. May be null.
+	 * @return The drawn chunk
+	 */
+	private BufferedImage getChunk(Room layout, int chunkColumn, int chunkRow, GraphicsConfiguration configuration) {
+		World world = layout.getWorld();
+		Integer index = chunkRow * world.getChunkColumns() + chunkColumn;
+		BufferedImage chunk = staticLayer.get(index);
+		if (chunk != null)
+			return chunk;
+		
+		int firstColumn = chunkColumn * World.CHUNK_SIZE,
+			firstRow = chunkRow * World.CHUNK_SIZE,
+			columns = Math.min(World.CHUNK_SIZE, world.getColumns() - firstColumn),
+			rows = Math.min(World.CHUNK_SIZE, world.getRows() - firstRow),
+			width = columns*GameWindow.GRID_SPACE_SIZE,
+			height = rows*GameWindow.GRID_SPACE_SIZE;
+		chunk = configuration == null ?
+				new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB) :
+				configuration.createCompatibleImage(width, height, Transparency.OPAQUE);
+		
+		Graphics2D g = chunk.createGraphics();
+		g.setColor(Color.black);
+		g.fillRect(0, 0, width, height);
+		for (int row = 0; row < rows; row++)
+			for (int column = 0; column < columns; column++) {
+				Image tile = layout.tileAt(firstColumn + column, firstRow + row);
+				if (tile != null)
+					g.drawImage(tile, column*GameWindow.GRID_SPACE_SIZE, row*GameWindow.GRID_SPACE_SIZE,
+							GameWindow.GRID_SPACE_SIZE, GameWindow.GRID_SPACE_SIZE, null);
+				Image feature = layout.featureImageAt(firstColumn + column, firstRow + row);
+				if (feature != null)
+					g.drawImage(feature, column*GameWindow.GRID_SPACE_SIZE, row*GameWindow.GRID_SPACE_SIZE,
+							GameWindow.GRID_SPACE_SIZE, GameWindow.GRID_SPACE_SIZE, null);
+			}
+		g.dispose();
+		
+		staticLayer.put(index, chunk);
+		return chunk;
+	}
+}
@@ -1,28 +1,26 @@
 package gui;
 
-import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Image;
-import java.awt.Point;
-import java.awt.event.KeyEvent;
-import java.awt.event.KeyListener;
-import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
-import java.awt.event.MouseMotionListener;
+import java.util.List;
 
 import javax.swing.JComponent;
 
-import level.Room;
+import control.ActorSnapshot;
 import control.Game;
+import control.GameSnapshot;
 import control.InputHandler;
-import entity.actor.Actor;
+import entity.actor.pathfinder.NavigationMap;
 
 /**
  * The part of the screen which renders the gameplay on which to animate.
+ * Painting is driven by Swing: on each animation frame only the grid spaces actors have left or entered are repainted,
+ * 	unless the camera followed the player to a new part of the world.
+ * @see GameCanvas for active rendering
  * @author Milo
  * @since 5 April 2013
  */
-public class GameWindow extends JComponent implements KeyListener, MouseListener, MouseMotionListener {
+public class GameWindow extends JComponent {
 	
 	/** Default Serial Version ID **/
 	private static final long serialVersionUID = 1L;
@@ -30,11 +28,25 @@ public class GameWindow extends JComponent implements KeyListener, MouseListener
 	/** The game this interacts with **/
 	private final Game game;
 	
-	/** The input handler we're using **/
-	private final InputHandler inputHandler;
+	/** Draws the gameplay **/
+	private final GameRenderer renderer;
 	
-	/** The place to draw the targeter **/
-	private Point targeter = new Point();
+	/** Listens for input and tracks the targeter **/
+	private final GameInputListener inputListener;
+	
+	/** The part of the world on screen. Only moved on the event dispatch thread. **/
+	private final Camera camera = new Camera(WIDTH, HEIGHT);
+	
+	/** The snapshot of the actors to paint **/
+	private GameSnapshot paintedSnapshot = GameSnapshot.EMPTY;
+	
+	/** The grid space index and image of each actor in the painted snapshot **/
+	private int[] paintedCells = new int[0];
+	private Image[] paintedImages = new Image[0];
+	
+	/** Scratch space for the grid space index and image of each actor in the next snapshot **/
+	private int[] nextCells = new int[0];
+	private Image[] nextImages = new Image[0];
 	
 	/** Width and height values **/
 	public static final int	WIDTH = 1000,
@@ -43,7 +55,7 @@ public class GameWindow extends JComponent implements KeyListener, MouseListener
 	/** The x- and y-dimensions of a single grid space, in pixels **/
 	public static final int GRID_SPACE_SIZE = 20;
 	
-	/** The x- and y-dimensions of the grid, in grid spaces **/
+	/** The x- and y-dimensions of the view, in grid spaces **/
 	public static final int GRID_COLUMNS = WIDTH / GRID_SPACE_SIZE,
 							GRID_ROWS = HEIGHT / GRID_SPACE_SIZE;
 	
@@ -52,110 +64,84 @@ public class GameWindow extends JComponent implements KeyListener, MouseListener
 	 */
 	public GameWindow(Game game, InputHandler inputHandler) {
 		this.game = game;
-		this.inputHandler = inputHandler;
-    	
+		this.renderer = new GameRenderer(game);
+		
 		this.setSize(WIDTH, HEIGHT);
 		
-    	addKeyListener(this);
-    	addMouseListener(this);
-    	addMouseMotionListener(this);
+		this.inputListener = new GameInputListener(this, inputHandler, camera);
 	}
 	
 	/**
 	 * Animates.
 	 */
 	public void paint(Graphics g) {
-		Room layout = game.getMapLayout();
-		for (int row = 0; row < GRID_ROWS; row++)
-			for (int column = 0; column < GRID_COLUMNS; column++) {
-				g.drawImage(layout.tileAt(column, row), column*GRID_SPACE_SIZE, row*GRID_SPACE_SIZE, GRID_SPACE_SIZE, GRID_SPACE_SIZE, this);
-				Image feature = layout.featureImageAt(column, row);
-				if (feature != null)
-					g.drawImage(feature, column*GRID_SPACE_SIZE, row*GRID_SPACE_SIZE, GRID_SPACE_SIZE, GRID_SPACE_SIZE, this);
-			}
-		
-		Actor[][] actors = game.getActors();
-		for (int row = 0; row < GRID_ROWS; row++)
-			for (int column = 0; column < GRID_COLUMNS; column++) {
-				Actor actor = actors[column][row];
-				if (actor != null) {
-					g.drawImage(actor.getImage(), column*GRID_SPACE_SIZE, row*GRID_SPACE_SIZE, GRID_SPACE_SIZE, GRID_SPACE_SIZE, this);
-				}
-			}
-		
-		g.setColor(Color.cyan);
-		g.drawRect(targeter.x*GRID_SPACE_SIZE, targeter.y*GRID_SPACE_SIZE, GRID_SPACE_SIZE, GRID_SPACE_SIZE);
-	}
-	
-	/**
-	 * Listens for a key press.
-	 */
-	public void keyPressed(KeyEvent key) {
-		inputHandler.handle(key);
-	}
-
-	/**
-	 * Listens for a mouse click.
-	 */
-	public void mouseClicked(MouseEvent click) {
-		inputHandler.handle(click);
+		g.translate(-camera.getX(), -camera.getY());
+		renderer.drawStaticLayer(g, getGraphicsConfiguration());
+		renderer.drawActors(g, paintedSnapshot);
+		renderer.drawTargeter(g, inputListener.getTargeter());
 	}
 	
 	/**
-	 * Listens for a mouse drag.
+	 * Picks up the latest snapshot and repaints only what changed: the grid spaces actors left or entered,
+	 * 	or the whole window if the room itself changed or the camera moved. Must be called on the event dispatch thread.
 	 */
-	public void mouseDragged(MouseEvent click) {
-		if(positionIsValid(click)) {
-			inputHandler.handle(click);
-			setTargeter(click);
+	public void repaintChanges() {
+		if (renderer.staticLayerIsStale())
+			repaint();
+		
+		GameSnapshot snapshot = game.getSnapshot();
+		if (snapshot == paintedSnapshot)
+			return;
+		
+		NavigationMap map = game.getMapLayout().getNavigationMap();
+		ActorSnapshot player = snapshot.getPlayer();
+		if (player != null && camera.centreOn((player.getColumn() + 0.5)*GRID_SPACE_SIZE, (player.getRow() + 0.5)*GRID_SPACE_SIZE,
+				map.getColumns()*GRID_SPACE_SIZE, map.getRows()*GRID_SPACE_SIZE))
+			repaint();
+		
+		List<ActorSnapshot> actors = snapshot.getActors();
+		int paintedCount = paintedSnapshot.getActors().size(),
+			nextCount = actors.size();
+		if (nextCells.length < nextCount) {
+			nextCells = new int[nextCount];
+			nextImages = new Image[nextCount];
 		}
-	}
-	
-	/**
-	 * Listens for a mouse release.
-	 */
-	public void mouseReleased(MouseEvent click) {
-		if(positionIsValid(click))
-			inputHandler.handle(click);
-	}
-	
-	/** When the mouse is moved, adjust the targeter **/
-	public void mouseMoved(MouseEvent move) {
-		if(positionIsValid(move))
-			setTargeter(move);
-	}
-	
-	/**
-	 * Validates that the click we're handling is within the game window.
-	 * If it isn't, we dismiss the click.
-	 * @param click - The click to handle
-	 * @return True if the click is within the game window, false otherwise
-	 */
-	private boolean positionIsValid(MouseEvent click) {
-		int column = click.getX();
-		int row = click.getY();
+		for (int i = 0; i < nextCount; i++) {
+			ActorSnapshot actor = actors.get(i);
+			nextCells[i] = map.index(actor.getColumn(), actor.getRow());
+			nextImages[i] = actor.getImage();
+		}
+		
+		for (int i = 0; i < paintedCount; i++)
+			if (!contains(nextCells, nextImages, nextCount, paintedCells[i], paintedImages[i]))
+				inputListener.repaintGridSpace(paintedSnapshot.getActors().get(i).getColumn(), paintedSnapshot.getActors().get(i).getRow());
+		for (int i = 0; i < nextCount; i++)
+			if (!contains(paintedCells, paintedImages, paintedCount, nextCells[i], nextImages[i]))
+				inputListener.repaintGridSpace(actors.get(i).getColumn(), actors.get(i).getRow());
 		
-		return	column >= 0 && column < WIDTH &&
-				row >= 0 && row < HEIGHT;
+		int[] cells = paintedCells;
+		Image[] images = paintedImages;
+		paintedCells = nextCells;
+		paintedImages = nextImages;
+		nextCells = cells;
+		nextImages = images;
+		paintedSnapshot = snapshot;
 	}
 	
 	/**
-	 * Sets the targeter to the position of the mouse pointer.
-	 * @param pixelPosition - The position of the mouse pointer.
+	 * Checks if an actor was drawn with the same image in the same grid space.
+	 * There are only ever a handful of actors, so a linear search is fastest.
+	 * @param cells - The grid space index of each actor
+	 * @param images - The image of each actor
+	 * @param count - The number of actors
+	 * @param cell - The grid space index to look for
+	 * @param image - The image to look for
+	 * @return True if one of the actors matches
 	 */
-	private void setTargeter(MouseEvent pixelPosition) {
-		targeter.x = Game.pixelToGridSpace(pixelPosition.getX());
-		targeter.y = Game.pixelToGridSpace(pixelPosition.getY());
+	private static boolean contains(int[] cells, Image[] images, int count, int cell, Image image) {
+		for (int i = 0; i < count; i++)
+			if (cells[i] == cell && images[i] == image)
+				return true;
+		return false;
 	}
-	
-	/** Does nothing **/
-	public void keyReleased(KeyEvent key) {}
-	/** Does nothing **/
-	public void keyTyped(KeyEvent key) {}
-	/** Does nothing **/
-	public void mousePressed(MouseEvent click) {}
-	/** Does nothing **/
-	public void mouseEntered(MouseEvent click) {}
-	/** Does nothing **/
-	public void mouseExited(MouseEvent click) {}
-}
\ No newline at end of file
+}
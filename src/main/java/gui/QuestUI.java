@@ -33,6 +33,15 @@ public class QuestUI extends JFrame implements ActionListener {
 	/** The components that make up the UI **/
 	private final List<JComponent> components = new LinkedList<JComponent>();
 	
+	/** The command line argument that turns on active rendering **/
+	private static final String activeRenderingArgument = "-active";
+	
+	/** The game window, which repaints only what changed. Null when rendering actively. **/
+	private GameWindow screen;
+	
+	/** The game canvas, which renders on its own thread. Null when painting through Swing. **/
+	private GameCanvas canvas;
+	
 	/** How frequently to repaint the screen **/
 	private static final int refreshPeriod = 100;
 	
@@ -40,19 +49,31 @@ public class QuestUI extends JFrame implements ActionListener {
 	Timer animationTimer = new Timer(refreshPeriod, this);
 	
 	/**
-	 * Creates a new QuestUI.
+	 * Creates a new QuestUI that paints the game through Swing.
 	 */
 	public QuestUI(Game game) {
+		this(game, false);
+	}
+	
+	/**
+	 * Creates a new QuestUI.
+	 * @param game - The game to show
+	 * @param activeRendering - If the game should be drawn on its own thread at the display's frame rate,
+	 * 	rather than painted through Swing on each animation timer tick
+	 */
+	public QuestUI(Game game, boolean activeRendering) {
 		this.setTitle(title);
     	this.setLocation(40, 40);
     	this.setResizable(false);
     	this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
     	
 		this.getContentPane().setPreferredSize(
-								this.addComponentsUsing(game, new InputHandler(game)));
+								this.addComponentsUsing(game, new InputHandler(game), activeRendering));
 		this.pack();
 		this.setVisible(true);
 		
+		if (canvas != null)
+			canvas.start().requestFocus();
 		animationTimer.start();
 	}
 	
@@ -60,16 +81,24 @@ public class QuestUI extends JFrame implements ActionListener {
 	 * Adds components like the game window and info bar to the main screen.
 	 * @param game - The game this is for.
 	 * @param inputHandler - The input handler we're using.
+	 * @param activeRendering - If the game should be drawn on its own thread
 	 * @return the required dimensions of the content screen.
 	 */
-	private Dimension addComponentsUsing(Game game, InputHandler inputHandler) {
-		GameWindow screen = new GameWindow(game, inputHandler);
-		screen.setBounds(0, 0, GameWindow.WIDTH, GameWindow.HEIGHT);
+	private Dimension addComponentsUsing(Game game, InputHandler inputHandler, boolean activeRendering) {
+		if (activeRendering) {
+			canvas = new GameCanvas(game, inputHandler);
+			canvas.setBounds(0, 0, GameWindow.WIDTH, GameWindow.HEIGHT);
+			this.add(canvas);
+		}
+		else {
+			screen = new GameWindow(game, inputHandler);
+			screen.setBounds(0, 0, GameWindow.WIDTH, GameWindow.HEIGHT);
+			components.add(screen);
+		}
 		
 		InfoBar infoBar = new InfoBar(0, GameWindow.HEIGHT, game.getPlayer());
 		infoBar.setBounds(0, GameWindow.HEIGHT, InfoBar.WIDTH, InfoBar.HEIGHT);
 		
-		components.add(screen);
 		components.add(infoBar);
 		
 		for (JComponent component : components) {
@@ -86,19 +115,22 @@ public class QuestUI extends JFrame implements ActionListener {
 	 * When the animation timer is fired, animate.
 	 */
 	public void actionPerformed(ActionEvent action) {
+		if (screen != null)
+			screen.repaintChanges();
 		for (JComponent component : components)
-			component.repaint();
+			if (component != screen)
+				component.repaint();
 	}
 	
 	/**
 	 * Main method.
 	 * TODO Make this a legitimate main method rather than this temporary one.
-	 * @param args - Command line arguments. Unused.
+	 * @param args - Command line arguments: "-active" to render actively (optional)
 	 */
 	public static void main(String[] args) {
 		try {
 			RoomLoader.createTestRoom();
-			new QuestUI(new Game());
+			new QuestUI(new Game(), args.length > 0 && args[0].equals(activeRenderingArgument));
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
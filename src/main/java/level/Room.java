@@ -6,13 +6,16 @@ import java.io.IOException;
 import java.util.List;
 
 import loader.IRoomLoader;
+import loader.ImageLoader;
+import loader.ImageTypeChecker;
 import loader.RoomData;
 import control.Game;
 import data.Files;
 import entity.Feature;
 import entity.actor.Monster;
 import entity.actor.Player;
-import gui.GameWindow;
+import entity.actor.pathfinder.NavigationMap;
+import generator.RandomNumber;
 
 /**
  * Map layout for a room. Drawn beneath actors. Stores room layout data.
@@ -24,11 +27,14 @@ public class Room {
 	/** The test map file **/
 	public static final String TEST_ROOM = Files.MAPS + "testmap.map";
 	
-	/** The tile map. **/
-	private Image[][] tiles;
+	/** The tiles and features of the room **/
+	private World world;
 	
-	/** Features of the room **/
-	private Feature[][] features;
+	/** The walkable graph of the room, shared by all pathfinders **/
+	private NavigationMap navigationMap;
+	
+	/** Picks the edges of features again around any that change **/
+	private ImageTypeChecker imageTypeChecker;
 	
 	/** The start location for the player on this map **/
 	private Player player;
@@ -36,6 +42,12 @@ public class Room {
 	/** The monsters on this map **/
 	private List<Monster> monsters;
 	
+	/** The seed this room's random choices were made from **/
+	private long seed;
+	
+	/** The number of times a feature has been placed or removed, so drawings of the room know when they are stale **/
+	private volatile int version = 0;
+	
 	/**
 	 * Creates a new room and fills it with tiles and features.
 	 * @throws RuntimeException if the tiles and features loaded from the file don't match, or if the room can't be loaded.
@@ -43,10 +55,12 @@ public class Room {
 	public Room(IRoomLoader loader, Game game) {
 		try {
 			RoomData roomData = loader.loadRoom();
-			tiles = roomData.tiles;
-			features = roomData.features;
+			world = roomData.world;
 			player = roomData.player;
 			monsters = roomData.monsters;
+			seed = roomData.seed;
+			navigationMap = new NavigationMap(world);
+			imageTypeChecker = new ImageTypeChecker(world, new RandomNumber(seed));
 			
 		} catch (IOException e) {
 			throw new RuntimeException(e);
@@ -59,6 +73,24 @@ public class Room {
 	/** @return The monsters on this map **/
 	public List<Monster> getMonsters() { return monsters; }
 	
+	/** @return The seed this room's random choices were made from. A generated room can be made again from it. **/
+	public long getSeed() { return seed; }
+	
+	/** @return The width of the room, in grid spaces **/
+	public int getColumns() { return world.getColumns(); }
+	
+	/** @return The height of the room, in grid spaces **/
+	public int getRows() { return world.getRows(); }
+	
+	/** @return The chunked storage for the room's tiles and features **/
+	public World getWorld() { return world; }
+	
+	/** @return The number of times a feature has been placed or removed **/
+	public int getVersion() { return version; }
+	
+	/** @return The walkable graph of this map **/
+	public NavigationMap getNavigationMap() { return navigationMap; }
+	
 	/**
 	 * Gets the tile to draw at a certain location
 	 * @param column - The x-coordinate of the desired tile
@@ -66,9 +98,7 @@ public class Room {
 	 * @return The tile at a given location, or null if the coordinates are invalid.
 	 */
 	public Image tileAt(int column, int row) {
-		if (tileIsValid(column, row))
-			return tiles[column][row];
-		return null;
+		return ImageLoader.fetchImage(world.getTile(column, row));
 	}
 	
 	/**
@@ -78,25 +108,50 @@ public class Room {
 	 * @return The image for the feature at a given location, or null if there isn't one.
 	 */
 	public Image featureImageAt(int column, int row) {
-		if (tileIsValid(column, row) && features[column][row] != null)
-			return features[column][row].getImage();
-		return null;
+		Feature feature = world.getFeature(column, row);
+		if (feature != null)
+			return feature.getImage();
+		return ImageLoader.fetchImage(world.getFeatureImage(column, row));
 	}
 	
 	/**
-	 * Gets the feature at a certain location
+	 * Gets the interactive feature at a certain location
 	 * @param column - The x-coordinate of the desired feature
 	 * @param row - The y-coordinate of the desired feature
-	 * @return The feature at a given location, or null if the coordinates are invalid.
+	 * @return The feature at a given location, or null if there isn't an interactive one or the coordinates are invalid.
 	 */
 	public Feature featureAt(int column, int row) {
-		if (tileIsValid(column, row))
-			return features[column][row];
-		return null;
+		return world.getFeature(column, row);
 	}
 	
-	private boolean tileIsValid(int column, int row) {
-		return	column >= 0 && column < GameWindow.GRID_COLUMNS &&
-				row >= 0 && row < GameWindow.GRID_ROWS;
+	/**
+	 * Places or removes an interactive feature, keeping the navigation map and the edges around it up to date.
+	 * @param column - The x-coordinate of the feature
+	 * @param row - The y-coordinate of the feature
+	 * @param feature - The feature to place, or null to remove the current one
+	 */
+	public void setFeatureAt(int column, int row, Feature feature) {
+		if (world.contains(column, row)) {
+			world.setFeature(column, row, feature);
+			imageTypeChecker.autotile(column, row);
+			navigationMap.update(column, row, world.isWalkable(column, row));
+			version++;
+		}
+	}
+	
+	/**
+	 * Places or removes a feature that only blocks the way (i.e. a wall or water),
+	 * 	keeping the navigation map and the edges around it up to date.
+	 * @param column - The x-coordinate of the feature
+	 * @param row - The y-coordinate of the feature
+	 * @param featureType - The feature's type (i.e. "water"), or null to remove the current feature
+	 */
+	public void setFeatureTypeAt(int column, int row, String featureType) {
+		if (world.contains(column, row)) {
+			world.setFeature(column, row, featureType == null ? World.NO_FEATURE : world.getFeatureType(featureType), World.NO_IMAGE);
+			imageTypeChecker.autotile(column, row);
+			navigationMap.update(column, row, world.isWalkable(column, row));
+			version++;
+		}
 	}
 }
@@ -0,0 +1,374 @@
+package level;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import entity.Feature;
+import gui.GameWindow;
+
+/**
+ * The tiles and features of a room of any size, stored in fixed-size square chunks.
+ * A chunk is only allocated the first time something is written to it, so empty parts of the world cost
+ * 	one null reference per chunk rather than storage for every grid space.
+ * The most common floor tile can be set as the default instead of being written to every grid space.
+ * 	Grid spaces whose tile was never written show one of its variants, picked from their coordinates,
+ * 	so a room only allocates the chunks with features or other floor tiles in them.
+ * Within a chunk everything is stored in flat primitive arrays: a sprite file number for each tile and feature image,
+ * 	a byte for each feature type and one bit for whether each grid space can be walked on.
+ * Walls and water are just a type and an image, so Feature objects are only made for interactive features.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class World {
+	
+	/** The log base 2 of the chunk size, for turning coordinates into chunk coordinates with shifts **/
+	public static final int CHUNK_SHIFT = 5;
+	
+	/** The x- and y-dimensions of a chunk, in grid spaces **/
+	public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	
+	/** The default dimensions of a world, in grid spaces: exactly one screen **/
+	public static final int	DEFAULT_COLUMNS = GameWindow.GRID_COLUMNS,
+							DEFAULT_ROWS = GameWindow.GRID_ROWS;
+	
+	/** The file number of a grid space with no image **/
+	public static final int NO_IMAGE = -1;
+	
+	/** Stored for a grid space in an allocated chunk whose tile was never written, which shows the default tile **/
+	private static final short unwrittenTile = -2;
+	
+	/** The type of a grid space with no feature **/
+	public static final int NO_FEATURE = 0;
+	
+	/** The most feature types a world can have, since each is stored in a byte **/
+	public static final int MAX_FEATURE_TYPES = 255;
+	
+	/** The number of grid spaces in a chunk **/
+	private static final int chunkArea = CHUNK_SIZE * CHUNK_SIZE;
+	
+	/** Masks a coordinate down to its position within its chunk **/
+	private static final int chunkMask = CHUNK_SIZE - 1;
+	
+	/** The dimensions of the world, in grid spaces **/
+	private final int columns, rows;
+	
+	/** The dimensions of the world, in chunks **/
+	private final int chunkColumns, chunkRows;
+	
+	/** The chunks, row by row. Null until something is written to them. **/
+	private final Chunk[] chunks;
+	
+	/** The number of chunks allocated so far **/
+	private int allocatedChunks = 0;
+	
+	/** The file number of the default floor tile's first variant, or NO_IMAGE for none **/
+	private int defaultTile = NO_IMAGE;
+	
+	/** The number of variants of the default floor tile, which have consecutive file numbers **/
+	private int defaultTileVariants = 1;
+	
+	/** The name of each feature type (i.e. "wall_stone"), by type. Type 0 is NO_FEATURE. **/
+	private String[] featureTypeNames = { null };
+	
+	/** Each feature type, by name **/
+	private final Map<String, Integer> featureTypes = new HashMap<String, Integer>();
+	
+	/** The interactive features, by grid space index (row * columns + column) **/
+	private final Map<Integer, Feature> features = new HashMap<Integer, Feature>();
+	
+	/**
+	 * The contents of one chunk, indexed row by row within the chunk.
+	 */
+	private static class Chunk {
+		
+		/** The file number of the floor tile on each grid space **/
+		final short[] tiles = new short[chunkArea];
+		
+		/** The type of the feature on each grid space **/
+		final byte[] featureTypes = new byte[chunkArea];
+		
+		/** The file number of the feature's image on each grid space **/
+		final short[] featureImages = new short[chunkArea];
+		
+		/** Bit i is set if grid space i can't be walked on **/
+		final long[] blocked = new long[chunkArea / Long.SIZE];
+		
+		/**
+		 * Creates an empty chunk.
+		 */
+		Chunk() {
+			Arrays.fill(tiles, unwrittenTile);
+			Arrays.fill(featureImages, (short)NO_IMAGE);
+		}
+	}
+	
+	/**
+	 * Creates an empty world.
+	 * @param columns - The width of the world, in grid spaces
+	 * @param rows - The height of the world, in grid spaces
+	 * @throws RuntimeException if either dimension isn't positive
+	 */
+	public World(int columns, int rows) {
+		if (columns <= 0 || rows <= 0)
+			throw new RuntimeException("World dimensions must be positive, not " + columns + "x" + rows);
+		this.columns = columns;
+		this.rows = rows;
+		this.chunkColumns = (columns + chunkMask) >> CHUNK_SHIFT;
+		this.chunkRows = (rows + chunkMask) >> CHUNK_SHIFT;
+		this.chunks = new Chunk[chunkColumns * chunkRows];
+	}
+	
+	/** @return The width of the world, in grid spaces **/
+	public int getColumns() { return columns; }
+	
+	/** @return The height of the world, in grid spaces **/
+	public int getRows() { return rows; }
+	
+	/** @return The width of the world, in chunks **/
+	public int getChunkColumns() { return chunkColumns; }
+	
+	/** @return The height of the world, in chunks **/
+	public int getChunkRows() { return chunkRows; }
+	
+	/** @return The number of chunks that have been written to **/
+	public int getAllocatedChunks() { return allocatedChunks; }
+	
+	/** @return True if grid spaces whose tile was never written show a default tile **/
+	public boolean hasDefaultTile() { return defaultTile != NO_IMAGE; }
+	
+	/**
+	 * Sets the floor tile shown on every grid space whose tile is never written.
+	 * @param firstFile - The file number of the tile's first variant, or NO_IMAGE for none
+	 * @param variants - The number of variants, which have consecutive file numbers
+	 */
+	public void setDefaultTile(int firstFile, int variants) {
+		this.defaultTile = firstFile;
+		this.defaultTileVariants = Math.max(1, variants);
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return True if the grid space is in the world
+	 */
+	public boolean contains(int column, int row) {
+		return column >= 0 && column < columns && row >= 0 && row < rows;
+	}
+	
+	/**
+	 * @param chunkColumn - The x-coordinate of the chunk
+	 * @param chunkRow - The y-coordinate of the chunk
+	 * @return True if anything has been written to the chunk
+	 */
+	public boolean hasChunk(int chunkColumn, int chunkRow) {
+		return	chunkColumn >= 0 && chunkColumn < chunkColumns && chunkRow >= 0 && chunkRow < chunkRows &&
+				chunks[chunkRow * chunkColumns + chunkColumn] != null;
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The file number of the floor tile on the grid space, or NO_IMAGE if there isn't one or the grid space isn't in the world
+	 */
+	public int getTile(int column, int row) {
+		if (!contains(column, row))
+			return NO_IMAGE;
+		Chunk chunk = find(column, row);
+		int tile = chunk == null ? unwrittenTile : chunk.tiles[offset(column, row)];
+		return tile == unwrittenTile ? defaultTileAt(column, row) : tile;
+	}
+	
+	/**
+	 * Picks a variant of the default tile for a grid space from its coordinates, so it's the same every time it's drawn.
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The file number of the default tile's variant for the grid space, or NO_IMAGE if there is no default tile
+	 */
+	private int defaultTileAt(int column, int row) {
+		if (defaultTile == NO_IMAGE)
+			return NO_IMAGE;
+		int hash = column * 0x9E3779B1 + row * 0x85EBCA77;
+		hash ^= hash >>> 15;
+		hash *= 0x2C1B3C6D;
+		hash ^= hash >>> 12;
+		return defaultTile + (hash & Integer.MAX_VALUE) % defaultTileVariants;
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @param file - The file number of the floor tile to put on the grid space, or NO_IMAGE for none
+	 */
+	public void setTile(int column, int row, int file) {
+		allocate(column, row).tiles[offset(column, row)] = (short)file;
+	}
+	
+	/**
+	 * Finds the type for a feature name, adding it if this world hasn't seen it before.
+	 * @param name - The feature name (i.e. "wall_stone")
+	 * @return The feature type
+	 * @throws RuntimeException if the world already has MAX_FEATURE_TYPES types
+	 */
+	public int getFeatureType(String name) {
+		Integer type = featureTypes.get(name);
+		if (type == null) {
+			if (featureTypeNames.length > MAX_FEATURE_TYPES)
+				throw new RuntimeException("A world can't have more than " + MAX_FEATURE_TYPES + " feature types");
+			type = featureTypeNames.length;
+			featureTypeNames = Arrays.copyOf(featureTypeNames, type + 1);
+			featureTypeNames[type] = name;
+			featureTypes.put(name, type);
+		}
+		return type;
+	}
+	
+	/**
+	 * @param type - A feature type
+	 * @return The feature's name, or null for NO_FEATURE
+	 */
+	public String getFeatureTypeName(int type) {
+		return featureTypeNames[type];
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The type of the feature on the grid space, or NO_FEATURE if there isn't one or the grid space isn't in the world
+	 */
+	public int getFeatureType(int column, int row) {
+		Chunk chunk = find(column, row);
+		return chunk == null ? NO_FEATURE : chunk.featureTypes[offset(column, row)] & 0xFF;
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The file number of the feature's image on the grid space, or NO_IMAGE if there isn't one or the grid space isn't in the world
+	 */
+	public int getFeatureImage(int column, int row) {
+		Chunk chunk = find(column, row);
+		return chunk == null ? NO_IMAGE : chunk.featureImages[offset(column, row)];
+	}
+	
+	/**
+	 * Puts a feature that does nothing but block the way (i.e. a wall) on a grid space, replacing whatever was there.
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @param type - The feature's type, or NO_FEATURE to remove the current one
+	 * @param file - The file number of the feature's image, or NO_IMAGE for none
+	 */
+	public void setFeature(int column, int row, int type, int file) {
+		if (type == NO_FEATURE && find(column, row) == null)
+			return;
+		Chunk chunk = allocate(column, row);
+		int offset = offset(column, row);
+		chunk.featureTypes[offset] = (byte)type;
+		chunk.featureImages[offset] = (short)file;
+		features.remove(row * columns + column);
+		setBlocked(chunk, offset, type != NO_FEATURE);
+	}
+	
+	/**
+	 * Changes the image of the feature on a grid space, leaving its type alone (i.e. to show a different edge).
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @param file - The file number of the feature's image, or NO_IMAGE for none
+	 */
+	public void setFeatureImage(int column, int row, int file) {
+		Chunk chunk = find(column, row);
+		if (chunk != null)
+			chunk.featureImages[offset(column, row)] = (short)file;
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The interactive feature on the grid space, or null if there isn't one
+	 */
+	public Feature getFeature(int column, int row) {
+		return contains(column, row) ? features.get(row * columns + column) : null;
+	}
+	
+	/**
+	 * Puts an interactive feature on a grid space, replacing whatever was there.
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @param feature - The feature to put on the grid space, or null to remove the current one
+	 */
+	public void setFeature(int column, int row, Feature feature) {
+		if (feature == null && find(column, row) == null)
+			return;
+		Chunk chunk = allocate(column, row);
+		int offset = offset(column, row);
+		chunk.featureTypes[offset] = NO_FEATURE;
+		chunk.featureImages[offset] = NO_IMAGE;
+		if (feature == null)
+			features.remove(row * columns + column);
+		else
+			features.put(row * columns + column, feature);
+		setBlocked(chunk, offset, feature != null);
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return True if the grid space is in the world and has no feature on it
+	 */
+	public boolean isWalkable(int column, int row) {
+		Chunk chunk = find(column, row);
+		if (chunk == null)
+			return contains(column, row);
+		int offset = offset(column, row);
+		return (chunk.blocked[offset >> 6] & (1L << offset)) == 0;
+	}
+	
+	/**
+	 * @param chunk - The chunk
+	 * @param offset - The index of the grid space within the chunk
+	 * @param isBlocked - True if the grid space can't be walked on
+	 */
+	private static void setBlocked(Chunk chunk, int offset, boolean isBlocked) {
+		if (isBlocked)
+			chunk.blocked[offset >> 6] |= 1L << offset;
+		else
+			chunk.blocked[offset >> 6] &= ~(1L << offset);
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The chunk holding the grid space, or null if it hasn't been allocated or the grid space isn't in the world
+	 */
+	private Chunk find(int column, int row) {
+		if (!contains(column, row))
+			return null;
+		return chunks[(row >> CHUNK_SHIFT) * chunkColumns + (column >> CHUNK_SHIFT)];
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The chunk holding the grid space, allocating it if this is the first write to it
+	 * @throws RuntimeException if the grid space isn't in the world
+	 */
+	private Chunk allocate(int column, int row) {
+		if (!contains(column, row))
+			throw new RuntimeException("(" + column + ", " + row + ") is outside the " + columns + "x" + rows + " world");
+		int index = (row >> CHUNK_SHIFT) * chunkColumns + (column >> CHUNK_SHIFT);
+		if (chunks[index] == null) {
+			chunks[index] = new Chunk();
+			allocatedChunks++;
+		}
+		return chunks[index];
+	}
+	
+	/**
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The index of the grid space within its chunk
+	 */
+	private static int offset(int column, int row) {
+		return ((row & chunkMask) << CHUNK_SHIFT) | (column & chunkMask);
+	}
+}
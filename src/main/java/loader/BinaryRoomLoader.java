@@ -0,0 +1,310 @@
+package loader;
+
+import java.awt.Point;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import level.World;
+import control.Game;
+import data.Images;
+import entity.actor.Monster;
+import entity.actor.Player;
+import generator.RandomNumber;
+
+/**
+ * Loads rooms from binary room files, which are memory-mapped and read without splitting or parsing any text.
+ * Every name in the room is written once, in a dictionary at the start of the file, and each grid space just holds
+ * 	the number of its tile and feature in the dictionary, so a name is only looked up once however often it's used.
+ * The format, all big-endian:
+ * 	the magic number and the format version,
+ * 	the width and height of the room,
+ * 	the number of names, the number of them that are feature names, and then each name as a length and UTF-8 bytes, feature names first,
+ * 	a short for the tile on each grid space, row by row, which is its name's number,
+ * 	a byte for the feature on each grid space, row by row, which is 0 for none or its name's number plus one
+ * 		(so only the feature names can be used here),
+ * 	the player's start location,
+ * 	and the number of monsters and then each monster's name's number and start location.
+ * Convert map files with main() or convert().
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class BinaryRoomLoader implements IRoomLoader {
+	
+	/** The extension of binary room files **/
+	public static final String EXTENSION = ".room";
+	
+	/** The first four bytes of every binary room file: "QRM" and a zero **/
+	public static final int MAGIC = 0x51524D00;
+	
+	/**
+	 * The version of the format written, and the only one that can be read.
+	 * Version 1 didn't record which names were feature names, so its map files have to be converted again.
+	 **/
+	public static final short VERSION = 2;
+	
+	/** The most names a file can have, since each tile is a short **/
+	private static final int maximumNames = 0xFFFF;
+	
+	/** The most feature names a file can have, since each feature is a byte **/
+	private static final int maximumFeatureNames = World.MAX_FEATURE_TYPES;
+	
+	/** The encoding of the names **/
+	private static final Charset utf8 = Charset.forName("UTF-8");
+	
+	/** The file to load **/
+	private final String roomFile;
+	
+	/** The game the room is for **/
+	private final Game game;
+	
+	/**
+	 * Creates a new loader for a binary room file.
+	 * @param roomFile - The binary room file name
+	 * @param game - The game we're loading the room for
+	 */
+	public BinaryRoomLoader(String roomFile, Game game) {
+		this.roomFile = roomFile;
+		this.game = game;
+	}
+	
+	/**
+	 * Maps the file into memory and builds the room straight from it.
+	 * @return The data loaded from the file.
+	 * @throws IOException if the file can't be read, isn't a binary room file or is cut short.
+	 */
+	public RoomData loadRoom() throws IOException {
+		ByteBuffer buffer = map(roomFile);
+		try {
+			return read(buffer);
+		} catch (BufferUnderflowException e) {
+			throw new IOException(roomFile + ": the file ends too soon", e);
+		}
+	}
+	
+	/**
+	 * Reads a room from the mapped file.
+	 * @param buffer - The mapped file
+	 * @return The room
+	 * @throws IOException if the file isn't a binary room file or a name's number is out of range
+	 */
+	private RoomData read(ByteBuffer buffer) throws IOException {
+		if (buffer.getInt() != MAGIC)
+			throw new IOException(roomFile + ": not a binary room file");
+		short version = buffer.getShort();
+		if (version != VERSION)
+			throw new IOException(roomFile + ": format version " + version + " isn't supported, convert the map file again");
+		
+		int columns = buffer.getInt(), rows = buffer.getInt();
+		if (columns <= 0 || rows <= 0)
+			throw new IOException(roomFile + ": the room is " + columns + "x" + rows);
+		String[] names = new String[buffer.getShort() & 0xFFFF];
+		int featureNames = buffer.getShort() & 0xFFFF;
+		if (featureNames > names.length || featureNames > maximumFeatureNames)
+			throw new IOException(roomFile + ": " + featureNames + " feature names of " + names.length);
+		for (int name = 0; name < names.length; name++) {
+			byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+			buffer.get(bytes);
+			names[name] = new String(bytes, utf8);
+		}
+		
+		World world = new World(columns, rows);
+		long seed = RandomNumber.newSeed();
+		RandomNumber random = new RandomNumber(seed);
+		
+		SpriteRegistry registry = ImageLoader.getRegistry();
+		int[] tileIds = new int[names.length], tileFiles = new int[names.length], tileCounts = new int[names.length];
+		boolean[] tileIsResolved = new boolean[names.length];
+		ShortBuffer tileBuffer = buffer.asShortBuffer();
+		short[] tileRow = new short[columns];
+		int defaultTile = 0;
+		for (int row = 0; row < rows; row++) {
+			tileBuffer.get(tileRow);
+			for (int column = 0; column < columns; column++) {
+				int name = tileRow[column] & 0xFFFF;
+				if (name >= names.length)
+					throw new IOException(roomFile + ": tile (" + column + ", " + row + ") has name " + name + " of " + names.length);
+				if (++tileCounts[name] > tileCounts[defaultTile])
+					defaultTile = name;
+			}
+		}
+		ImageLoader.setDefaultTile(world, names[defaultTile]);
+		
+		tileBuffer.rewind();
+		for (int row = 0; row < rows; row++) {
+			tileBuffer.get(tileRow);
+			for (int column = 0; column < columns; column++) {
+				int name = tileRow[column] & 0xFFFF;
+				if (name == defaultTile)
+					continue;
+				if (!tileIsResolved[name]) {
+					tileIds[name] = registry.getId(names[name]);
+					if (tileIds[name] == SpriteRegistry.NO_SPRITE)
+						tileFiles[name] = ImageLoader.loadFile(names[name]);
+					tileIsResolved[name] = true;
+				}
+				world.setTile(column, row, tileIds[name] == SpriteRegistry.NO_SPRITE ? tileFiles[name] : ImageLoader.loadFile(tileIds[name], random));
+			}
+		}
+		buffer.position(buffer.position() + 2 * columns * rows);
+		
+		int[] featureTypes = new int[featureNames + 1];
+		byte[] featureRow = new byte[columns];
+		for (int row = 0; row < rows; row++) {
+			buffer.get(featureRow);
+			for (int column = 0; column < columns; column++) {
+				int feature = featureRow[column] & 0xFF;
+				if (feature == 0)
+					continue;
+				if (feature >= featureTypes.length)
+					throw new IOException(roomFile + ": feature (" + column + ", " + row + ") has name " + (feature - 1) + " of " + featureNames + " feature names");
+				if (featureTypes[feature] == World.NO_FEATURE)
+					featureTypes[feature] = world.getFeatureType(names[feature - 1]);
+				world.setFeature(column, row, featureTypes[feature], World.NO_IMAGE);
+			}
+		}
+		new ImageTypeChecker(world, random).autotile();
+		
+		PowerLoader powerLoader = new PowerLoader();
+		MonsterLoader monsterLoader = new MonsterLoader(game, powerLoader);
+		PlayerLoader playerLoader = new PlayerLoader(game, powerLoader);
+		
+		Point playerStart = new Point(buffer.getInt(), buffer.getInt());
+		List<Monster> monsters = new LinkedList<Monster>();
+		for (int monster = buffer.getInt(); monster > 0; monster--) {
+			int name = buffer.getShort() & 0xFFFF;
+			if (name >= names.length)
+				throw new IOException(roomFile + ": a monster has name " + name + " of " + names.length);
+			monsters.add(monsterLoader.loadMonster(names[name], new Point(buffer.getInt(), buffer.getInt())));
+		}
+		Player player = playerLoader.loadPlayer(playerStart);
+		
+		return new RoomData(world, player, monsters, seed);
+	}
+	
+	/**
+	 * Maps a whole file into memory. The mapping stays valid after the file is closed.
+	 * @param fileName - The file name
+	 * @return The mapped file, read-only
+	 * @throws IOException if the file can't be read
+	 */
+	private static ByteBuffer map(String fileName) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(fileName, "r");
+		try {
+			FileChannel channel = file.getChannel();
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} finally {
+			file.close();
+		}
+	}
+	
+	/**
+	 * Writes a room layout as a binary room file.
+	 * @param layout - The room layout
+	 * @param binaryRoomFile - The file name to write to
+	 * @throws IOException if the file can't be written, or the room has too many names for the format
+	 */
+	public static void write(RoomLayout layout, String binaryRoomFile) throws IOException {
+		int columns = layout.getColumns(), rows = layout.getRows();
+		
+		Map<String, Integer> names = new LinkedHashMap<String, Integer>();
+		for (int row = 0; row < rows; row++)
+			for (int column = 0; column < columns; column++)
+				if (!layout.features[column][row].equals(Images.NULL_TILE))
+					addName(names, layout.features[column][row]);
+		int featureNames = names.size();
+		if (featureNames > maximumFeatureNames)
+			throw new IOException(binaryRoomFile + ": " + featureNames + " feature names, but the format allows " + maximumFeatureNames);
+		for (int row = 0; row < rows; row++)
+			for (int column = 0; column < columns; column++)
+				addName(names, layout.tiles[column][row]);
+		for (String monsterName : layout.monsterNames)
+			addName(names, monsterName);
+		if (names.size() > maximumNames)
+			throw new IOException(binaryRoomFile + ": " + names.size() + " names, but the format allows " + maximumNames);
+		
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(binaryRoomFile)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeInt(columns);
+			out.writeInt(rows);
+			
+			out.writeShort(names.size());
+			out.writeShort(featureNames);
+			for (String name : names.keySet()) {
+				byte[] bytes = name.getBytes(utf8);
+				if (bytes.length > 0xFFFF)
+					throw new IOException(binaryRoomFile + ": the name " + name.substring(0, 20) + "... is too long");
+				out.writeShort(bytes.length);
+				out.write(bytes);
+			}
+			
+			for (int row = 0; row < rows; row++)
+				for (int column = 0; column < columns; column++)
+					out.writeShort(names.get(layout.tiles[column][row]));
+			for (int row = 0; row < rows; row++)
+				for (int column = 0; column < columns; column++)
+					out.writeByte(layout.features[column][row].equals(Images.NULL_TILE) ? 0 : names.get(layout.features[column][row]) + 1);
+			
+			out.writeInt(layout.playerStart.x);
+			out.writeInt(layout.playerStart.y);
+			out.writeInt(layout.monsterNames.size());
+			for (int monster = 0; monster < layout.monsterNames.size(); monster++) {
+				out.writeShort(names.get(layout.monsterNames.get(monster)));
+				out.writeInt(layout.monsterStarts.get(monster).x);
+				out.writeInt(layout.monsterStarts.get(monster).y);
+			}
+		} finally {
+			out.close();
+		}
+	}
+	
+	/**
+	 * Gives a name the next number, unless it already has one.
+	 * @param names - The number of each name so far
+	 * @param name - The name
+	 */
+	private static void addName(Map<String, Integer> names, String name) {
+		if (!names.containsKey(name))
+			names.put(name, names.size());
+	}
+	
+	/**
+	 * Converts a map file to a binary room file.
+	 * @param roomFile - The map file name
+	 * @param binaryRoomFile - The binary room file name to write to
+	 * @throws IOException if either file can't be accessed or the map file is malformed
+	 */
+	public static void convert(String roomFile, String binaryRoomFile) throws IOException {
+		write(RoomLoader.readLayout(roomFile), binaryRoomFile);
+	}
+	
+	/**
+	 * Converts map files to binary room files.
+	 * @param args - Command line arguments: the map files to convert. Each is written next to itself with the binary extension.
+	 */
+	public static void main(String[] args) {
+		try {
+			for (String roomFile : args) {
+				int extension = roomFile.lastIndexOf('.');
+				String binaryRoomFile = (extension > 0 ? roomFile.substring(0, extension) : roomFile) + EXTENSION;
+				convert(roomFile, binaryRoomFile);
+				System.out.println("Wrote " + binaryRoomFile);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package loader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One named entry in a data file: a "name:" line and the "key:value" lines after it.
+ * Values are checked and converted as they're read, and anything wrong is reported with its file and line number.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class DataEntry {
+	
+	/** The deliminator between items in a list value **/
+	private static final String listDeliminator = ",";
+	
+	/** The file the entry is from, for errors **/
+	private final String file;
+	
+	/** The line the entry's name is on **/
+	private final int line;
+	
+	/** The entry's name **/
+	private final String name;
+	
+	/** The entry's values, by key, in file order **/
+	private final Map<String, String> values = new LinkedHashMap<String, String>();
+	
+	/** The line each value is on, by key **/
+	private final Map<String, Integer> lines = new HashMap<String, Integer>();
+	
+	/**
+	 * Creates a new entry with no values yet.
+	 * @param file - The file the entry is from
+	 * @param line - The line the entry's name is on
+	 * @param name - The entry's name
+	 */
+	DataEntry(String file, int line, String name) {
+		this.file = file;
+		this.line = line;
+		this.name = name;
+	}
+	
+	/**
+	 * Adds a value to the entry.
+	 * @param key - The value's key
+	 * @param value - The value
+	 * @param line - The line the value is on
+	 * @throws RuntimeException if the entry already has a value for the key
+	 */
+	void put(String key, String value, int line) {
+		if (values.containsKey(key))
+			throw new RuntimeException(file + ":" + line + ": " + name + " already has a " + key + " on line " + lines.get(key));
+		values.put(key, value);
+		lines.put(key, line);
+	}
+	
+	/** @return The entry's name **/
+	public String getName() { return name; }
+	
+	/**
+	 * Checks that the entry has no keys other than the ones given, to catch misspelled keys.
+	 * @param keys - The keys entries of this kind can have
+	 * @throws RuntimeException if the entry has any other key
+	 */
+	public void checkKeys(String... keys) {
+		for (String key : values.keySet()) {
+			boolean isKnown = false;
+			for (String known : keys)
+				isKnown |= known.equals(key);
+			if (!isKnown)
+				throw error(key, name + " has an unknown key: " + key);
+		}
+	}
+	
+	/**
+	 * @param key - The key
+	 * @return True if the entry has a value for the key
+	 */
+	public boolean has(String key) {
+		return values.containsKey(key);
+	}
+	
+	/**
+	 * @param key - The key
+	 * @return The value
+	 * @throws RuntimeException if the entry has no value for the key, or it's empty
+	 */
+	public String getString(String key) {
+		String value = values.get(key);
+		if (value == null)
+			throw new RuntimeException(file + ":" + line + ": " + name + " has no " + key);
+		if (value.isEmpty())
+			throw error(key, name + " has an empty " + key);
+		return value;
+	}
+	
+	/**
+	 * @param key - The key
+	 * @param minimum - The smallest allowed value
+	 * @return The value, as a whole number
+	 * @throws RuntimeException if the entry has no value for the key, or it isn't a whole number of at least the minimum
+	 */
+	public int getInt(String key, int minimum) {
+		String value = getString(key);
+		int number;
+		try {
+			number = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw error(key, name + "'s " + key + " should be a whole number, not \"" + value + "\"");
+		}
+		if (number < minimum)
+			throw error(key, name + "'s " + key + " should be at least " + minimum + ", not " + number);
+		return number;
+	}
+	
+	/**
+	 * @param key - The key
+	 * @return True if the value is "yes", false if it is "no"
+	 * @throws RuntimeException if the entry has no value for the key, or it is neither
+	 */
+	public boolean getBoolean(String key) {
+		String value = getString(key);
+		if (value.equals("yes"))
+			return true;
+		if (value.equals("no"))
+			return false;
+		throw error(key, name + "'s " + key + " should be \"yes\" or \"no\", not \"" + value + "\"");
+	}
+	
+	/**
+	 * @param key - The key
+	 * @return The ID of the sprite the value names
+	 * @throws RuntimeException if the entry has no value for the key, or there is no sprite with that name
+	 */
+	public int getSprite(String key) {
+		String value = getString(key);
+		int id = ImageLoader.getRegistry().getId(value);
+		if (id == SpriteRegistry.NO_SPRITE)
+			throw error(key, name + "'s " + key + " is " + value + ", but there is no sprite with that name");
+		return id;
+	}
+	
+	/**
+	 * @param key - The key
+	 * @return The items of the comma-separated value, in order
+	 * @throws RuntimeException if the entry has no value for the key, or any item is empty
+	 */
+	public List<String> getList(String key) {
+		List<String> items = new ArrayList<String>();
+		for (String item : getString(key).split(listDeliminator, -1)) {
+			if (item.isEmpty())
+				throw error(key, name + "'s " + key + " has an empty item");
+			items.add(item);
+		}
+		return Collections.unmodifiableList(items);
+	}
+	
+	/**
+	 * Makes an error about one of the entry's values, pointing at its line.
+	 * @param key - The value's key, or one the entry doesn't have to point at the entry's name
+	 * @param message - What's wrong
+	 * @return The error, to throw
+	 */
+	public RuntimeException error(String key, String message) {
+		Integer valueLine = lines.get(key);
+		return new RuntimeException(file + ":" + (valueLine == null ? line : valueLine) + ": " + message);
+	}
+}
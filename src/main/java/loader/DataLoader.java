@@ -1,74 +1,174 @@
 package loader;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import data.Files;
 
 /**
  * Loads data from a .DATA file.
+ * The file is streamed as UTF-8 bytes and split into lines and "key:value" pairs before anything is decoded,
+ * 	so each line costs one decode for its key and one for its value. Anything malformed is reported with its line number.
  * @author Milo Carbol
  * @since 13 April 2013
  */
-public abstract class DataLoader {
+public class DataLoader {
 	
 	/** The deliminator between name and value in each line **/
-	private static String deliminator = ":";
+	private static final byte deliminator = ':';
 	
 	/** The file type **/
-	private static String fileType = "data";
+	private static final String fileType = "data";
 	
-	/** The data map **/
-	protected Map<String, Map<String, String>> data;
+	/** The key that starts a new entry **/
+	private static final String nameKey = "name";
 	
-	public DataLoader(String dataFile) {
+	/** The byte order mark some editors put at the start of UTF-8 files **/
+	private static final byte[] byteOrderMark = { (byte)0xEF, (byte)0xBB, (byte)0xBF };
+	
+	/** The size of each read from the file **/
+	private static final int bufferSize = 8192;
+	
+	/** The file name, for errors **/
+	private final String fileName;
+	
+	/** Decodes names and values, reporting bytes that aren't UTF-8 rather than replacing them **/
+	private final CharsetDecoder decoder = Charset.forName("UTF-8").newDecoder()
+												.onMalformedInput(CodingErrorAction.REPORT)
+												.onUnmappableCharacter(CodingErrorAction.REPORT);
+	
+	/** The entries read so far **/
+	private final List<DataEntry> entries = new ArrayList<DataEntry>();
+	
+	/** The names of the entries read so far **/
+	private final Set<String> names = new HashSet<String>();
+	
+	/** The entry the current line belongs to, or null before the first name **/
+	private DataEntry entry;
+	
+	/**
+	 * @param fileName - The file name, for errors
+	 */
+	private DataLoader(String fileName) {
+		this.fileName = fileName;
+	}
+	
+	/**
+	 * Reads the entries from a data file.
+	 * @param dataFile - The file, without the directory or extension (i.e. "monsters")
+	 * @return The entries, in file order
+	 * @throws RuntimeException if the file can't be read or is malformed
+	 */
+	public static List<DataEntry> load(String dataFile) {
+		String fileName = fileFor(dataFile).getName();
 		try {
-			data = load(dataFile);
+			InputStream in = new FileInputStream(fileFor(dataFile));
+			try {
+				return new DataLoader(fileName).read(in);
+			} finally {
+				in.close();
+			}
 		} catch (IOException e) {
-			throw new RuntimeException(e);
+			throw new RuntimeException(fileName + ": can't be read", e);
 		}
 	}
 	
 	/**
-	 * Clears the data map to free up memory.
+	 * @param dataFile - The file, without the directory or extension (i.e. "monsters")
+	 * @return The file
 	 */
-	public void release() {
-		data = null;
+	static File fileFor(String dataFile) {
+		return new File(Files.DATA + dataFile + "." + fileType);
 	}
 	
 	/**
-	 * Creates a map of names to details from a data file.
-	 * @param dataFile - The file
-	 * @return A map of names to details
-	 * @throws IOException if the file can't be opened or read from
+	 * Reads every entry from a stream, a buffer at a time.
+	 * @param in - The stream
+	 * @return The entries, in file order
+	 * @throws IOException if the stream can't be read
 	 */
-	private Map<String, Map<String, String>> load(String dataFile) throws IOException {
-		BufferedReader reader = new BufferedReader(new FileReader(Files.DATA + dataFile + "." + fileType));
-		
-		Map<String, Map<String, String>> data = new HashMap<String, Map<String, String>>();
-		
-		String name = null;
-		String line;
-		while ((line = reader.readLine()) != null) {
-			String[] lineData = line.split(deliminator);
-			if (lineData[0].equals("name")) {
-				name = lineData[1];
-				data.put(name, new HashMap<String, String>());
-			}
-			else if (name != null) {
-				data.get(name).put(lineData[0], lineData[1]);
+	private List<DataEntry> read(InputStream in) throws IOException {
+		byte[] buffer = new byte[bufferSize], line = new byte[128];
+		int length = 0, lineNumber = 1, read;
+		while ((read = in.read(buffer)) != -1)
+			for (int i = 0; i < read; i++) {
+				if (buffer[i] == '\n') {
+					readLine(line, length, lineNumber++);
+					length = 0;
+				}
+				else {
+					if (length == line.length)
+						line = Arrays.copyOf(line, length * 2);
+					line[length++] = buffer[i];
+				}
 			}
-			else if (name == null) {
-				reader.close();
-				throw new IOException("Parse error: " + dataFile + " should begin with \"name:\"");
-			}
-		}
+		readLine(line, length, lineNumber);
+		return entries;
+	}
+	
+	/**
+	 * Reads one line: a blank line, the name of a new entry or a value for the current one.
+	 * @param line - The line's bytes, without the line break
+	 * @param length - The number of bytes in the line
+	 * @param lineNumber - The line number, from 1
+	 * @throws RuntimeException if the line is malformed
+	 */
+	private void readLine(byte[] line, int length, int lineNumber) {
+		int start = 0;
+		if (lineNumber == 1 && length >= byteOrderMark.length && line[0] == byteOrderMark[0] && line[1] == byteOrderMark[1] && line[2] == byteOrderMark[2])
+			start = byteOrderMark.length;
+		if (length > start && line[length - 1] == '\r')
+			length--;
+		if (length == start)
+			return;
 		
-		reader.close();
+		int split = start;
+		while (split < length && line[split] != deliminator)
+			split++;
+		if (split == length)
+			throw new RuntimeException(fileName + ":" + lineNumber + ": expected \"key:value\"");
 		
-		return data;
+		String key = decode(line, start, split, lineNumber),
+			   value = decode(line, split + 1, length, lineNumber);
+		if (key.equals(nameKey)) {
+			if (value.isEmpty())
+				throw new RuntimeException(fileName + ":" + lineNumber + ": empty name");
+			if (!names.add(value))
+				throw new RuntimeException(fileName + ":" + lineNumber + ": there is already an entry named " + value);
+			entry = new DataEntry(fileName, lineNumber, value);
+			entries.add(entry);
+		}
+		else if (entry == null)
+			throw new RuntimeException(fileName + ":" + lineNumber + ": " + fileName + " should begin with \"" + nameKey + ":\"");
+		else
+			entry.put(key, value, lineNumber);
+	}
+	
+	/**
+	 * @param line - The line's bytes
+	 * @param from - The first byte to decode
+	 * @param to - The byte after the last one to decode
+	 * @param lineNumber - The line number, for errors
+	 * @return The decoded text
+	 * @throws RuntimeException if the bytes aren't UTF-8
+	 */
+	private String decode(byte[] line, int from, int to, int lineNumber) {
+		try {
+			return decoder.decode(ByteBuffer.wrap(line, from, to - from)).toString();
+		} catch (CharacterCodingException e) {
+			throw new RuntimeException(fileName + ":" + lineNumber + ": isn't valid UTF-8", e);
+		}
 	}
 }
@@ -0,0 +1,228 @@
+package loader;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import data.Files;
+import entity.actor.pathfinder.PathfinderType;
+
+/**
+ * Every definition in the data files: the powers, monsters, player and room types, read and checked once for the whole process.
+ * Loaders and generators look definitions up here, so building a room reads no files.
+ * The definitions can be reloaded while the game runs. A reload builds a whole new registry and swaps it in only if
+ * 	every file is valid, so a mistake in a file being edited leaves the last good definitions in use.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class DefinitionRegistry {
+	
+	/** If each new game reloads the data files that have changed since they were read. Set with -Dquest.reloadData=true. **/
+	public static final boolean RELOADS_CHANGED_FILES = Boolean.getBoolean("quest.reloadData");
+	
+	/** The name of the player's entry in the player file **/
+	private static final String playerName = "Player";
+	
+	/** The data files the definitions are read from **/
+	private static final String[] dataFiles = { Files.POWERS, Files.MONSTERS, Files.PLAYER, Files.ROOM_DATA };
+	
+	/** The definitions in use. Built the first time a definition is needed. **/
+	private static volatile DefinitionRegistry registry;
+	
+	/** The definition of each power, by name **/
+	private final Map<String, PowerDef> powers = new HashMap<String, PowerDef>();
+	
+	/** The definition of each monster, by name **/
+	private final Map<String, MonsterDef> monsters = new HashMap<String, MonsterDef>();
+	
+	/** The definition of each room type, by name **/
+	private final Map<String, RoomTypeDef> roomTypes = new HashMap<String, RoomTypeDef>();
+	
+	/** The definition of the player **/
+	private final PlayerDef player;
+	
+	/** When each data file had last been changed as it was read, in the same order as dataFiles **/
+	private final long[] lastModified = new long[dataFiles.length];
+	
+	/**
+	 * Reads every data file.
+	 * @throws RuntimeException if a file can't be read, is malformed or refers to something that doesn't exist
+	 */
+	private DefinitionRegistry() {
+		for (int file = 0; file < dataFiles.length; file++)
+			lastModified[file] = DataLoader.fileFor(dataFiles[file]).lastModified();
+		
+		for (DataEntry entry : DataLoader.load(Files.POWERS)) {
+			entry.checkKeys("image", "range", "radius", "damage", "usable");
+			powers.put(entry.getName(), new PowerDef(	entry.getName(),
+														entry.getSprite("image"),
+														entry.getInt("range", 0),
+														entry.getInt("radius", 0),
+														entry.getInt("damage", 0),
+														entry.getBoolean("usable")));
+		}
+		
+		for (DataEntry entry : DataLoader.load(Files.MONSTERS)) {
+			entry.checkKeys("health", "speed", "alive", "dead", "powers", "pathfinder");
+			monsters.put(entry.getName(), new MonsterDef(	entry.getName(),
+															entry.getInt("health", 1),
+															entry.getInt("speed", 1),
+															entry.getSprite("alive"),
+															entry.getSprite("dead"),
+															loadPowers(entry, "powers"),
+															loadPathfinderType(entry)));
+		}
+		
+		PlayerDef player = null;
+		for (DataEntry entry : DataLoader.load(Files.PLAYER)) {
+			if (!entry.getName().equals(playerName))
+				throw entry.error("name", "the player should be named " + playerName + ", not " + entry.getName());
+			entry.checkKeys("health", "speed", "alive", "dead", "powers");
+			player = new PlayerDef(	entry.getInt("health", 1),
+									entry.getInt("speed", 1),
+									entry.getSprite("alive"),
+									entry.getSprite("dead"),
+									loadPowers(entry, "powers"));
+		}
+		if (player == null)
+			throw new RuntimeException(DataLoader.fileFor(Files.PLAYER).getName() + ": there is no entry named " + playerName);
+		this.player = player;
+		
+		for (DataEntry entry : DataLoader.load(Files.ROOM_DATA)) {
+			entry.checkKeys("floor", "water", "wall", "obstacle");
+			roomTypes.put(entry.getName(), new RoomTypeDef(	entry.getName(),
+															entry.getList("floor"),
+															loadOptionalList(entry, "water"),
+															entry.getList("wall"),
+															loadOptionalList(entry, "obstacle")));
+		}
+	}
+	
+	/**
+	 * @return The definitions in use, reading the data files if this is the first time they are needed.
+	 * @throws RuntimeException if the data files can't be read or are malformed
+	 */
+	public static DefinitionRegistry get() {
+		if (registry == null)
+			synchronized (DefinitionRegistry.class) {
+				if (registry == null)
+					registry = new DefinitionRegistry();
+			}
+		return registry;
+	}
+	
+	/**
+	 * Reads every data file again and uses the new definitions from now on.
+	 * Anything already created from the old definitions keeps them.
+	 * @return The new definitions
+	 * @throws RuntimeException if the data files can't be read or are malformed, in which case the old definitions are kept
+	 */
+	public static synchronized DefinitionRegistry reload() {
+		registry = new DefinitionRegistry();
+		return registry;
+	}
+	
+	/**
+	 * Reloads the definitions if any data file has changed since it was read.
+	 * A file that doesn't parse is reported on the error stream and the old definitions are kept, so a half-edited file doesn't stop the game.
+	 * @return The definitions in use
+	 */
+	public static synchronized DefinitionRegistry reloadIfChanged() {
+		DefinitionRegistry current = get();
+		for (int file = 0; file < dataFiles.length; file++)
+			if (DataLoader.fileFor(dataFiles[file]).lastModified() != current.lastModified[file]) {
+				try {
+					return reload();
+				} catch (RuntimeException e) {
+					System.err.println("Keeping the old definitions: " + e.getMessage());
+					return current;
+				}
+			}
+		return current;
+	}
+	
+	/**
+	 * Looks up the powers named in an entry.
+	 * @param entry - The entry naming the powers
+	 * @param key - The key of the list of powers
+	 * @return The definitions of the powers, in order. The list can't be modified.
+	 * @throws RuntimeException if a power isn't in the power file
+	 */
+	private List<PowerDef> loadPowers(DataEntry entry, String key) {
+		List<PowerDef> powerList = new ArrayList<PowerDef>();
+		for (String name : entry.getList(key)) {
+			PowerDef power = powers.get(name);
+			if (power == null)
+				throw entry.error(key, entry.getName() + " has an unknown power: " + name);
+			powerList.add(power);
+		}
+		return Collections.unmodifiableList(powerList);
+	}
+	
+	/**
+	 * @param entry - A monster's entry
+	 * @return The kind of pathfinder the monster uses, or A* if it doesn't say
+	 * @throws RuntimeException if the pathfinder isn't a known kind
+	 */
+	private static PathfinderType loadPathfinderType(DataEntry entry) {
+		if (!entry.has("pathfinder"))
+			return PathfinderType.A_STAR;
+		String name = entry.getString("pathfinder");
+		try {
+			return PathfinderType.fromName(name);
+		} catch (RuntimeException e) {
+			throw entry.error("pathfinder", entry.getName() + " has an unknown pathfinder: " + name);
+		}
+	}
+	
+	/**
+	 * @param entry - A room type's entry
+	 * @param key - The key of the list
+	 * @return The list, or an empty list if the entry doesn't have one
+	 */
+	private static List<String> loadOptionalList(DataEntry entry, String key) {
+		return entry.has(key) ? entry.getList(key) : Collections.<String>emptyList();
+	}
+	
+	/**
+	 * @param name - The name of the power
+	 * @return The power's definition
+	 * @throws RuntimeException if there is no power with the name
+	 */
+	public PowerDef getPower(String name) {
+		PowerDef power = powers.get(name);
+		if (power == null)
+			throw new RuntimeException("No power named " + name);
+		return power;
+	}
+	
+	/**
+	 * @param name - The name of the monster
+	 * @return The monster's definition
+	 * @throws RuntimeException if there is no monster with the name
+	 */
+	public MonsterDef getMonster(String name) {
+		MonsterDef monster = monsters.get(name);
+		if (monster == null)
+			throw new RuntimeException("No monster named " + name);
+		return monster;
+	}
+	
+	/** @return The player's definition **/
+	public PlayerDef getPlayer() { return player; }
+	
+	/**
+	 * @param name - The name of the room type
+	 * @return The room type's tiles and features
+	 * @throws RuntimeException if there is no room type with the name
+	 */
+	public RoomTypeDef getRoomType(String name) {
+		RoomTypeDef roomType = roomTypes.get(name);
+		if (roomType == null)
+			throw new RuntimeException("No room type named " + name);
+		return roomType;
+	}
+}
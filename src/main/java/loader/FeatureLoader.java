@@ -1,9 +1,9 @@
 package loader;
 
+import level.World;
 import control.Game;
 import data.Images;
-import entity.Feature;
-import gui.GameWindow;
+import generator.RandomNumber;
 
 /**
  * Loads features from strings.
@@ -24,18 +24,19 @@ public class FeatureLoader {
 	}
 	
 	/**
-	 * Creates the true feature grid from a string grid.
-	 * @param featureGrid - The string grid
-	 * @return The true grid of Feature objects
+	 * Puts the features from a string grid in the world.
+	 * Walls and water only block the way, so they're stored as a type and an image rather than as Feature objects.
+	 * Every type is placed before any image is picked, since edged images depend on the features around them.
+	 * @param featureGrid - The string grid, the same size as the world
+	 * @param world - The world to put the features in
+	 * @param random - Decides which variant of each feature's image to use
 	 */
-	public Feature[][] createFeatures(String[][] featureGrid) {
-		ImageTypeChecker imageTypeChecker = new ImageTypeChecker(featureGrid);
-		
-		Feature[][] features = new Feature[GameWindow.GRID_COLUMNS][GameWindow.GRID_ROWS];
-		for (int row = 0; row < GameWindow.GRID_ROWS; row++)
-			for (int column = 0; column < GameWindow.GRID_COLUMNS; column++)
+	public void createFeatures(String[][] featureGrid, World world, RandomNumber random) {
+		for (int row = 0; row < world.getRows(); row++)
+			for (int column = 0; column < world.getColumns(); column++)
 				if (!featureGrid[column][row].equals(Images.NULL_TILE))
-					features[column][row] = new Feature(column, row, imageTypeChecker.computeImage(featureGrid[column][row], column, row), null, game);
-		return features;
+					world.setFeature(column, row, world.getFeatureType(featureGrid[column][row]), World.NO_IMAGE);
+		
+		new ImageTypeChecker(world, random).autotile();
 	}
 }
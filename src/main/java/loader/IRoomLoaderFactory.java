@@ -0,0 +1,19 @@
+package loader;
+
+import control.Game;
+
+/**
+ * Makes room loaders for new games.
+ * Loaders need the game they are loading for, which doesn't exist until the game's constructor runs.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public interface IRoomLoaderFactory {
+	
+	/**
+	 * Makes a room loader.
+	 * @param game - The game the room is for
+	 * @return The loader
+	 */
+	public IRoomLoader create(Game game);
+}
@@ -0,0 +1,140 @@
+package loader;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Every sprite in the images directory, decoded once and packed into a single texture.
+ * Sprites are handed out as regions of the texture, so there is only ever one copy of each in memory.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class ImageAtlas {
+	
+	/** The extension sprite files use, in any case **/
+	private static final String extension = ImageLoader.IMAGE_EXTENSION;
+	
+	/** The texture all the sprites are packed into **/
+	private final BufferedImage texture;
+	
+	/** The region of the texture for each sprite, by file name without the extension (i.e. "floor_stone_00") **/
+	private final Map<String, Image> regions;
+	
+	/**
+	 * @param texture - The texture all the sprites are packed into
+	 * @param regions - The region of the texture for each sprite
+	 */
+	private ImageAtlas(BufferedImage texture, Map<String, Image> regions) {
+		this.texture = texture;
+		this.regions = Collections.unmodifiableMap(regions);
+	}
+	
+	/**
+	 * Decodes every sprite in a directory and packs them into a texture.
+	 * Sprites are sorted tallest first and laid out in rows (shelves), which wastes little space when they are similar sizes.
+	 * @param directory - The directory to load from
+	 * @return The atlas
+	 * @throws RuntimeException if the directory or a sprite can't be read
+	 */
+	public static ImageAtlas load(File directory) {
+		File[] files = directory.listFiles();
+		if (files == null)
+			throw new RuntimeException("Can't read image directory " + directory);
+		
+		final Map<String, BufferedImage> sprites = new HashMap<String, BufferedImage>();
+		int totalArea = 0, widest = 0;
+		for (File file : files) {
+			String fileName = file.getName();
+			if (!fileName.toLowerCase().endsWith(extension))
+				continue;
+			
+			try {
+				BufferedImage sprite = ImageIO.read(file);
+				if (sprite == null)
+					throw new RuntimeException("Can't decode image " + file);
+				sprites.put(fileName.substring(0, fileName.length() - extension.length()), sprite);
+				totalArea += sprite.getWidth() * sprite.getHeight();
+				widest = Math.max(widest, sprite.getWidth());
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		
+		List<String> names = new ArrayList<String>(sprites.keySet());
+		Collections.sort(names, new Comparator<String>() {
+			public int compare(String first, String second) {
+				int byHeight = sprites.get(second).getHeight() - sprites.get(first).getHeight();
+				return byHeight != 0 ? byHeight : first.compareTo(second);
+			}
+		});
+		
+		int textureWidth = Math.max(widest, (int)Math.ceil(Math.sqrt(totalArea))),
+			x = 0, y = 0, shelfHeight = 0;
+		Map<String, int[]> positions = new HashMap<String, int[]>();
+		for (String name : names) {
+			BufferedImage sprite = sprites.get(name);
+			if (x + sprite.getWidth() > textureWidth) {
+				x = 0;
+				y += shelfHeight;
+				shelfHeight = 0;
+			}
+			positions.put(name, new int[] { x, y });
+			x += sprite.getWidth();
+			shelfHeight = Math.max(shelfHeight, sprite.getHeight());
+		}
+		
+		BufferedImage texture = createCompatibleImage(textureWidth, Math.max(1, y + shelfHeight));
+		Graphics2D graphics = texture.createGraphics();
+		Map<String, Image> regions = new HashMap<String, Image>();
+		for (String name : names) {
+			BufferedImage sprite = sprites.get(name);
+			int[] position = positions.get(name);
+			graphics.drawImage(sprite, position[0], position[1], null);
+			regions.put(name, texture.getSubimage(position[0], position[1], sprite.getWidth(), sprite.getHeight()));
+		}
+		graphics.dispose();
+		
+		return new ImageAtlas(texture, regions);
+	}
+	
+	/**
+	 * Makes an image in the screen's pixel format, so drawing it needs no conversion.
+	 * Without a screen, a plain ARGB image is used.
+	 * @param width - The width, in pixels
+	 * @param height - The height, in pixels
+	 * @return The image
+	 */
+	private static BufferedImage createCompatibleImage(int width, int height) {
+		if (GraphicsEnvironment.isHeadless())
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+				.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+	
+	/**
+	 * @param name - The sprite's file name without the extension (i.e. "floor_stone_00")
+	 * @return The sprite's region of the texture, or null if there is no such sprite
+	 */
+	public Image getRegion(String name) {
+		return regions.get(name);
+	}
+	
+	/** @return The texture all the sprites are packed into **/
+	public BufferedImage getTexture() { return texture; }
+	
+	/** @return The number of sprites in the atlas **/
+	public int size() { return regions.size(); }
+}
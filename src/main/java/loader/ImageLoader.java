@@ -1,10 +1,12 @@
 package loader;
 
 import java.awt.Image;
-import java.awt.Toolkit;
+import java.io.File;
+import java.util.concurrent.ThreadLocalRandom;
 
 import data.Files;
-import data.Images;
+import generator.RandomNumber;
+import level.World;
 
 /**
  * Loads images from files.
@@ -16,54 +18,178 @@ public class ImageLoader {
 	/** The image extension that all images use **/
 	public static final String IMAGE_EXTENSION = ".png";
 	
-	/** The toolkit to use to load images **/
-	private static final Toolkit toolkit = Toolkit.getDefaultToolkit();
+	/** Every sprite, decoded once. Built the first time an image is needed. **/
+	private static volatile ImageAtlas atlas;
+	
+	/** If images are loaded at all. Headless games turn this off so no toolkit or display is needed. **/
+	private static volatile boolean imagesAreEnabled = true;
+	
+	/** The table of every sprite name. Built the first time a name is resolved. **/
+	private static volatile SpriteRegistry registry;
+	
+	/** Every sprite file's region of the atlas, by file number. Built the first time an image is needed. **/
+	private static volatile Image[] images;
 	
 	/**
-	 * Regex that matches image names that are specific rather than generic.
-	 * Example: "floor_00" or "floor_stone_00" will match, but "floor" won't.
+	 * Stops images from being loaded: from now on every image is null.
+	 * Image names are still resolved as usual, so games play out the same with or without images.
 	 */
-	private static String specificImageRegex = "[a-z]+(_[a-z]+)?_[0-9]{2}";
+	public static void disableImages() {
+		imagesAreEnabled = false;
+	}
 	
 	/**
 	 * Loads an image of the type specified ("floor", "floor_stone", etc.)
 	 * If a specific image is provided (i.e. "floor_00"), it will load that one.
 	 * @param type - The type name ("floor", etc.), or the full file name ("floor_00").
 	 * @return - The loaded image.
+	 * @throws RuntimeException if there is no such image
 	 */
 	public static Image loadImage(String type) {
-		if (type.matches(specificImageRegex)) {
-			return fetchImage(type);
-		}
-		else {
-			String baseType = type;
-			
-			if (type.matches(".+_[ilrtb]{1,3}")) {	
-				String[] typeParts = type.split("_");
-				baseType = "";
-				for (int i = 0; i < typeParts.length - 1; i++) {
-					if (i > 0)
-						baseType += "_";
-					baseType += typeParts[i];
-				}
-			}
-			int specific = (int)(Math.random()*Images.TYPE_COUNTS.get(baseType));
-			String specificString;
-			if (specific < 10)
-				specificString = "0" + specific;
-			else
-				specificString = "" + specific;
-			
-			return fetchImage(type + "_" + specificString);
-		}
+		return fetchImage(loadFile(type));
 	}
 	
 	/**
-	 * Loads an image from a file.
-	 * @param fileName - The file name, without the extension.
+	 * Loads a random variant of a sprite.
+	 * @param spriteId - The sprite's ID
 	 * @return - The loaded image.
 	 */
-	private static Image fetchImage(String fileName) {
-		return toolkit.getImage(Files.IMAGES + fileName + IMAGE_EXTENSION);
+	public static Image loadImage(int spriteId) {
+		return fetchImage(loadFile(spriteId));
+	}
+	
+	/**
+	 * Picks the file for an image of the type specified, the same way as loadImage, without fetching the image.
+	 * @param type - The type name ("floor", etc.), or the full file name ("floor_00").
+	 * @return - The file number.
+	 * @throws RuntimeException if there is no such image
+	 */
+	public static int loadFile(String type) {
+		int id = getRegistry().getId(type);
+		return id == SpriteRegistry.NO_SPRITE ? fileNamed(type) : loadFile(id);
+	}
+	
+	/**
+	 * Picks the file for an image of the type specified, choosing the variant with a room's random numbers
+	 * 	so the room looks the same every time it is generated from its seed.
+	 * @param type - The type name ("floor", etc.), or the full file name ("floor_00").
+	 * @param random - Decides the variant
+	 * @return - The file number.
+	 * @throws RuntimeException if there is no such image
+	 */
+	public static int loadFile(String type, RandomNumber random) {
+		int id = getRegistry().getId(type);
+		return id == SpriteRegistry.NO_SPRITE ? fileNamed(type) : loadFile(id, random);
+	}
+	
+	/**
+	 * Picks the file for a random variant of a sprite.
+	 * Each thread picks with its own generator, so loading images never contends.
+	 * @param spriteId - The sprite's ID
+	 * @return - The file number.
+	 */
+	public static int loadFile(int spriteId) {
+		SpriteRegistry registry = getRegistry();
+		return registry.getFile(spriteId, ThreadLocalRandom.current().nextInt(registry.getVariantCount(spriteId)));
+	}
+	
+	/**
+	 * Picks the file for a variant of a sprite, chosen with a room's random numbers.
+	 * @param spriteId - The sprite's ID
+	 * @param random - Decides the variant
+	 * @return - The file number.
+	 */
+	public static int loadFile(int spriteId, RandomNumber random) {
+		SpriteRegistry registry = getRegistry();
+		return registry.getFile(spriteId, random.randomBetween(0, registry.getVariantCount(spriteId)));
+	}
+	
+	/**
+	 * Makes a floor tile the default for a world, so it doesn't have to be written to every grid space.
+	 * @param world - The world
+	 * @param type - The type name ("floor_stone", etc.), or the full file name ("floor_stone_00") for a single variant
+	 * @throws RuntimeException if there is no such image
+	 */
+	public static void setDefaultTile(World world, String type) {
+		SpriteRegistry registry = getRegistry();
+		int id = registry.getId(type);
+		if (id == SpriteRegistry.NO_SPRITE)
+			world.setDefaultTile(fileNamed(type), 1);
+		else
+			world.setDefaultTile(registry.getFile(id, 0), registry.getVariantCount(id));
+	}
+	
+	/**
+	 * @param fileName - The full file name ("floor_00")
+	 * @return - The file number.
+	 * @throws RuntimeException if there is no such image
+	 */
+	private static int fileNamed(String fileName) {
+		int file = getRegistry().getFile(fileName);
+		if (file == SpriteRegistry.NO_SPRITE)
+			throw new RuntimeException("No image named " + fileName);
+		return file;
+	}
+	
+	/**
+	 * Resolves a sprite name to its ID, so it can be held instead of the name.
+	 * @param type - The type name ("floor_stone", "water_tl", etc.)
+	 * @return The sprite's ID
+	 * @throws RuntimeException if there is no such sprite
+	 */
+	public static int spriteId(String type) {
+		int id = getRegistry().getId(type);
+		if (id == SpriteRegistry.NO_SPRITE)
+			throw new RuntimeException("No sprite named " + type);
+		return id;
+	}
+	
+	/**
+	 * @return The table of every sprite name, building it if this is the first time it is needed.
+	 */
+	public static SpriteRegistry getRegistry() {
+		if (registry == null)
+			synchronized (ImageLoader.class) {
+				if (registry == null)
+					registry = SpriteRegistry.load(new File(Files.IMAGES));
+			}
+		return registry;
+	}
+	
+	/**
+	 * @return The atlas of every sprite, building it if this is the first time it is needed.
+	 */
+	public static ImageAtlas getAtlas() {
+		if (atlas == null)
+			synchronized (ImageLoader.class) {
+				if (atlas == null)
+					atlas = ImageAtlas.load(new File(Files.IMAGES));
+			}
+		return atlas;
+	}
+	
+	/**
+	 * Fetches an image from the atlas.
+	 * @param file - The file number, or a negative number for no image.
+	 * @return - The image, or null if there isn't one or images are disabled.
+	 */
+	public static Image fetchImage(int file) {
+		if (!imagesAreEnabled || file < 0)
+			return null;
+		
+		Image[] images = ImageLoader.images;
+		if (images == null)
+			synchronized (ImageLoader.class) {
+				if (ImageLoader.images == null) {
+					SpriteRegistry registry = getRegistry();
+					ImageAtlas atlas = getAtlas();
+					Image[] regions = new Image[registry.getFileCount()];
+					for (int i = 0; i < regions.length; i++)
+						regions[i] = atlas.getRegion(registry.getFileName(i));
+					ImageLoader.images = regions;
+				}
+				images = ImageLoader.images;
+			}
+		return images[file];
 	}
 }
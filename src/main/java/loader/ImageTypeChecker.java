@@ -1,251 +1,237 @@
 package loader;
 
-import java.awt.Image;
-import java.awt.Point;
-
-import control.Game;
-import data.Images;
+import generator.RandomNumber;
+import level.World;
 
 /**
  * Checks whether a normal image or an edged variant should be used based on a feature's surroundings.
+ * Each feature's eight neighbours are packed into a bitmask, one bit for each neighbour of the same type,
+ * 	and the mask is looked up in a table of 256 edges built once, so picking an edge takes no comparisons of names.
+ * A neighbour off the map counts as the same type. On the edge of the map every diagonal does too,
+ * 	so inverse corners are only used inside the map.
  * @author Milo Carbol
  * @since 13 April 2013
  */
 public class ImageTypeChecker {
 
-	/** The grid of feature type strings **/
-	private String[][] featureTypes;
+	/** The bit for each neighbour in a mask **/
+	private static final int	TOP_LEFT = 1,
+								TOP = 2,
+								TOP_RIGHT = 4,
+								RIGHT = 8,
+								BOTTOM_RIGHT = 16,
+								BOTTOM = 32,
+								BOTTOM_LEFT = 64,
+								LEFT = 128;
 	
-	/**
-	 * Creates a new ImageTypeChecker.
-	 * @param featureTypes - The grid of feature type strings.
-	 */
-	public ImageTypeChecker(String[][] featureTypes) {
-		this.featureTypes = featureTypes;
-	}
+	/** The bits for the four neighbours that share a side **/
+	private static final int sides = TOP | RIGHT | BOTTOM | LEFT;
 	
-	/**
-	 * Computes what image should be used: an edged variant or a regular one.
-	 * @param featureType - The feature type we're checking
-	 * @param column - The feature's x-coordinate
-	 * @param row - The feature's y-coordinate
-	 * @return The image we should use
-	 */
-	public Image computeImage(String featureType, int column, int row) {
-		if (Images.EDGED.contains(featureTypes[column][row]))
-			return ImageLoader.loadImage(featureTypes[column][row] + getPositionString(featureTypes[column][row], new Point(column, row)));
-		else
-			return ImageLoader.loadImage(featureTypes[column][row]);
-	}
+	/** The bits for all eight neighbours **/
+	private static final int all = 255;
 	
-	/**
-	 * Returns the correct suffix for edged features.
-	 * @param featureType - The feature base type (i.e. "water")
-	 * @param column - The x-coordinate of the feature
-	 * @param row - The y-coordinate of the feature
-	 * @return The correct suffix for edged features
-	 */
-	private String getPositionString(String featureType, Point location) {
-		if (isTopLeft(featureType, location))
-			return "_tl";
-		else if (isTopEdge(featureType, location))
-			return "_t";
-		else if (isTopRight(featureType, location))
-			return "_tr";
-		else if (isRightEdge(featureType, location))
-			return "_r";
-		else if (isBottomRight(featureType, location))
-			return "_br";
-		else if (isBottomEdge(featureType, location))
-			return "_b";
-		else if (isBottomLeft(featureType, location))
-			return "_bl";
-		else if (isLeftEdge(featureType, location))
-			return "_l";
-		else if (isInverseTopLeft(featureType, location))
-			return "_itl";
-		else if (isInverseTopRight(featureType, location))
-			return "_itr";
-		else if (isInverseBottomRight(featureType, location))
-			return "_ibr";
-		else if (isInverseBottomLeft(featureType, location))
-			return "_ibl";
-		else
-			return "";
-	}
+	/** The type read for a grid space off the map **/
+	private static final int offMap = -1;
 	
-	/**
-	 * Checks if a feature is the top left corner of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is the top left corner of the set
-	 */
-	private boolean isTopLeft(String featureType, Point location) {
-		return isPosition(featureType, location, false, true, true, false);
-	}
+	/** The edge suffix to use for each mask **/
+	private static final String[] edges = new String[all + 1];
 	
-	/**
-	 * Checks if a feature is a top edge of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is a top edge of the set
-	 */
-	private boolean isTopEdge(String featureType, Point location) {
-		return isPosition(featureType, location, false, true, true, true);
+	static {
+		for (int mask = 0; mask <= all; mask++)
+			edges[mask] = findEdge(mask);
 	}
 	
-	/**
-	 * Checks if a feature is the top right corner of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is the top right corner of the set
-	 */
-	private boolean isTopRight(String featureType, Point location) {
-		return isPosition(featureType, location, false, false, true, true);
-	}
+	/** The world to pick images for **/
+	private final World world;
 	
-	/**
-	 * Checks if a feature is a right edge of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is a right edge of the set
-	 */
-	private boolean isRightEdge(String featureType, Point location) {
-		return isPosition(featureType, location, true, false, true, true);
-	}
+	/** Decides which variant of each image to use **/
+	private final RandomNumber random;
 	
-	/**
-	 * Checks if a feature is the bottom right corner of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is the bottom right corner of the set
-	 */
-	private boolean isBottomRight(String featureType, Point location) {
-		return isPosition(featureType, location, true, false, false, true);
-	}
+	/** The sprite to use for each mask, by feature type. Built the first time a type is seen. **/
+	private final int[][] spriteIds = new int[World.MAX_FEATURE_TYPES + 1][];
 	
 	/**
-	 * Checks if a feature is a bottom edge of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is a bottom edge of the set
+	 * Creates a new ImageTypeChecker.
+	 * @param world - The world to pick images for
+	 * @param random - Decides which variant of each image to use
 	 */
-	private boolean isBottomEdge(String featureType, Point location) {
-		return isPosition(featureType, location, true, true, false, true);
+	public ImageTypeChecker(World world, RandomNumber random) {
+		this.world = world;
+		this.random = random;
 	}
 
 	/**
-	 * Checks if a feature is the bottom left corner of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is the bottom left corner of the set
-	 */
-	private boolean isBottomLeft(String featureType, Point location) {
-		return isPosition(featureType, location, true, true, false, false);
+	 * Picks the image for every feature in the world that only blocks the way, row by row in a single pass.
+	 * Each row's feature types are read once and kept until the row after it has been done.
+	 */
+	public void autotile() {
+		int columns = world.getColumns();
+		int[]	above = new int[columns + 2],
+				current = new int[columns + 2],
+				below = new int[columns + 2];
+		readRow(-1, above);
+		readRow(0, current);
+		
+		for (int row = 0; row < world.getRows(); row++) {
+			readRow(row + 1, below);
+			boolean isTopOrBottom = row == 0 || row == world.getRows() - 1;
+			for (int column = 0; column < columns; column++) {
+				int i = column + 1, type = current[i];
+				if (type != World.NO_FEATURE) {
+					int mask = mask(type,	above[i - 1], above[i], above[i + 1], current[i + 1],
+											below[i + 1], below[i], below[i - 1], current[i - 1],
+											isTopOrBottom || column == 0 || column == columns - 1);
+					world.setFeatureImage(column, row, ImageLoader.loadFile(getSpriteIds(type)[mask], random));
+				}
+			}
+			
+			int[] done = above;
+			above = current;
+			current = below;
+			below = done;
+		}
 	}
 
 	/**
-	 * Checks if a feature is a left edge of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is a left edge of the set
-	 */
-	private boolean isLeftEdge(String featureType, Point location) {
-		return isPosition(featureType, location, true, true, true, false);
+	 * Picks the images again for a grid space and its eight neighbours, after the feature on the grid space has changed.
+	 * A neighbour keeps its image unless it needs a different edge, so only the changed features change variant.
+	 * @param column - The x-coordinate of the grid space that changed
+	 * @param row - The y-coordinate of the grid space that changed
+	 */
+	public void autotile(int column, int row) {
+		SpriteRegistry registry = ImageLoader.getRegistry();
+		for (int y = row - 1; y <= row + 1; y++)
+			for (int x = column - 1; x <= column + 1; x++) {
+				int type = world.getFeatureType(x, y);
+				if (type == World.NO_FEATURE)
+					continue;
+				
+				int mask = mask(type,	typeAt(x - 1, y - 1), typeAt(x, y - 1), typeAt(x + 1, y - 1), typeAt(x + 1, y),
+										typeAt(x + 1, y + 1), typeAt(x, y + 1), typeAt(x - 1, y + 1), typeAt(x - 1, y),
+										x == 0 || y == 0 || x == world.getColumns() - 1 || y == world.getRows() - 1);
+				int id = getSpriteIds(type)[mask],
+					firstFile = registry.getFile(id, 0),
+					file = world.getFeatureImage(x, y);
+				if (file < firstFile || file >= firstFile + registry.getVariantCount(id))
+					world.setFeatureImage(x, y, ImageLoader.loadFile(id, random));
+			}
 	}
 	
 	/**
-	 * Checks if a feature is an inverse top left corner of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is an inverse top left corner of the set
-	 */
-	private boolean isInverseTopLeft(String featureType, Point location) {
-		return isPosition(featureType, location, true, true, true, true, false, true, true, true);
+	 * @param type - A feature type in the world
+	 * @return The ID of the sprite to use for each mask: the type's own sprite, or its edged forms if it has them
+	 * @throws RuntimeException if there is no sprite for the type
+	 */
+	private int[] getSpriteIds(int type) {
+		if (spriteIds[type] == null) {
+			SpriteRegistry registry = ImageLoader.getRegistry();
+			int id = ImageLoader.spriteId(world.getFeatureTypeName(type));
+			int[] ids = new int[all + 1];
+			for (int mask = 0; mask <= all; mask++)
+				ids[mask] = registry.isEdged(id) ? registry.getEdgedId(id, edges[mask]) : id;
+			spriteIds[type] = ids;
+		}
+		return spriteIds[type];
 	}
 	
 	/**
-	 * Checks if a feature is an inverse top right corner of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is an inverse top right corner of the set
+	 * Reads the feature types of a row, with an extra grid space off the map at each end.
+	 * @param row - The y-coordinate of the row, which may be off the map
+	 * @param types - The array to read into, two longer than the row
 	 */
-	private boolean isInverseTopRight(String featureType, Point location) {
-		return isPosition(featureType, location, true, true, true, true, true, true, false, true);
+	private void readRow(int row, int[] types) {
+		for (int column = -1; column <= world.getColumns(); column++)
+			types[column + 1] = typeAt(column, row);
 	}
 	
 	/**
-	 * Checks if a feature is an inverse bottom left corner of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is an inverse bottom left corner of the set
+	 * @param column - The x-coordinate
+	 * @param row - The y-coordinate
+	 * @return The type of the feature on the grid space, or offMap if it isn't on the map
 	 */
-	private boolean isInverseBottomLeft(String featureType, Point location) {
-		return isPosition(featureType, location, true, true, false, true, true, true, true, true);
+	private int typeAt(int column, int row) {
+		return world.contains(column, row) ? world.getFeatureType(column, row) : offMap;
 	}
 	
 	/**
-	 * Checks if a feature is an inverse bottom right corner of a set of those features.
-	 * @param featureType - The feature type string
-	 * @param location - The grid space
-	 * @return True if the feature is an inverse bottom right corner of the set
+	 * Packs a feature's surroundings into a mask.
+	 * @param type - The feature's type
+	 * @param topLeft - The type of the feature above and to the left
+	 * @param top - The type of the feature above
+	 * @param topRight - The type of the feature above and to the right
+	 * @param right - The type of the feature to the right
+	 * @param bottomRight - The type of the feature below and to the right
+	 * @param bottom - The type of the feature below
+	 * @param bottomLeft - The type of the feature below and to the left
+	 * @param left - The type of the feature to the left
+	 * @param isOnEdge - If the feature is on the edge of the map, in which case every diagonal counts as the same type
+	 * @return The mask, with a bit set for each neighbour of the same type
+	 */
+	private static int mask(int type,	int topLeft, int top, int topRight, int right,
+										int bottomRight, int bottom, int bottomLeft, int left, boolean isOnEdge) {
+		int mask =	(matches(type, top) ? TOP : 0) |
+					(matches(type, right) ? RIGHT : 0) |
+					(matches(type, bottom) ? BOTTOM : 0) |
+					(matches(type, left) ? LEFT : 0);
+		if (isOnEdge)
+			return mask | TOP_LEFT | TOP_RIGHT | BOTTOM_RIGHT | BOTTOM_LEFT;
+		return	mask |
+				(matches(type, topLeft) ? TOP_LEFT : 0) |
+				(matches(type, topRight) ? TOP_RIGHT : 0) |
+				(matches(type, bottomRight) ? BOTTOM_RIGHT : 0) |
+				(matches(type, bottomLeft) ? BOTTOM_LEFT : 0);
+	}
+	
+	/**
+	 * @param type - A feature's type
+	 * @param neighbour - The type of one of its neighbours, or offMap
+	 * @return True if the neighbour counts as the same type
 	 */
-	private boolean isInverseBottomRight(String featureType, Point location) {
-		return isPosition(featureType, location, false, true, true, true, true, true, true, true);
+	private static boolean matches(int type, int neighbour) {
+		return neighbour == type || neighbour == offMap;
 	}
 	
 	/**
-	 * Checks if a feature's surroundings matches the parameters.
-	 * @param featureType - The feature's type
-	 * @param location - The grid space
-	 * @param top - If the feature above should match this feature type
-	 * @param right - If the feature to the right should match this feature type
-	 * @param bottom - If the feature below should match this feature type
-	 * @param left - If the feature to the left should match this feature type
-	 * @return True if the feature's surroundings match the parameters
+	 * Finds the edge for a mask, trying the outside edges and corners before the inverse corners.
+	 * @param mask - The neighbours of the same type
+	 * @return The edge suffix, or SpriteRegistry.NO_EDGE if the feature isn't on an edge
 	 */
-	private boolean isPosition(	String featureType, Point location, 
-								boolean top, boolean right, boolean bottom, boolean left) {
-		int column = location.x;
-		int row = location.y;
-		boolean isTop = Game.isTop(location),
-				isRight = Game.isRight(location),
-				isBottom = Game.isBottom(location),
-				isLeft = Game.isLeft(location);
-		return	(isTop && top == true || (!isTop && featureTypes[column][row - 1].equals(featureType) == top)) &&
-				(isRight && right == true || (!isRight && featureTypes[column + 1][row].equals(featureType) == right)) &&
-				(isBottom && bottom == true || (!isBottom && featureTypes[column][row + 1].equals(featureType) == bottom)) &&
-				(isLeft && left == true || (!isLeft && featureTypes[column - 1][row].equals(featureType) == left));
+	private static String findEdge(int mask) {
+		if (isPosition(mask, sides, RIGHT | BOTTOM))
+			return "_tl";
+		else if (isPosition(mask, sides, RIGHT | BOTTOM | LEFT))
+			return "_t";
+		else if (isPosition(mask, sides, BOTTOM | LEFT))
+			return "_tr";
+		else if (isPosition(mask, sides, TOP | BOTTOM | LEFT))
+			return "_r";
+		else if (isPosition(mask, sides, TOP | LEFT))
+			return "_br";
+		else if (isPosition(mask, sides, TOP | RIGHT | LEFT))
+			return "_b";
+		else if (isPosition(mask, sides, TOP | RIGHT))
+			return "_bl";
+		else if (isPosition(mask, sides, TOP | RIGHT | BOTTOM))
+			return "_l";
+		else if (isPosition(mask, all, all & ~BOTTOM_RIGHT))
+			return "_itl";
+		else if (isPosition(mask, all, all & ~BOTTOM_LEFT))
+			return "_itr";
+		else if (isPosition(mask, all, all & ~TOP_LEFT))
+			return "_ibr";
+		else if (isPosition(mask, all, all & ~TOP_RIGHT))
+			return "_ibl";
+		else
+			return SpriteRegistry.NO_EDGE;
 	}
 	
 	/**
-	 * Checks if a feature's surroundings matches the parameters.
-	 * @param featureType - The feature's type
-	 * @param location - The grid space
-	 * @param topLeft - If the feature above and to the left should match this feature type
-	 * @param top - If the feature above should match this feature type
-	 * @param topRight - If the feature above and to the right should match this feature type
-	 * @param right - If the feature to the right should match this feature type
-	 * @param bottomRight - If the feature below and to the right should match this feature type
-	 * @param bottom - If the feature below should match this feature type
-	 * @param bottomLeft - If the feature below and to the left should match this feature type
-	 * @param left - If the feature to the left should match this feature type
-	 * @return True if the feature's surroundings match the parameters
+	 * @param mask - The neighbours of the same type
+	 * @param checked - The neighbours that matter
+	 * @param same - Which of the neighbours that matter should be the same type
+	 * @return True if the neighbours that matter match
 	 */
-	private boolean isPosition( String featureType, Point location,
-						boolean topLeft, boolean top, boolean topRight,
-						boolean right, boolean bottomRight, boolean bottom,
-						boolean bottomLeft, boolean left) {
-		int column = location.x;
-		int row = location.y;
-		boolean isTopLeft = Game.isTopLeft(location),
-				isTopRight = Game.isTopRight(location),
-				isBottomRight = Game.isBottomRight(location),
-				isBottomLeft = Game.isBottomLeft(location);
-		return	isPosition(featureType, location, top, right, bottom, left) &&
-				(isTopLeft && topLeft == true || (!(Game.isTop(location) || Game.isLeft(location)) && featureTypes[column - 1][row - 1].equals(featureType) == topLeft)) &&
-				(isTopRight && topRight == true || (!(Game.isTop(location) || Game.isRight(location)) && featureTypes[column + 1][row - 1].equals(featureType) == topRight)) &&
-				(isBottomRight && bottomRight == true || (!(Game.isBottom(location) || Game.isRight(location)) && featureTypes[column + 1][row + 1].equals(featureType) == bottomRight)) &&
-				(isBottomLeft && bottomLeft == true || (!(Game.isBottom(location) || Game.isLeft(location)) && featureTypes[column - 1][row + 1].equals(featureType) == bottomLeft));
+	private static boolean isPosition(int mask, int checked, int same) {
+		return (mask & checked) == same;
 	}
 }
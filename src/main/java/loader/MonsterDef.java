@@ -0,0 +1,61 @@
+package loader;
+
+import java.util.List;
+
+import entity.actor.pathfinder.PathfinderType;
+
+/**
+ * The definition of a monster, as read from the monsters data file. Every field is parsed once, when the file is loaded,
+ * 	and the monster's powers are already looked up.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class MonsterDef {
+	
+	/** The name of the monster **/
+	public final String name;
+	
+	/** The monster's starting health **/
+	public final int health;
+	
+	/** The monster's speed **/
+	public final int speed;
+	
+	/** The ID of the monster's sprite while alive **/
+	public final int aliveSprite;
+	
+	/** The ID of the monster's sprite once dead **/
+	public final int deadSprite;
+	
+	/** The monster's powers, in order. Can't be modified. **/
+	public final List<PowerDef> powers;
+	
+	/** The kind of pathfinder the monster uses **/
+	public final PathfinderType pathfinderType;
+	
+	/**
+	 * Creates a new monster definition.
+	 * @param name - The name of the monster
+	 * @param health - The monster's starting health
+	 * @param speed - The monster's speed
+	 * @param aliveSprite - The ID of the monster's sprite while alive
+	 * @param deadSprite - The ID of the monster's sprite once dead
+	 * @param powers - The monster's powers, which can't be modified
+	 * @param pathfinderType - The kind of pathfinder the monster uses
+	 */
+	public MonsterDef(	String name,
+						int health,
+						int speed,
+						int aliveSprite,
+						int deadSprite,
+						List<PowerDef> powers,
+						PathfinderType pathfinderType) {
+		this.name = name;
+		this.health = health;
+		this.speed = speed;
+		this.aliveSprite = aliveSprite;
+		this.deadSprite = deadSprite;
+		this.powers = powers;
+		this.pathfinderType = pathfinderType;
+	}
+}
@@ -1,61 +1,45 @@
 package loader;
 
 import java.awt.Point;
-import java.util.List;
-import java.util.Map;
 
 import control.Game;
-import data.Files;
 import entity.actor.Monster;
-import entity.actor.power.Power;
 
 /**
- * Loads a monster from a block of text.
+ * Creates monsters from their definitions in the definition registry.
  * @author Milo Carbol
  * @since 13 April 2013
  */
-public class MonsterLoader extends DataLoader {
-
+public class MonsterLoader {
+	
 	/** The game the monsters are for **/
 	private final Game game;
 	
-	/** The loader for power text **/
+	/** The loader for powers **/
 	private final PowerLoader powerLoader;
 	
+	/** The definitions to create monsters from. Kept for the loader's life, so a reload can't change a room halfway through. **/
+	private final DefinitionRegistry definitions = DefinitionRegistry.get();
+	
 	/**
-	 * Creates a new monster loader and loads the monster file.
+	 * Creates a new monster loader.
 	 * @param game - The game the monsters are for.
-	 * @param powerLoader - The loader for power text
+	 * @param powerLoader - The loader for powers
 	 */
 	public MonsterLoader(Game game, PowerLoader powerLoader) {
-		super(Files.MONSTERS);
 		this.game = game;
 		this.powerLoader = powerLoader;
 	}
 	
 	/**
-	 * Loads a monster from a line of text.
-	 * @param monsterText - The line
+	 * Creates a monster from its definition.
+	 * @param name - The name of the monster in the data file
+	 * @param location - The location to start the monster at
 	 * @return - The monster object
+	 * @throws RuntimeException if there is no monster with the name
 	 */
-	public Monster loadMonster(String monsterText) {
-		String[] monsterData = monsterText.split(RoomLoader.inLineDeliminator);
-		
-		String name = monsterData[0];
-		Point location = new Point(Integer.parseInt(monsterData[1]), Integer.parseInt(monsterData[2]));
-		
-		return loadMonster(name, location);
-	}
-	
 	public Monster loadMonster(String name, Point location) {
-		Map<String, String> details = data.get(name);
-		int health = Integer.parseInt(details.get("health"));
-		int speed = Integer.parseInt(details.get("speed"));
-		String imageAlive = details.get("alive");
-		String imageDead = details.get("dead");
-		String powerString = details.get("powers");
-		List<Power> powers = powerLoader.loadPowers(powerString);
-		
-		return new Monster(location, health, speed, powers, imageAlive, imageDead, game);
+		MonsterDef definition = definitions.getMonster(name);
+		return new Monster(location, definition.health, definition.speed, powerLoader.loadPowers(definition.powers), definition.pathfinderType, definition.aliveSprite, definition.deadSprite, game);
 	}
 }
@@ -0,0 +1,47 @@
+package loader;
+
+import java.util.List;
+
+/**
+ * The definition of the player, as read from the player data file. Every field is parsed once, when the file is loaded,
+ * 	and the player's powers are already looked up.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class PlayerDef {
+	
+	/** The player's starting health **/
+	public final int health;
+	
+	/** The player's speed **/
+	public final int speed;
+	
+	/** The ID of the player's sprite while alive **/
+	public final int aliveSprite;
+	
+	/** The ID of the player's sprite once dead **/
+	public final int deadSprite;
+	
+	/** The player's powers, in order. Can't be modified. **/
+	public final List<PowerDef> powers;
+	
+	/**
+	 * Creates a new player definition.
+	 * @param health - The player's starting health
+	 * @param speed - The player's speed
+	 * @param aliveSprite - The ID of the player's sprite while alive
+	 * @param deadSprite - The ID of the player's sprite once dead
+	 * @param powers - The player's powers, which can't be modified
+	 */
+	public PlayerDef(	int health,
+						int speed,
+						int aliveSprite,
+						int deadSprite,
+						List<PowerDef> powers) {
+		this.health = health;
+		this.speed = speed;
+		this.aliveSprite = aliveSprite;
+		this.deadSprite = deadSprite;
+		this.powers = powers;
+	}
+}
@@ -1,25 +1,25 @@
 package loader;
 
 import java.awt.Point;
-import java.util.List;
 
 import control.Game;
-import data.Files;
 import entity.actor.Player;
-import entity.actor.power.Power;
 
 /**
- * Loads the player from a data file.
+ * Creates the player from its definition in the definition registry.
  * @author Milo Carbol
  * @since 13 April 2013
  */
-public class PlayerLoader extends DataLoader {
-
+public class PlayerLoader {
+	
 	/** The loader for the player's powers **/
-	private PowerLoader powerLoader;
+	private final PowerLoader powerLoader;
 	
 	/** The game the player is part of **/
-	private Game game;
+	private final Game game;
+	
+	/** The definition of the player **/
+	private final PlayerDef definition = DefinitionRegistry.get().getPlayer();
 	
 	/**
 	 * Creates a new player loader.
@@ -27,32 +27,16 @@ public class PlayerLoader extends DataLoader {
 	 * @param powerLoader - The loader for the player's powers.
 	 */
 	public PlayerLoader(Game game, PowerLoader powerLoader) {
-		super(Files.PLAYER);
 		this.game = game;
 		this.powerLoader = powerLoader;
 	}
 	
 	/**
-	 * Loads the player.
+	 * Creates the player from its definition.
 	 * @param startLocation - The location to start the player at.
 	 * @return - The player object.
 	 */
 	public Player loadPlayer(Point startLocation) {
-		int health = Integer.parseInt(get("health"));
-		int speed = Integer.parseInt(get("speed"));
-		String alive = get("alive");
-		String dead = get("dead");
-		List<Power> powers = powerLoader.loadPowers(get("powers"));
-		
-		return new Player(startLocation, health, speed, powers, alive, dead, game);
-	}
-	
-	/**
-	 * Gets player data from the map.
-	 * @param key - The key.
-	 * @return - The entry corresponding to the key.
-	 */
-	private String get(String key) {
-		return data.get("Player").get(key);
+		return new Player(startLocation, definition.health, definition.speed, powerLoader.loadPowers(definition.powers), definition.aliveSprite, definition.deadSprite, game);
 	}
 }
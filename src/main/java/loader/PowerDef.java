@@ -0,0 +1,50 @@
+package loader;
+
+/**
+ * The definition of a power, as read from the powers data file. Every field is parsed once, when the file is loaded.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class PowerDef {
+	
+	/** The name of the power **/
+	public final String name;
+	
+	/** The ID of the power's sprite **/
+	public final int sprite;
+	
+	/** The range of the power (melee range is 1) **/
+	public final int range;
+	
+	/** The radius of the power (single-target radius is 0) **/
+	public final int radius;
+	
+	/** The damage dealt by the power **/
+	public final int damage;
+	
+	/** If the power is usable **/
+	public final boolean usable;
+	
+	/**
+	 * Creates a new power definition.
+	 * @param name - The name of the power
+	 * @param sprite - The ID of the power's sprite
+	 * @param range - The range of the power
+	 * @param radius - The radius of the power
+	 * @param damage - The damage dealt by the power
+	 * @param usable - If the power is usable
+	 */
+	public PowerDef(String name,
+					int sprite,
+					int range,
+					int radius,
+					int damage,
+					boolean usable) {
+		this.name = name;
+		this.sprite = sprite;
+		this.range = range;
+		this.radius = radius;
+		this.damage = damage;
+		this.usable = usable;
+	}
+}
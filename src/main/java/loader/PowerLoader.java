@@ -1,59 +1,55 @@
 package loader;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
-import data.Files;
 import entity.actor.power.Power;
 
 /**
- * Loads a power from a line of text.
+ * Creates powers from their definitions in the definition registry.
+ * Powers can't be changed, so each definition only ever gets one Power object, shared by every actor with that power.
+ * Actors with the same powers share the same list too. Both are forgotten once their definitions are reloaded and dropped.
  * @author Milo Carbol
  * @since 13 April 2013
  */
-public class PowerLoader extends DataLoader {
+public class PowerLoader {
 	
-	/** The deliminator between powers **/
-	private static final String deliminator = ",";
+	/** The shared power for each definition **/
+	private static final Map<PowerDef, Power> powers = Collections.synchronizedMap(new WeakHashMap<PowerDef, Power>());
 	
-	/**
-	 * Creates a new power loader and loads the power file.
-	 */
-	public PowerLoader() {
-		super(Files.POWERS);
-	}
+	/** The shared list of powers for each list of definitions **/
+	private static final Map<List<PowerDef>, List<Power>> powerLists = Collections.synchronizedMap(new WeakHashMap<List<PowerDef>, List<Power>>());
 	
 	/**
-	 * Loads powers from text.
-	 * @param powerString - The textual list of powers.
-	 * @return The list of Power objects
+	 * Gets the powers for a list of definitions.
+	 * @param definitions - The definitions of the powers
+	 * @return The list of Power objects, shared with every other actor with the same powers. The list can't be modified.
 	 */
-	public List<Power> loadPowers(String powerString) {
-		List<Power> powerList = new LinkedList<Power>();
-		
-		String[] powers = powerString.split(deliminator);
-		
-		for (String name : powers) {
-			powerList.add(loadPower(name));
+	public List<Power> loadPowers(List<PowerDef> definitions) {
+		List<Power> powerList = powerLists.get(definitions);
+		if (powerList == null) {
+			powerList = new ArrayList<Power>(definitions.size());
+			for (PowerDef definition : definitions)
+				powerList.add(loadPower(definition));
+			powerList = Collections.unmodifiableList(powerList);
+			powerLists.put(definitions, powerList);
 		}
 		return powerList;
 	}
 	
 	/**
-	 * Creates a power object using the data file.
-	 * @param name - The name of the power
-	 * @return The power object
+	 * @param definition - The definition of a power
+	 * @return The power, shared with every other actor with it
 	 */
-	private Power loadPower(String name) {
-		Map<String, String> details = data.get(name);
-		
-		String imageSource = details.get("image");
-		int range = Integer.parseInt(details.get("range"));
-		int radius = Integer.parseInt(details.get("radius"));
-		int damage = Integer.parseInt(details.get("damage"));
-		boolean usable = details.get("usable").equals("yes");
-		
-		return new Power(name, imageSource, range, radius, damage, usable);
+	private Power loadPower(PowerDef definition) {
+		Power power = powers.get(definition);
+		if (power == null) {
+			power = new Power(definition.name, definition.sprite, definition.range, definition.radius, definition.damage, definition.usable);
+			powers.put(definition, power);
+		}
+		return power;
 	}
 }
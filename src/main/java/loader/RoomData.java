@@ -1,9 +1,8 @@
 package loader;
 
-import java.awt.Image;
 import java.util.List;
 
-import entity.Feature;
+import level.World;
 import entity.actor.Monster;
 import entity.actor.Player;
 
@@ -14,11 +13,8 @@ import entity.actor.Player;
  */
 public class RoomData {
 
-	/** The tiles in the room **/
-	public final Image[][] tiles;
-	
-	/** The features in the room **/
-	public final Feature[][] features;
+	/** The tiles and features in the room **/
+	public final World world;
 	
 	/** The player on this map **/
 	public final Player player;
@@ -26,20 +22,23 @@ public class RoomData {
 	/** The monsters on this map **/
 	public final List<Monster> monsters;
 	
+	/** The seed the room's random choices were made from **/
+	public final long seed;
+	
 	/**
 	 * Creates a new set of room data.
-	 * @param tiles - The tiles in the room
-	 * @param features - The features in the room.
+	 * @param world - The tiles and features in the room.
 	 * @param player - The player in this room.
 	 * @param monsters - The monsters in this room.
+	 * @param seed - The seed the room's random choices were made from.
 	 */
-	public RoomData(Image[][] tiles,
-					Feature[][] features,
+	public RoomData(World world,
 					Player player,
-					List<Monster> monsters) {
-		this.tiles = tiles;
-		this.features = features;
+					List<Monster> monsters,
+					long seed) {
+		this.world = world;
 		this.player = player;
 		this.monsters = monsters;
+		this.seed = seed;
 	}
 }
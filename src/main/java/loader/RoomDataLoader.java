@@ -1,29 +1,22 @@
 package loader;
 
-import java.util.Map;
-
-import data.Files;
-
 /**
- * Loads room tile/feature data from the data file.
+ * Looks up room tile/feature data in the definition registry.
  * @author Milo Carbol
  * @since 14 April 2013
  */
-public class RoomDataLoader extends DataLoader {
-
-	/**
-	 * Creates a new RoomDataLoader object.
-	 */
-	public RoomDataLoader() {
-		super(Files.ROOM_DATA);
-	}
+public class RoomDataLoader {
+	
+	/** The definitions to look room types up in **/
+	private final DefinitionRegistry definitions = DefinitionRegistry.get();
 	
 	/**
-	 * Gets the data for the room's tiles/features from the file.
-	 * @param roomType - The name of the room
-	 * @return A map of keys to data entries corresponding to the room's data
+	 * Gets the definition of a room type.
+	 * @param roomType - The name of the room type
+	 * @return The room type's tiles and features
+	 * @throws RuntimeException if there is no room type with the name
 	 */
-	public Map<String, String> loadRoomData(String roomType) {
-		return data.get(roomType);
+	public RoomTypeDef loadRoomData(String roomType) {
+		return definitions.getRoomType(roomType);
 	}
 }
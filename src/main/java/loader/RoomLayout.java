@@ -0,0 +1,78 @@
+package loader;
+
+import java.awt.Point;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A room as it is written in a room file: the name of the tile and feature on each grid space,
+ * 	where the player starts and the name and start of each monster.
+ * Nothing has been looked up yet, so a layout can be written out in another format without loading any images or actors.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class RoomLayout {
+	
+	/** The name of the floor tile on each grid space, indexed [column][row] **/
+	public final String[][] tiles;
+	
+	/** The name of the feature on each grid space, or Images.NULL_TILE for none, indexed [column][row] **/
+	public final String[][] features;
+	
+	/** The player's start location **/
+	public final Point playerStart;
+	
+	/** The name of each monster in the monsters data file **/
+	public final List<String> monsterNames;
+	
+	/** Each monster's start location, in the same order as the names **/
+	public final List<Point> monsterStarts;
+	
+	/**
+	 * Creates a new room layout.
+	 * @param tiles - The name of the floor tile on each grid space, indexed [column][row]
+	 * @param features - The name of the feature on each grid space, indexed [column][row]
+	 * @param playerStart - The player's start location
+	 * @param monsterNames - The name of each monster
+	 * @param monsterStarts - Each monster's start location
+	 */
+	public RoomLayout(	String[][] tiles,
+						String[][] features,
+						Point playerStart,
+						List<String> monsterNames,
+						List<Point> monsterStarts) {
+		this.tiles = tiles;
+		this.features = features;
+		this.playerStart = playerStart;
+		this.monsterNames = monsterNames;
+		this.monsterStarts = monsterStarts;
+	}
+	
+	/** @return The width of the room, in grid spaces **/
+	public int getColumns() { return tiles.length; }
+	
+	/** @return The height of the room, in grid spaces **/
+	public int getRows() { return tiles[0].length; }
+	
+	/**
+	 * Finds the floor tile used most, to be the world's default so it doesn't have to be written to every grid space.
+	 * @return The name of the most common floor tile
+	 */
+	public String getMostCommonTile() {
+		Map<String, Integer> counts = new HashMap<String, Integer>();
+		String mostCommon = tiles[0][0];
+		int mostCommonCount = 0;
+		for (String[] column : tiles)
+			for (String tile : column) {
+				Integer count = counts.get(tile);
+				count = count == null ? 1 : count + 1;
+				counts.put(tile, count);
+				if (count > mostCommonCount) {
+					mostCommon = tile;
+					mostCommonCount = count;
+				}
+			}
+		return mostCommon;
+	}
+}
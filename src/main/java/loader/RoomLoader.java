@@ -1,12 +1,9 @@
 package loader;
 
 import data.Images;
-import entity.Feature;
 import entity.actor.Monster;
 import entity.actor.Player;
-import gui.GameWindow;
 
-import java.awt.Image;
 import java.awt.Point;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
@@ -15,11 +12,14 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
 import level.Room;
+import level.World;
 import control.Game;
+import generator.RandomNumber;
 
 /**
  * Loads map layouts from files.
@@ -40,6 +40,11 @@ public class RoomLoader implements IRoomLoader {
 	/** The game the room is for **/
 	private final Game game;
 	
+	/**
+	 * Creates a new loader for a map file.
+	 * @param roomFile - The layout file name (must be a MAP file)
+	 * @param game - The game we're loading the room for
+	 */
 	public RoomLoader(String roomFile, Game game) {
 		this.roomFile = roomFile;
 		this.game = game;
@@ -47,90 +52,138 @@ public class RoomLoader implements IRoomLoader {
 	
 	/**
 	 * Creates a map from a file.
-	 * @param roomFile - The layout file name (must be a MAP file)
-	 * @param game - The game we're loading the room for
 	 * @return The data loaded from the file.
-	 * @throws IOException if the file can't be found or the layout doesn't match the standard dimensions.
+	 * @throws IOException if the file can't be found or the features don't match the dimensions of the tiles.
 	 */
 	public RoomData loadRoom() throws IOException {
-		Image[][] tiles = new Image[GameWindow.GRID_COLUMNS][GameWindow.GRID_ROWS];
-		Feature[][] features;
-		Player player;
+		RoomLayout layout = readLayout(roomFile);
+		World world = new World(layout.getColumns(), layout.getRows());
 		List<Monster> monsters = new LinkedList<Monster>();
 		
 		PowerLoader powerLoader = new PowerLoader();
 		MonsterLoader monsterLoader = new MonsterLoader(game, powerLoader);
 		PlayerLoader playerLoader = new PlayerLoader(game, powerLoader);
 		FeatureLoader featureLoader = new FeatureLoader(game);
+		long seed = RandomNumber.newSeed();
+		RandomNumber random = new RandomNumber(seed);
 		
-		File file = new File(roomFile);
-		BufferedReader reader = new BufferedReader(new FileReader(file));
+		String defaultTile = layout.getMostCommonTile();
+		ImageLoader.setDefaultTile(world, defaultTile);
+		for (int row = 0; row < world.getRows(); row++)
+			for (int column = 0; column < world.getColumns(); column++)
+				if (!layout.tiles[column][row].equals(defaultTile))
+					world.setTile(column, row, ImageLoader.loadFile(layout.tiles[column][row], random));
+		for (int monster = 0; monster < layout.monsterNames.size(); monster++)
+			monsters.add(monsterLoader.loadMonster(layout.monsterNames.get(monster), layout.monsterStarts.get(monster)));
+		
+		Player player = playerLoader.loadPlayer(layout.playerStart);
+		featureLoader.createFeatures(layout.features, world, random);
+		
+		return new RoomData(world, player, monsters, seed);
+	}
+	
+	/**
+	 * Reads a map file without looking anything up, i.e. to convert it to another format.
+	 * @param roomFile - The layout file name (must be a MAP file)
+	 * @return The names in the file.
+	 * @throws IOException if the file can't be found or the features don't match the dimensions of the tiles.
+	 */
+	public static RoomLayout readLayout(String roomFile) throws IOException {
+		BufferedReader reader = new BufferedReader(new FileReader(new File(roomFile)));
 		
 		Point playerStartLocation = null;
-		String[][] featureGrid = new String[GameWindow.GRID_COLUMNS][GameWindow.GRID_ROWS];
+		List<String[]> tileLines = new ArrayList<String[]>();
+		String[][] tileGrid = null;
+		String[][] featureGrid = null;
+		List<String> monsterNames = new ArrayList<String>();
+		List<Point> monsterStarts = new ArrayList<Point>();
+		int columns = 0, rows = 0;
 		
-		int section = 0;
-		int row = 0;
-		String line;
-		while ((line = reader.readLine()) != null) {
-			switch(section) {
-			case 0:
-				do {
-					String[] tileStrings = line.split(inLineDeliminator);
-					for (int column = 0; column < GameWindow.GRID_COLUMNS; column++)
-						tiles[column][row] = ImageLoader.loadImage(tileStrings[column]);
-					row++;
-				} while ((line = reader.readLine()) != null && !line.equals(sectionDeliminator));
-				section++;
-				row = 0;
-				break;
-			case 1:
-				do {
-					String[] featureStrings = line.split(inLineDeliminator);
-					for (int column = 0; column < GameWindow.GRID_COLUMNS; column++)
-						featureGrid[column][row] = featureStrings[column];
-					row++;
-				} while ((line = reader.readLine()) != null && !line.equals(sectionDeliminator));
-				section++;
-				break;
-			case 2:
-				String[] pointStrings = line.split(inLineDeliminator);
-				playerStartLocation = new Point(Integer.parseInt(pointStrings[0]), Integer.parseInt(pointStrings[1]));
-				reader.readLine();
-				section++;
-				break;
-			case 3:
-				do {
-					monsters.add(monsterLoader.loadMonster(line));
-				} while ((line = reader.readLine()) != null && !line.equals(sectionDeliminator));
-				section++;
-				break;
+		try {
+			int section = 0;
+			int row = 0;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				switch(section) {
+				case 0:
+					do {
+						tileLines.add(line.split(inLineDeliminator));
+					} while ((line = reader.readLine()) != null && !line.equals(sectionDeliminator));
+					
+					columns = tileLines.get(0).length;
+					rows = tileLines.size();
+					tileGrid = new String[columns][rows];
+					for (row = 0; row < rows; row++) {
+						String[] tileStrings = tileLines.get(row);
+						if (tileStrings.length != columns)
+							throw new IOException(roomFile + ": tile row " + row + " has " + tileStrings.length + " tiles, not " + columns);
+						for (int column = 0; column < columns; column++)
+							tileGrid[column][row] = tileStrings[column];
+					}
+					featureGrid = new String[columns][rows];
+					section++;
+					row = 0;
+					break;
+				case 1:
+					do {
+						String[] featureStrings = line.split(inLineDeliminator);
+						if (row >= rows || featureStrings.length != columns)
+							throw new IOException(roomFile + ": feature row " + row + " doesn't match the " + columns + "x" + rows + " tiles");
+						for (int column = 0; column < columns; column++)
+							featureGrid[column][row] = featureStrings[column];
+						row++;
+					} while ((line = reader.readLine()) != null && !line.equals(sectionDeliminator));
+					if (row != rows)
+						throw new IOException(roomFile + ": " + row + " feature rows for " + rows + " tile rows");
+					section++;
+					break;
+				case 2:
+					String[] pointStrings = line.split(inLineDeliminator);
+					playerStartLocation = new Point(Integer.parseInt(pointStrings[0]), Integer.parseInt(pointStrings[1]));
+					reader.readLine();
+					section++;
+					break;
+				case 3:
+					do {
+						String[] monsterStrings = line.split(inLineDeliminator);
+						monsterNames.add(monsterStrings[0]);
+						monsterStarts.add(new Point(Integer.parseInt(monsterStrings[1]), Integer.parseInt(monsterStrings[2])));
+					} while ((line = reader.readLine()) != null && !line.equals(sectionDeliminator));
+					section++;
+					break;
+				}
 			}
+		} finally {
+			reader.close();
 		}
-		reader.close();
-		
-		player = playerLoader.loadPlayer(playerStartLocation);
-		features = featureLoader.createFeatures(featureGrid);
 		
-		monsterLoader.release();
-		powerLoader.release();
-		playerLoader.release();
-		
-		return new RoomData(tiles, features, player, monsters);
+		if (featureGrid == null || playerStartLocation == null)
+			throw new IOException(roomFile + ": missing the features or the player's start");
+		return new RoomLayout(tileGrid, featureGrid, playerStartLocation, monsterNames, monsterStarts);
 	}
 	
 	/**
-	 * Creates a test room file: walls on the borders and floor tiles everywhere else.
+	 * Creates a test room file of the default size: walls on the borders and floor tiles everywhere else.
 	 * @throws IOException if the file can't be created.
 	 */
 	public static void createTestRoom() throws IOException {
+		createTestRoom(World.DEFAULT_COLUMNS, World.DEFAULT_ROWS);
+	}
+	
+	/**
+	 * Creates a test room file: walls on the borders and floor tiles everywhere else.
+	 * @param columns - The width of the room, in grid spaces
+	 * @param rows - The height of the room, in grid spaces
+	 * @throws IOException if the file can't be created.
+	 */
+	public static void createTestRoom(int columns, int rows) throws IOException {
 		File file = new File(Room.TEST_ROOM);
 		PrintWriter outWriter = new PrintWriter(new BufferedWriter(new FileWriter(file)), true);
 		
-		for (int row = 0; row < GameWindow.GRID_ROWS; row++) {
-			for (int column = 0; column < GameWindow.GRID_COLUMNS; column++) {
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
 				outWriter.print(Images.FLOOR_STONE);
-				if (column < GameWindow.GRID_COLUMNS - 1)
+				if (column < columns - 1)
 					outWriter.print(inLineDeliminator);
 			}
 			outWriter.print(System.getProperty("line.separator"));
@@ -138,9 +191,9 @@ public class RoomLoader implements IRoomLoader {
 		
 		outWriter.print(sectionDeliminator + System.getProperty("line.separator"));
 		
-		for (int row = 0; row < GameWindow.GRID_ROWS; row++) {
-			for (int column = 0; column < GameWindow.GRID_COLUMNS; column++) {
-				if (shouldBeWall(column, row))
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				if (shouldBeWall(column, row, columns, rows))
 					outWriter.print(Images.WALL);
 				else if (shouldBeColumn(column, row))
 					outWriter.print(Images.COLUMN);
@@ -148,7 +201,7 @@ public class RoomLoader implements IRoomLoader {
 					outWriter.print(Images.WATER);
 				else
 					outWriter.print(Images.NULL_TILE);
-				if (column < GameWindow.GRID_COLUMNS - 1)
+				if (column < columns - 1)
 					outWriter.print(inLineDeliminator);
 			}
 			outWriter.print(System.getProperty("line.separator"));
@@ -161,9 +214,9 @@ public class RoomLoader implements IRoomLoader {
 		
 		outWriter.print(sectionDeliminator + System.getProperty("line.separator"));
 		
-		printTestMonster(GameWindow.GRID_COLUMNS - 2, GameWindow.GRID_ROWS - 2, outWriter);
-		printTestMonster(GameWindow.GRID_COLUMNS - 2, 1, outWriter);
-		printTestMonster(1, GameWindow.GRID_ROWS - 2, outWriter);
+		printTestMonster(columns - 2, rows - 2, outWriter);
+		printTestMonster(columns - 2, 1, outWriter);
+		printTestMonster(1, rows - 2, outWriter);
 		
 		outWriter.close();
 	}
@@ -172,14 +225,16 @@ public class RoomLoader implements IRoomLoader {
 	 * Defines where to put walls on the test map
 	 * @param column - The column to check
 	 * @param row - The row to check
+	 * @param columns - The width of the test map
+	 * @param rows - The height of the test map
 	 * @return True if there should be walls here, false otherwise
 	 */
-	private static boolean shouldBeWall(int column, int row) {
+	private static boolean shouldBeWall(int column, int row, int columns, int rows) {
 		return	row == 0 ||
-				row == GameWindow.GRID_ROWS - 1 ||
+				row == rows - 1 ||
 				column == 0 ||
-				column == GameWindow.GRID_COLUMNS - 1 ||
-				(row > 5 && row < GameWindow.GRID_ROWS - 5 && column == GameWindow.GRID_COLUMNS / 2);
+				column == columns - 1 ||
+				(row > 5 && row < rows - 5 && column == columns / 2);
 	}
 	
 	/**
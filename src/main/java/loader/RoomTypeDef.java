@@ -0,0 +1,47 @@
+package loader;
+
+import java.util.List;
+
+/**
+ * The definition of a type of room, as read from the rooms data file: the types of tile and feature it can be built from.
+ * None of the lists can be modified.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class RoomTypeDef {
+	
+	/** The name of the room type **/
+	public final String name;
+	
+	/** The floor tiles the room can have **/
+	public final List<String> floors;
+	
+	/** The water features the room can have **/
+	public final List<String> waters;
+	
+	/** The wall features the room can have **/
+	public final List<String> walls;
+	
+	/** The obstacle features the room can have **/
+	public final List<String> obstacles;
+	
+	/**
+	 * Creates a new room type definition.
+	 * @param name - The name of the room type
+	 * @param floors - The floor tiles the room can have
+	 * @param waters - The water features the room can have
+	 * @param walls - The wall features the room can have
+	 * @param obstacles - The obstacle features the room can have
+	 */
+	public RoomTypeDef(	String name,
+						List<String> floors,
+						List<String> waters,
+						List<String> walls,
+						List<String> obstacles) {
+		this.name = name;
+		this.floors = floors;
+		this.waters = waters;
+		this.walls = walls;
+		this.obstacles = obstacles;
+	}
+}
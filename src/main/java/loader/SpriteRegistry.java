@@ -0,0 +1,222 @@
+package loader;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The table of every sprite in the images directory, built once from the file names.
+ * Sprite files are named "type_00", "type_01", etc., where each number is a variant of the same sprite.
+ * Edged sprites add a suffix for their position (i.e. "water_tl_00" is the top left corner of some water).
+ * Each sprite ("floor_stone", "water_tl") gets an int ID, and each file an int file number, so once a name is
+ * 	resolved nothing else needs to be looked up by string.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class SpriteRegistry {
+	
+	/** The ID returned for names that aren't sprites **/
+	public static final int NO_SPRITE = -1;
+	
+	/** The suffix for a sprite with no edges **/
+	public static final String NO_EDGE = "";
+	
+	/** The suffixes edged sprites use for their positions **/
+	public static final String[] EDGES = {
+		"_t", "_b", "_l", "_r", "_tl", "_tr", "_bl", "_br", "_itl", "_itr", "_ibl", "_ibr"
+	};
+	
+	/** The number of digits in a variant number **/
+	private static final int variantDigits = 2;
+	
+	/** The name of each sprite, by ID **/
+	private final String[] names;
+	
+	/** The file number of each sprite's first variant, by ID. Variants are numbered consecutively. **/
+	private final int[] firstFiles;
+	
+	/** The number of variants of each sprite, by ID **/
+	private final int[] variantCounts;
+	
+	/** The file name of each file without the extension, by file number **/
+	private final String[] fileNames;
+	
+	/** The ID of each sprite, by name **/
+	private final Map<String, Integer> ids;
+	
+	/** The file number of each file, by file name without the extension **/
+	private final Map<String, Integer> files;
+	
+	/** The IDs of the edged forms of each sprite, by sprite ID and then by edge suffix. Null for sprites without edges. **/
+	private final List<Map<String, Integer>> edges;
+	
+	/**
+	 * @param variants - The file names of each sprite's variants, in order, by sprite name
+	 */
+	private SpriteRegistry(TreeMap<String, List<String>> variants) {
+		int spriteCount = variants.size(), fileCount = 0;
+		for (List<String> spriteFiles : variants.values())
+			fileCount += spriteFiles.size();
+		
+		names = new String[spriteCount];
+		firstFiles = new int[spriteCount];
+		variantCounts = new int[spriteCount];
+		fileNames = new String[fileCount];
+		Map<String, Integer> ids = new HashMap<String, Integer>();
+		Map<String, Integer> files = new HashMap<String, Integer>();
+		
+		int id = 0, file = 0;
+		for (Map.Entry<String, List<String>> sprite : variants.entrySet()) {
+			names[id] = sprite.getKey();
+			firstFiles[id] = file;
+			variantCounts[id] = sprite.getValue().size();
+			ids.put(sprite.getKey(), id);
+			for (String fileName : sprite.getValue()) {
+				fileNames[file] = fileName;
+				files.put(fileName, file);
+				file++;
+			}
+			id++;
+		}
+		
+		List<Map<String, Integer>> edges = new ArrayList<Map<String, Integer>>(Collections.<Map<String, Integer>>nCopies(spriteCount, null));
+		for (id = 0; id < spriteCount; id++)
+			for (String edge : EDGES) {
+				Integer edgedId = ids.get(names[id] + edge);
+				if (edgedId == null)
+					continue;
+				if (edges.get(id) == null) {
+					Map<String, Integer> spriteEdges = new HashMap<String, Integer>();
+					spriteEdges.put(NO_EDGE, id);
+					edges.set(id, spriteEdges);
+				}
+				edges.get(id).put(edge, edgedId);
+			}
+		for (id = 0; id < spriteCount; id++)
+			if (edges.get(id) != null)
+				edges.set(id, Collections.unmodifiableMap(edges.get(id)));
+		
+		this.ids = Collections.unmodifiableMap(ids);
+		this.files = Collections.unmodifiableMap(files);
+		this.edges = Collections.unmodifiableList(edges);
+	}
+	
+	/**
+	 * Builds the table from the names of the files in a directory. The files themselves aren't read.
+	 * @param directory - The images directory
+	 * @return The table
+	 * @throws RuntimeException if the directory can't be read or a variant is missing
+	 */
+	public static SpriteRegistry load(File directory) {
+		String[] fileNames = directory.list();
+		if (fileNames == null)
+			throw new RuntimeException("Can't read image directory " + directory);
+		
+		String extension = ImageLoader.IMAGE_EXTENSION;
+		TreeMap<String, TreeMap<Integer, String>> numbered = new TreeMap<String, TreeMap<Integer, String>>();
+		for (String fileName : fileNames) {
+			if (!fileName.toLowerCase().endsWith(extension))
+				continue;
+			
+			String name = fileName.substring(0, fileName.length() - extension.length());
+			int separator = name.length() - variantDigits - 1;
+			if (separator <= 0 || name.charAt(separator) != '_')
+				throw new RuntimeException("Image " + fileName + " has no variant number");
+			int variant;
+			try {
+				variant = Integer.parseInt(name.substring(separator + 1));
+			} catch (NumberFormatException e) {
+				throw new RuntimeException("Image " + fileName + " has no variant number", e);
+			}
+			
+			String sprite = name.substring(0, separator);
+			if (!numbered.containsKey(sprite))
+				numbered.put(sprite, new TreeMap<Integer, String>());
+			numbered.get(sprite).put(variant, name);
+		}
+		
+		TreeMap<String, List<String>> variants = new TreeMap<String, List<String>>();
+		for (Map.Entry<String, TreeMap<Integer, String>> sprite : numbered.entrySet()) {
+			if (sprite.getValue().lastKey() != sprite.getValue().size() - 1)
+				throw new RuntimeException("Sprite " + sprite.getKey() + " is missing a variant");
+			variants.put(sprite.getKey(), new ArrayList<String>(sprite.getValue().values()));
+		}
+		return new SpriteRegistry(variants);
+	}
+	
+	/**
+	 * @param name - A sprite name (i.e. "floor_stone" or "water_tl")
+	 * @return The sprite's ID, or NO_SPRITE if there is no such sprite
+	 */
+	public int getId(String name) {
+		Integer id = ids.get(name);
+		return id == null ? NO_SPRITE : id;
+	}
+	
+	/**
+	 * @param id - A sprite ID
+	 * @param edge - The edge suffix (one of EDGES, or NO_EDGE)
+	 * @return The ID of the sprite's edged form, or the sprite itself if it has no such edge
+	 */
+	public int getEdgedId(int id, String edge) {
+		Map<String, Integer> spriteEdges = edges.get(id);
+		if (spriteEdges == null)
+			return id;
+		Integer edgedId = spriteEdges.get(edge);
+		return edgedId == null ? id : edgedId;
+	}
+	
+	/**
+	 * @param id - A sprite ID
+	 * @return True if the sprite has edged forms
+	 */
+	public boolean isEdged(int id) {
+		return edges.get(id) != null;
+	}
+	
+	/**
+	 * @param fileName - A file name without the extension (i.e. "floor_stone_00")
+	 * @return The file number, or NO_SPRITE if there is no such file
+	 */
+	public int getFile(String fileName) {
+		Integer file = files.get(fileName);
+		return file == null ? NO_SPRITE : file;
+	}
+	
+	/**
+	 * @param id - A sprite ID
+	 * @param variant - The variant, from 0 to getVariantCount(id) - 1
+	 * @return The file number of that variant
+	 */
+	public int getFile(int id, int variant) {
+		return firstFiles[id] + variant;
+	}
+	
+	/**
+	 * @param id - A sprite ID
+	 * @return The sprite's name
+	 */
+	public String getName(int id) { return names[id]; }
+	
+	/**
+	 * @param id - A sprite ID
+	 * @return The number of variants of the sprite
+	 */
+	public int getVariantCount(int id) { return variantCounts[id]; }
+	
+	/**
+	 * @param file - A file number
+	 * @return The file name without the extension
+	 */
+	public String getFileName(int file) { return fileNames[file]; }
+	
+	/** @return The number of sprites **/
+	public int getSpriteCount() { return names.length; }
+	
+	/** @return The number of files **/
+	public int getFileCount() { return fileNames.length; }
+}
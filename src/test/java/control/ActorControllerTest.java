@@ -0,0 +1,96 @@
+package control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import level.World;
+import loader.IRoomLoader;
+import loader.IRoomLoaderFactory;
+import loader.ImageLoader;
+import loader.RoomData;
+
+import org.junit.Test;
+
+import entity.actor.Monster;
+import entity.actor.Player;
+import entity.actor.pathfinder.PathfinderType;
+import entity.actor.power.Power;
+
+/**
+ * Tests the order actors plan and commit in, and the simulation thread.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class ActorControllerTest {
+	
+	/** The player's health, which the monster could take some of **/
+	private static final int playerHealth = 100;
+	
+	/** How long to wait for the simulation thread, in milliseconds **/
+	private static final long timeout = 5000;
+	
+	/**
+	 * @return A game with the player and a monster next to each other in a small room, not running in real time
+	 */
+	private static Game createGame() {
+		ImageLoader.disableImages();
+		final List<Power> powers = Collections.unmodifiableList(Arrays.asList(new Power("Strike", Power.DEFAULT_MELEE_IMAGE, 1, 0, 10, true)));
+		
+		return new Game(new IRoomLoaderFactory() {
+			public IRoomLoader create(final Game game) {
+				return new IRoomLoader() {
+					public RoomData loadRoom() {
+						Player player = new Player(new Point(1, 1), playerHealth, 1, powers, "default_player", "default_player_dead", game);
+						Monster monster = new Monster(new Point(2, 1), 5, 1, powers, PathfinderType.DIRECT, "default_monster", "default_monster_dead", game);
+						return new RoomData(new World(4, 3), player, Arrays.asList(monster), 0);
+					}
+				};
+			}
+		}, ActorController.DEFAULT_RATE, false);
+	}
+	
+	/**
+	 * The player commits first and kills the monster next to it.
+	 * The monster planned to attack back at the start of the tick, but it's dead by the time it would commit, so it mustn't.
+	 */
+	@Test
+	public void monsterKilledThisTickDoesNotAttack() {
+		Game game = createGame();
+		Monster monster = game.getMapLayout().getMonsters().get(0);
+		game.getPlayer().target(monster);
+		
+		game.tick();
+		
+		assertFalse(monster.isActive());
+		assertEquals(playerHealth, game.getPlayer().getCurrentHealth());
+	}
+	
+	/**
+	 * A tick that throws is reported and the simulation thread carries on ticking, rather than dying and freezing the game.
+	 */
+	@Test
+	public void simulationSurvivesAFailedTick() throws InterruptedException {
+		Game game = createGame();
+		ActorController controller = new ActorController(game).withPlayer(game.getPlayer()).withRate(1);
+		controller.invokeLater(new Runnable() {
+			public void run() {
+				throw new RuntimeException("A command that fails");
+			}
+		});
+		controller.start();
+		try {
+			long deadline = System.currentTimeMillis() + timeout;
+			while (controller.getTickCount() < 3 && System.currentTimeMillis() < deadline)
+				Thread.sleep(1);
+			assertTrue(controller.getTickCount() >= 3);
+		} finally {
+			controller.stop();
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package entity.actor.pathfinder.flowfield;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import level.World;
+
+import org.junit.Test;
+
+import entity.actor.pathfinder.NavigationMap;
+
+/**
+ * Tests sharing flow fields between actors heading for different targets.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class FlowFieldCacheTest {
+	
+	/**
+	 * Two targets asked for in turn each keep their own field, and the first field still leads to its own target afterwards.
+	 */
+	@Test
+	public void alternatingTargetsKeepTheirFields() {
+		NavigationMap map = new NavigationMap(new World(8, 8));
+		FlowFieldCache cache = new FlowFieldCache(map, FlowFieldCache.DEFAULT_CAPACITY);
+		
+		FlowField first = cache.get(0, 0);
+		FlowField second = cache.get(7, 7);
+		
+		assertNotSame(first, second);
+		assertSame(first, cache.get(0, 0));
+		assertTrue(first.leadsTo(map.index(0, 0)));
+		assertEquals(0, first.distanceAt(map.index(0, 0)));
+		assertEquals(7, first.distanceAt(map.index(7, 7)));
+	}
+	
+	/**
+	 * A field computed before the map changed is replaced, and the old one is left as it was for anyone still reading it.
+	 */
+	@Test
+	public void changedMapRecomputesTheField() {
+		NavigationMap map = new NavigationMap(new World(8, 1));
+		FlowFieldCache cache = new FlowFieldCache(map, FlowFieldCache.DEFAULT_CAPACITY);
+		FlowField before = cache.get(0, 0);
+		
+		map.update(4, 0, false);
+		FlowField after = cache.get(0, 0);
+		
+		assertNotSame(before, after);
+		assertEquals(7, before.distanceAt(map.index(7, 0)));
+		assertEquals(FlowField.UNREACHABLE, after.distanceAt(map.index(7, 0)));
+	}
+}
@@ -0,0 +1,51 @@
+package entity.actor.pathfinder.hierarchical;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import level.World;
+
+import org.junit.Test;
+
+import entity.actor.pathfinder.NavigationMap;
+
+/**
+ * Tests when the cluster graph is built and rebuilt.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class ClusterGraphTest {
+	
+	/**
+	 * The first search builds the graph. A later change to the map isn't picked up by searches,
+	 * 	which refuse to run on the stale graph until it has been refreshed.
+	 */
+	@Test
+	public void searchesOnlyReadARefreshedGraph() {
+		NavigationMap map = new NavigationMap(new World(30, 30));
+		ClusterGraph graph = new ClusterGraph(map, ClusterGraph.DEFAULT_CLUSTER_SIZE);
+		int area = graph.getClusterArea(),
+			start = map.index(0, 0),
+			target = map.index(29, 29);
+		
+		assertFalse(graph.isBuilt());
+		assertNotNull(graph.findPath(start, target, new int[area], new int[area], new int[area]));
+		assertTrue(graph.isBuilt());
+		int version = graph.getVersion();
+		
+		map.update(15, 15, false);
+		try {
+			graph.findPath(start, target, new int[area], new int[area], new int[area]);
+			throw new AssertionError("Searched a graph that needed refreshing");
+		} catch (RuntimeException e) {
+			// Expected
+		}
+		assertEquals(version, graph.getVersion());
+		
+		graph.refresh();
+		assertEquals(version + 1, graph.getVersion());
+		assertNotNull(graph.findPath(start, target, new int[area], new int[area], new int[area]));
+	}
+}
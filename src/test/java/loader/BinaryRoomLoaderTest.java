@@ -0,0 +1,53 @@
+package loader;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Tests rejecting malformed binary room files.
+ * @author Milo Carbol
+ * @since 18 October 2026
+ */
+public class BinaryRoomLoaderTest {
+	
+	/**
+	 * A feature numbered past the feature names, into the tile names, is rejected rather than made into a feature type.
+	 */
+	@Test
+	public void featureMustNameAFeature() throws IOException {
+		ImageLoader.disableImages();
+		File file = File.createTempFile("feature", BinaryRoomLoader.EXTENSION);
+		file.deleteOnExit();
+		
+		DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+		try {
+			out.writeInt(BinaryRoomLoader.MAGIC);
+			out.writeShort(BinaryRoomLoader.VERSION);
+			out.writeInt(1);
+			out.writeInt(1);
+			out.writeShort(2);
+			out.writeShort(1);
+			for (String name : new String[] { "wall", "floor_stone" }) {
+				out.writeShort(name.length());
+				out.writeBytes(name);
+			}
+			out.writeShort(1);
+			out.writeByte(2);
+		} finally {
+			out.close();
+		}
+		
+		try {
+			new BinaryRoomLoader(file.getPath(), null).loadRoom();
+			throw new AssertionError("Loaded a feature named after a tile");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("feature (0, 0)"));
+		}
+	}
+}